@@ -0,0 +1,185 @@
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.List;
+
+/**
+ * AgeAnalytics - Bulk age calculations over collections of Person objects
+ * Works on primitive int arrays of YOB values so large listings do not
+ * create a Calendar or a String per person
+ *
+ * Name: Tika Khadka
+ */
+public class AgeAnalytics {
+
+    /**
+     * Gets the current year once so it can be reused for a whole batch
+     * @return the current calendar year
+     */
+    public static int currentYear() {
+        return Calendar.getInstance().get(Calendar.YEAR);
+    }
+
+    /**
+     * Copies the YOB of every person into a primitive column
+     * @param persons List of Person objects
+     * @return int array of years of birth in list order
+     */
+    public static int[] yobColumn(List<Person> persons) {
+        int[] yobs = new int[persons.size()];
+        int i = 0;
+        for (Person person : persons) {
+            yobs[i++] = person.getYOB();
+        }
+        return yobs;
+    }
+
+    /**
+     * Calculates the age as an int for every year of birth
+     * @param yobs Years of birth
+     * @param year Year to calculate ages for
+     * @return int array of ages in the same order as yobs
+     */
+    public static int[] ages(int[] yobs, int year) {
+        int[] ages = new int[yobs.length];
+        for (int i = 0; i < yobs.length; i++) {
+            ages[i] = year - yobs[i];
+        }
+        return ages;
+    }
+
+    /**
+     * Calculates the age as an int for every person
+     * @param persons List of Person objects
+     * @param year Year to calculate ages for
+     * @return int array of ages in list order
+     */
+    public static int[] ages(List<Person> persons, int year) {
+        return ages(yobColumn(persons), year);
+    }
+
+    /**
+     * Calculates the age as an int for every person using the current year
+     * @param persons List of Person objects
+     * @return int array of ages in list order
+     */
+    public static int[] ages(List<Person> persons) {
+        return ages(persons, currentYear());
+    }
+
+    /**
+     * Builds an age histogram with fixed width buckets starting at age 0
+     * Bucket i counts ages in [i * bucketWidth, (i + 1) * bucketWidth)
+     * Negative ages (born after the given year) are not counted
+     * @param yobs Years of birth
+     * @param year Year to calculate ages for
+     * @param bucketWidth Width of each bucket in years (must be > 0)
+     * @return int array of counts, one per bucket
+     */
+    public static int[] histogram(int[] yobs, int year, int bucketWidth) {
+        if (bucketWidth <= 0) {
+            throw new IllegalArgumentException("Bucket width must be positive: " + bucketWidth);
+        }
+
+        int maxAge = -1;
+        for (int yob : yobs) {
+            maxAge = Math.max(maxAge, year - yob);
+        }
+        if (maxAge < 0) {
+            return new int[0];
+        }
+
+        int[] buckets = new int[maxAge / bucketWidth + 1];
+        for (int yob : yobs) {
+            int age = year - yob;
+            if (age >= 0) {
+                buckets[age / bucketWidth]++;
+            }
+        }
+        return buckets;
+    }
+
+    /**
+     * Finds an age percentile using the nearest-rank method
+     * @param yobs Years of birth
+     * @param year Year to calculate ages for
+     * @param percentile Percentile to find (0-100)
+     * @return age at the requested percentile
+     */
+    public static int percentile(int[] yobs, int year, double percentile) {
+        return percentiles(yobs, year, percentile)[0];
+    }
+
+    /**
+     * Finds several age percentiles with a single sort using the nearest-rank method
+     * @param yobs Years of birth (must not be empty)
+     * @param year Year to calculate ages for
+     * @param percentiles Percentiles to find (each 0-100)
+     * @return ages at the requested percentiles, in the same order
+     */
+    public static int[] percentiles(int[] yobs, int year, double... percentiles) {
+        if (yobs.length == 0) {
+            throw new IllegalArgumentException("Cannot calculate a percentile of no values");
+        }
+
+        int[] sorted = ages(yobs, year);
+        Arrays.sort(sorted);
+
+        int[] result = new int[percentiles.length];
+        for (int i = 0; i < percentiles.length; i++) {
+            double p = percentiles[i];
+            if (p < 0 || p > 100) {
+                throw new IllegalArgumentException("Percentile is out of range [0-100]: " + p);
+            }
+            int rank = (int) Math.ceil(p / 100.0 * sorted.length);
+            result[i] = sorted[Math.max(rank, 1) - 1];
+        }
+        return result;
+    }
+
+    /**
+     * Counts people whose age falls within an inclusive range
+     * @param yobs Years of birth
+     * @param year Year to calculate ages for
+     * @param lowAge Low end of inclusive age range
+     * @param highAge High end of inclusive age range
+     * @return number of ages within the range
+     */
+    public static int countInRange(int[] yobs, int year, int lowAge, int highAge) {
+        // Turn the age range into a YOB range so the loop is a plain compare
+        int lowYob = year - highAge;
+        int highYob = year - lowAge;
+        int count = 0;
+        for (int yob : yobs) {
+            if (yob >= lowYob && yob <= highYob) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Counts people per age range given as consecutive boundaries
+     * Range i covers ages [bounds[i], bounds[i + 1])
+     * @param yobs Years of birth
+     * @param year Year to calculate ages for
+     * @param bounds Ascending age boundaries (at least 2)
+     * @return int array of counts, one per range
+     */
+    public static int[] countByRanges(int[] yobs, int year, int... bounds) {
+        if (bounds.length < 2) {
+            throw new IllegalArgumentException("At least two range boundaries are required");
+        }
+
+        int[] counts = new int[bounds.length - 1];
+        for (int yob : yobs) {
+            int age = year - yob;
+            // Binary search for the range whose low bound is <= age
+            int pos = Arrays.binarySearch(bounds, age);
+            int range = pos >= 0 ? pos : -pos - 2;
+            if (range >= 0 && range < counts.length) {
+                counts[range]++;
+            }
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,92 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+
+/**
+ * JUnit test class for AgeAnalytics class
+ * Tests bulk age, histogram, percentile and range counting methods
+ *
+ * Name: Tika Khadka
+ */
+class AgeAnalyticsTest {
+
+    private ArrayList<Person> persons;
+    private int[] yobs;
+
+    /**
+     * Set up test fixtures before each test
+     * Creates a small list of persons with known years of birth
+     */
+    @BeforeEach
+    void setUp() {
+        persons = new ArrayList<>();
+        persons.add(new Person("Bilbo", "Baggins", "000001", "Esq.", 1950));
+        persons.add(new Person("Frodo", "Baggins", "000002", "Mr.", 1960));
+        persons.add(new Person("Samwise", "Gamgee", "000003", "Mr.", 1970));
+        persons.add(new Person("Rosie", "Cotton", "000004", "Ms.", 1980));
+        persons.add(new Person("Elanor", "Gamgee", "000005", "Ms.", 1990));
+        yobs = AgeAnalytics.yobColumn(persons);
+    }
+
+    @Test
+    @DisplayName("Test yobColumn keeps list order")
+    void testYobColumn() {
+        assertArrayEquals(new int[] {1950, 1960, 1970, 1980, 1990}, yobs);
+    }
+
+    @Test
+    @DisplayName("Test ages for a specific year")
+    void testAges() {
+        assertArrayEquals(new int[] {50, 40, 30, 20, 10}, AgeAnalytics.ages(persons, 2000));
+    }
+
+    @Test
+    @DisplayName("Test ages match Person getAge")
+    void testAgesMatchPerson() {
+        int[] ages = AgeAnalytics.ages(persons, 2020);
+        for (int i = 0; i < persons.size(); i++) {
+            assertEquals(persons.get(i).getAge(2020), String.valueOf(ages[i]));
+        }
+    }
+
+    @Test
+    @DisplayName("Test histogram buckets")
+    void testHistogram() {
+        int[] buckets = AgeAnalytics.histogram(yobs, 2000, 20);
+        assertArrayEquals(new int[] {1, 2, 2}, buckets);
+    }
+
+    @Test
+    @DisplayName("Test histogram with invalid width")
+    void testHistogramInvalidWidth() {
+        assertThrows(IllegalArgumentException.class, () -> AgeAnalytics.histogram(yobs, 2000, 0));
+    }
+
+    @Test
+    @DisplayName("Test percentiles")
+    void testPercentiles() {
+        assertEquals(30, AgeAnalytics.percentile(yobs, 2000, 50));
+        assertArrayEquals(new int[] {10, 20, 50}, AgeAnalytics.percentiles(yobs, 2000, 0, 40, 100));
+    }
+
+    @Test
+    @DisplayName("Test percentile of empty data")
+    void testPercentileEmpty() {
+        assertThrows(IllegalArgumentException.class, () -> AgeAnalytics.percentile(new int[0], 2000, 50));
+    }
+
+    @Test
+    @DisplayName("Test countInRange")
+    void testCountInRange() {
+        assertEquals(3, AgeAnalytics.countInRange(yobs, 2000, 20, 40));
+        assertEquals(0, AgeAnalytics.countInRange(yobs, 2000, 60, 90));
+    }
+
+    @Test
+    @DisplayName("Test countByRanges")
+    void testCountByRanges() {
+        assertArrayEquals(new int[] {1, 2, 2}, AgeAnalytics.countByRanges(yobs, 2000, 0, 20, 40, 65));
+    }
+}
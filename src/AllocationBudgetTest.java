@@ -0,0 +1,127 @@
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import java.lang.management.ManagementFactory;
+import java.util.function.IntToLongFunction;
+
+/**
+ * JUnit test class guarding bytes allocated per record on the ingest path
+ * Measures the test thread's allocated bytes around bulk parse and serialize
+ * of Person and Product and fails when a per-record budget is exceeded
+ * Budgets can be changed without editing the test, e.g.
+ *   -Dallocation.budget.person.parseCSV=1200
+ *
+ * Name: Tika Khadka
+ */
+class AllocationBudgetTest {
+
+    private static final int RECORDS = 4096;
+    private static final int WARMUP_ROUNDS = 20;
+    private static final int MEASURED_ROUNDS = 3;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private static Person[] persons;
+    private static Product[] products;
+    private static String[] personLines;
+    private static String[] productLines;
+
+    /**
+     * Set up test fixtures once for all tests
+     * Creates records shaped like the sample data files
+     */
+    @BeforeAll
+    static void setUp() {
+        persons = new Person[RECORDS];
+        products = new Product[RECORDS];
+        personLines = new String[RECORDS];
+        productLines = new String[RECORDS];
+        for (int i = 0; i < RECORDS; i++) {
+            String id = String.format("%06d", i);
+            persons[i] = new Person(i % 2 == 0 ? "Bilbo" : "Samwise", i % 3 == 0 ? "Baggins" : "Gamgee",
+                    id, i % 2 == 0 ? "Esq." : "Mr.", 1940 + i % 70);
+            products[i] = new Product(i % 2 == 0 ? "Pipe-weed" : "Lembas", "Longbottom Leaf",
+                    id, (i % 10_000) / 100.0 + 1);
+            personLines[i] = persons[i].toCSV();
+            productLines[i] = products[i].toCSV();
+        }
+    }
+
+    // Parse Tests
+    @Test
+    @DisplayName("Test parsePersonFromCSV stays within its allocation budget")
+    void testPersonParseBudget() {
+        assertWithinBudget("person.parseCSV", 900, i -> PersonReader.parsePersonFromCSV(personLines[i]).getYOB());
+    }
+
+    @Test
+    @DisplayName("Test parseProductFromCSV stays within its allocation budget")
+    void testProductParseBudget() {
+        assertWithinBudget("product.parseCSV", 900,
+                i -> (long) ProductReader.parseProductFromCSV(productLines[i]).getCost());
+    }
+
+    // Serialize Tests
+    @Test
+    @DisplayName("Test Person toCSV/toJSON/toXML stay within their allocation budgets")
+    void testPersonSerializeBudget() {
+        assertWithinBudget("person.toCSV", 160, i -> persons[i].toCSV().length());
+        assertWithinBudget("person.toJSON", 256, i -> persons[i].toJSON().length());
+        assertWithinBudget("person.toXML", 320, i -> persons[i].toXML().length());
+    }
+
+    @Test
+    @DisplayName("Test Product toCSV/toJSON/toXML stay within their allocation budgets")
+    void testProductSerializeBudget() {
+        assertWithinBudget("product.toCSV", 200, i -> products[i].toCSV().length());
+        assertWithinBudget("product.toJSON", 256, i -> products[i].toJSON().length());
+        assertWithinBudget("product.toXML", 320, i -> products[i].toXML().length());
+    }
+
+    @Test
+    @DisplayName("Test equals does not allocate")
+    void testEqualsBudget() {
+        assertWithinBudget("person.equals", 0, i -> persons[i].equals(persons[RECORDS - 1 - i]) ? 1 : 0);
+        assertWithinBudget("product.equals", 0, i -> products[i].equals(products[RECORDS - 1 - i]) ? 1 : 0);
+    }
+
+    /**
+     * Runs an operation over every record and fails if it allocates more than
+     * the budget per record
+     * Warms the operation up first and keeps the lowest of several rounds so
+     * interpreter and JIT-compile allocations are not counted
+     * @param name Budget name, used for the override property
+     * @param defaultBudget Allowed bytes per record if no property is set
+     * @param operation Operation on record number i, returning a value to keep it live
+     */
+    private static void assertWithinBudget(String name, long defaultBudget, IntToLongFunction operation) {
+        assumeTrue(THREADS.isThreadAllocatedMemorySupported(), "Thread allocation counting is not supported");
+        THREADS.setThreadAllocatedMemoryEnabled(true);
+        long budget = Long.getLong("allocation.budget." + name, defaultBudget);
+        long thread = Thread.currentThread().threadId();
+
+        long sink = 0;
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            for (int i = 0; i < RECORDS; i++) {
+                sink += operation.applyAsLong(i);
+            }
+        }
+
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            long before = THREADS.getThreadAllocatedBytes(thread);
+            for (int i = 0; i < RECORDS; i++) {
+                sink += operation.applyAsLong(i);
+            }
+            best = Math.min(best, THREADS.getThreadAllocatedBytes(thread) - before);
+        }
+
+        // Rounding down absorbs the few bytes the counter reads themselves allocate
+        long perRecord = best / RECORDS;
+        assertTrue(perRecord <= budget, name + " allocated " + perRecord + " bytes per record, budget is "
+                + budget + " (checksum " + sink + ")");
+    }
+}
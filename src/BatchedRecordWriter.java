@@ -0,0 +1,179 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * BatchedRecordWriter - Shared writer that many threads can add records to
+ * add(...) only puts the record on a queue; one background thread takes
+ * whatever has queued up (up to a batch), writes it with a RecordFileWriter
+ * and flushes, so the file is written in batches and callers never wait on
+ * disk I/O while the queue has room
+ * The queue is bounded: when the disk falls behind, add(...) waits
+ * A write error stops the writer and is thrown from the next add(...) or close()
+ *
+ * Name: Tika Khadka
+ */
+public class BatchedRecordWriter<T> implements Closeable {
+
+    /** Records written per batch at most */
+    static final int BATCH_SIZE = 1024;
+    private static final int QUEUE_CAPACITY = 64 * BATCH_SIZE;
+    private static final long POLL_MILLIS = 50;
+
+    private final RecordFileWriter<T> writer;
+    private final BlockingQueue<T> queue = new LinkedBlockingQueue<>(QUEUE_CAPACITY);
+    private final Thread thread;
+    // add(...) holds the read lock from its closed check until the record is queued,
+    // close() takes the write lock to start closing, so no record lands after the final drain
+    private final ReadWriteLock closeLock = new ReentrantReadWriteLock();
+    private volatile boolean closing;
+    private volatile IOException failure;
+    private long batches;
+
+    /**
+     * Constructor that starts the writer thread
+     * @param writer Writer for the data file; closed by close()
+     */
+    public BatchedRecordWriter(RecordFileWriter<T> writer) {
+        this.writer = writer;
+        this.thread = new Thread(this::run, "BatchedRecordWriter");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Queues one record to be written
+     * @param record Record to write
+     * @throws IOException if the writer has failed or is closed
+     * @throws InterruptedIOException if interrupted while waiting for queue room
+     */
+    public void add(T record) throws IOException {
+        closeLock.readLock().lock();
+        try {
+            checkFailure();
+            if (closing) {
+                throw new IOException("Writer is closed");
+            }
+            // Wait for room in steps so a writer that failed with a full queue is noticed
+            while (!queue.offer(record, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                checkFailure();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while queueing a record");
+        } finally {
+            closeLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the number of records written to the file so far
+     * @return records written
+     */
+    public long getRecords() {
+        synchronized (writer) {
+            return writer.getRecords();
+        }
+    }
+
+    /**
+     * Gets the number of batches written so far
+     * @return batches written
+     */
+    public long getBatches() {
+        synchronized (writer) {
+            return batches;
+        }
+    }
+
+    /**
+     * Writes everything queued, then closes the data file and writes its sidecars
+     * @throws IOException if a record or the file could not be written
+     */
+    @Override
+    public void close() throws IOException {
+        closeLock.writeLock().lock();
+        try {
+            closing = true;
+        } finally {
+            closeLock.writeLock().unlock();
+        }
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while closing");
+        }
+        try {
+            // Nothing is queued once closing is set; this catches records left if the thread stopped early
+            ArrayList<T> rest = new ArrayList<>();
+            queue.drainTo(rest);
+            if (failure == null && !rest.isEmpty()) {
+                writeBatch(rest);
+            }
+        } catch (IOException e) {
+            failure = e;
+        } finally {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                if (failure == null) {
+                    failure = e;
+                }
+            }
+        }
+        checkFailure();
+    }
+
+    /**
+     * Writer thread: waits for records, then writes and flushes each batch
+     * On close it drains the queue before stopping
+     */
+    private void run() {
+        ArrayList<T> batch = new ArrayList<>(BATCH_SIZE);
+        try {
+            while (!closing || !queue.isEmpty()) {
+                T first;
+                try {
+                    // Wake up now and then to notice close(); interrupting this thread
+                    // would close the file channel under a write
+                    first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, BATCH_SIZE - 1);
+                    writeBatch(batch);
+                    batch.clear();
+                }
+            }
+        } catch (IOException e) {
+            failure = e;
+            queue.clear();
+        }
+    }
+
+    private void writeBatch(ArrayList<T> batch) throws IOException {
+        synchronized (writer) {
+            for (T record : batch) {
+                writer.write(record);
+            }
+            writer.flush();
+            batches++;
+        }
+    }
+
+    private void checkFailure() throws IOException {
+        IOException e = failure;
+        if (e != null) {
+            throw new IOException("Record writer failed: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * JUnit test class for BatchedRecordWriter class
+ * Tests that records added from many threads are all written once, in batches
+ *
+ * Name: Tika Khadka
+ */
+class BatchedRecordWriterTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Test records from many threads are all written with sidecars")
+    void testConcurrentAdds() throws Exception {
+        Path file = tempDir.resolve("persons.txt");
+        BatchedRecordWriter<Person> writer = new BatchedRecordWriter<>(
+                new RecordFileWriter<>(file, 40_000, "BatchedRecordWriterTest", Person::getID, Person::toCSV));
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            ArrayList<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int thread = t;
+                results.add(pool.submit(() -> {
+                    for (int i = 0; i < 5_000; i++) {
+                        writer.add(new Person("First", "Last", String.format("%d-%06d", thread, i), "Mr.", 1950));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+        writer.close();
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(40_000, lines.size());
+        assertEquals(40_000, new HashSet<>(lines).size());
+        assertEquals(40_000, writer.getRecords());
+        assertTrue(writer.getBatches() < 40_000);
+        assertTrue(Files.exists(IdBloomFilter.sidecarFor(file)));
+        assertTrue(Files.exists(LineOffsetIndex.sidecarFor(file)));
+    }
+
+    @Test
+    @DisplayName("Test add after close is rejected")
+    void testAddAfterClose() throws IOException {
+        Path file = tempDir.resolve("products.txt");
+        BatchedRecordWriter<Product> writer = new BatchedRecordWriter<>(
+                new RecordFileWriter<>(file, 10, "BatchedRecordWriterTest", Product::getID, Product::toCSV));
+        writer.add(new Product("Rope", "Elven", "P001", 5.0));
+        writer.close();
+
+        assertThrows(IOException.class, () -> writer.add(new Product("Lamp", "Oil", "P002", 2.0)));
+        assertEquals(1, Files.readAllLines(file).size());
+    }
+
+    @Test
+    @DisplayName("Test every add accepted while close runs is written")
+    void testCloseDuringAdds() throws Exception {
+        Path file = tempDir.resolve("persons.txt");
+        BatchedRecordWriter<Person> writer = new BatchedRecordWriter<>(
+                new RecordFileWriter<>(file, 100_000, "BatchedRecordWriterTest", Person::getID, Person::toCSV));
+        AtomicInteger accepted = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            ArrayList<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int thread = t;
+                results.add(pool.submit(() -> {
+                    for (int i = 0; ; i++) {
+                        try {
+                            writer.add(new Person("First", "Last", String.format("%d-%06d", thread, i), "Mr.", 1950));
+                        } catch (IOException e) {
+                            return null;
+                        }
+                        accepted.incrementAndGet();
+                    }
+                }));
+            }
+            while (accepted.get() < 2_000) {
+                Thread.onSpinWait();
+            }
+            writer.close();
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(accepted.get(), Files.readAllLines(file).size());
+        assertEquals(accepted.get(), writer.getRecords());
+    }
+}
@@ -0,0 +1,250 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.InputMismatchException;
+import java.util.NoSuchElementException;
+
+/**
+ * BufferedInputSource - Fast InputSource that scans a large character buffer by hand
+ * Finds tokens and line ends with plain loops instead of Scanner's regular
+ * expressions, and parses plain ints and doubles directly; tokens in other
+ * forms (grouping separators, exponents, NaN, locale digits) are handed to
+ * Scanner so the accepted values stay exactly the same
+ * Like Scanner, it only reads more input when it needs it to find the end of
+ * a token or line, so it also works interactively
+ * Not thread-safe
+ *
+ * Name: Tika Khadka
+ */
+public class BufferedInputSource implements InputSource {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Reader in;
+    private char[] buf;
+    private int pos;
+    private int end;
+    private boolean eof;
+    private IOException ioException;
+
+    // Next token found by the last look-ahead, as offsets from pos (-1 when not looked up yet)
+    private int tokenStart = -1;
+    private int tokenEnd;
+    private boolean intChecked;
+    private Integer intToken;
+    private boolean doubleChecked;
+    private Double doubleToken;
+
+    /**
+     * Constructor that reads an InputStream in the default charset (as new Scanner(in) does)
+     * @param in Stream to read, e.g. System.in
+     */
+    public BufferedInputSource(InputStream in) {
+        this(new InputStreamReader(in));
+    }
+
+    /**
+     * Constructor that reads characters from a Reader
+     * @param in Reader to read
+     */
+    public BufferedInputSource(Reader in) {
+        this(in, BUFFER_SIZE);
+    }
+
+    /**
+     * Constructor with an initial buffer size (the buffer grows for longer tokens or lines)
+     * @param in Reader to read
+     * @param bufferSize Initial buffer size in characters
+     */
+    BufferedInputSource(Reader in, int bufferSize) {
+        this.in = in;
+        this.buf = new char[Math.max(1, bufferSize)];
+    }
+
+    /**
+     * Constructor that reads from a String
+     * @param text Input text
+     */
+    public BufferedInputSource(String text) {
+        this(new StringReader(text));
+    }
+
+    @Override
+    public String nextLine() {
+        int i = pos;
+        while (true) {
+            while (i < end) {
+                char c = buf[i];
+                if (c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029') {
+                    // A '\r' at the end of the buffer may be the first half of "\r\n"
+                    if (c == '\r' && i + 1 == end && !eof) {
+                        break;
+                    }
+                    String line = new String(buf, pos, i - pos);
+                    int next = i + 1;
+                    if (c == '\r' && next < end && buf[next] == '\n') {
+                        next++;
+                    }
+                    consume(next);
+                    return line;
+                }
+                i++;
+            }
+            int offset = i - pos;
+            boolean more = fill();
+            i = pos + offset;
+            if (!more && i == end) {
+                // Last line without a line separator
+                if (pos == end) {
+                    throw new NoSuchElementException("No line found");
+                }
+                String line = new String(buf, pos, end - pos);
+                consume(end);
+                return line;
+            }
+        }
+    }
+
+    @Override
+    public boolean hasNextInt() {
+        if (!intChecked) {
+            intToken = findToken() ? SafeInputBulk.parseIntToken(token()) : null;
+            intChecked = true;
+        }
+        return intToken != null;
+    }
+
+    @Override
+    public int nextInt() {
+        if (!hasNextInt()) {
+            throw tokenStart < 0 ? new NoSuchElementException() : new InputMismatchException(token());
+        }
+        int value = intToken;
+        consume(pos + tokenEnd);
+        return value;
+    }
+
+    @Override
+    public boolean hasNextDouble() {
+        if (!doubleChecked) {
+            doubleToken = findToken() ? SafeInputBulk.parseDoubleToken(token()) : null;
+            doubleChecked = true;
+        }
+        return doubleToken != null;
+    }
+
+    @Override
+    public double nextDouble() {
+        if (!hasNextDouble()) {
+            throw tokenStart < 0 ? new NoSuchElementException() : new InputMismatchException(token());
+        }
+        double value = doubleToken;
+        consume(pos + tokenEnd);
+        return value;
+    }
+
+    /**
+     * Gets the error that ended the input early, as Scanner.ioException() does
+     * @return the read error, or null if there was none
+     */
+    public IOException ioException() {
+        return ioException;
+    }
+
+    /**
+     * Finds the next token after any whitespace, reading more input as needed
+     * @return true if there is a token, false at the end of input
+     */
+    private boolean findToken() {
+        if (tokenStart >= 0) {
+            return true;
+        }
+        int i = pos;
+        while (true) {
+            while (i < end && Character.isWhitespace(buf[i])) {
+                i++;
+            }
+            if (i < end) {
+                break;
+            }
+            int offset = i - pos;
+            if (!fill()) {
+                return false;
+            }
+            i = pos + offset;
+        }
+        int start = i - pos;
+        while (true) {
+            while (i < end && !Character.isWhitespace(buf[i])) {
+                i++;
+            }
+            if (i < end) {
+                break;
+            }
+            int offset = i - pos;
+            boolean more = fill();
+            i = pos + offset;
+            if (!more) {
+                break;
+            }
+        }
+        tokenStart = start;
+        tokenEnd = i - pos;
+        return true;
+    }
+
+    private String token() {
+        return new String(buf, pos + tokenStart, tokenEnd - tokenStart);
+    }
+
+    /**
+     * Moves past consumed input and forgets the looked-up token
+     * @param newPos New position in the buffer
+     */
+    private void consume(int newPos) {
+        pos = newPos;
+        tokenStart = -1;
+        intChecked = false;
+        doubleChecked = false;
+    }
+
+    /**
+     * Reads more input into the buffer, keeping everything from pos on
+     * Token offsets stay valid because they are relative to pos
+     * @return true if more characters were read, false at the end of input
+     */
+    private boolean fill() {
+        if (eof) {
+            return false;
+        }
+        if (end == buf.length) {
+            if (pos > 0) {
+                System.arraycopy(buf, pos, buf, 0, end - pos);
+                end -= pos;
+                pos = 0;
+            } else {
+                buf = Arrays.copyOf(buf, buf.length * 2);
+            }
+        }
+        try {
+            int read;
+            do {
+                read = in.read(buf, end, buf.length - end);
+            } while (read == 0);
+            if (read < 0) {
+                eof = true;
+                return false;
+            }
+            end += read;
+            return true;
+        } catch (IOException e) {
+            // Like Scanner, a read error ends the input; the cause is kept for ioException()
+            ioException = e;
+            eof = true;
+            return false;
+        }
+    }
+}
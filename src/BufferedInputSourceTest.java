@@ -0,0 +1,140 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.ByteArrayInputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Scanner;
+
+/**
+ * JUnit test class for BufferedInputSource class
+ * Replays the same calls on a Scanner and a BufferedInputSource and expects
+ * the same answers, including with tiny buffers and one-character reads
+ *
+ * Name: Tika Khadka
+ */
+class BufferedInputSourceTest {
+
+    private static final String[] FRAGMENTS = {"42", "-7", "+3", "1,000", "3.5", ".5", "1e3", "NaN", "abc",
+            "2147483648", " ", "  ", "\t", "\n", "\r\n", "\r", "\u2028", "Bilbo Baggins", "5 extra", "", "x1"};
+
+    @Test
+    @DisplayName("Test SafeInputObj-style calls match Scanner on fixed input")
+    void testFixedInput() {
+        String input = "abc\n2000\n1950 trailing\n\n\n 7\n1.25\nY\nlast";
+        Scanner scanner = new Scanner(input);
+        BufferedInputSource source = new BufferedInputSource(input);
+
+        assertEquals(scanner.hasNextInt(), source.hasNextInt());
+        assertEquals(scanner.nextLine(), source.nextLine());
+        assertEquals(scanner.nextInt(), source.nextInt());
+        assertEquals(scanner.nextLine(), source.nextLine());
+        assertEquals(scanner.nextInt(), source.nextInt());
+        assertEquals(" trailing", source.nextLine());
+        scanner.nextLine();
+        assertTrue(source.hasNextInt());
+        assertEquals(scanner.hasNextInt(), source.hasNextInt());
+        assertEquals(scanner.nextLine(), source.nextLine());
+        assertEquals(scanner.nextInt(), source.nextInt());
+        assertEquals(scanner.nextLine(), source.nextLine());
+        assertEquals(scanner.nextDouble(), source.nextDouble());
+        assertEquals(scanner.nextLine(), source.nextLine());
+        assertEquals(scanner.nextLine(), source.nextLine());
+        assertEquals("last", source.nextLine());
+        assertFalse(source.hasNextInt());
+        assertThrows(NoSuchElementException.class, source::nextLine);
+    }
+
+    @Test
+    @DisplayName("Test random call sequences match Scanner")
+    void testRandomSequences() {
+        Random random = new Random(7);
+        for (int round = 0; round < 300; round++) {
+            StringBuilder text = new StringBuilder();
+            int pieces = random.nextInt(30);
+            for (int i = 0; i < pieces; i++) {
+                text.append(FRAGMENTS[random.nextInt(FRAGMENTS.length)]);
+            }
+            String input = text.toString();
+            int bufferSize = 1 + random.nextInt(8);
+            replay(input, new BufferedInputSource(new OneCharReader(input), bufferSize), random.nextLong());
+            replay(input, new BufferedInputSource(input), random.nextLong());
+        }
+    }
+
+    @Test
+    @DisplayName("Test SafeInputObj gives the same values with either source")
+    void testSafeInputObjSources() {
+        String input = "x\n500\n25\nabc\n2.5\n\nBilbo\nq\ny\n";
+        SafeInputObj withScanner = new SafeInputObj(new Scanner(new ByteArrayInputStream(input.getBytes())));
+        SafeInputObj withBuffer = new SafeInputObj(new BufferedInputSource(new ByteArrayInputStream(input.getBytes())));
+
+        assertEquals(withScanner.getRangedInt("Age", 1, 100), withBuffer.getRangedInt("Age", 1, 100));
+        assertEquals(withScanner.getDouble("Cost"), withBuffer.getDouble("Cost"));
+        assertEquals(withScanner.getNonZeroLenString("Name"), withBuffer.getNonZeroLenString("Name"));
+        assertEquals(withScanner.getYNConfirm("More"), withBuffer.getYNConfirm("More"));
+    }
+
+    /**
+     * Makes the same random calls on a Scanner and a source and compares every answer
+     */
+    private static void replay(String input, InputSource source, long seed) {
+        Scanner scanner = new Scanner(input);
+        Random random = new Random(seed);
+        for (int step = 0; step < 40; step++) {
+            String context = "input " + escape(input) + " step " + step;
+            switch (random.nextInt(5)) {
+                case 0:
+                    assertEquals(scanner.hasNextInt(), source.hasNextInt(), context);
+                    break;
+                case 1:
+                    if (scanner.hasNextInt()) {
+                        assertEquals(scanner.nextInt(), source.nextInt(), context);
+                    }
+                    break;
+                case 2:
+                    assertEquals(scanner.hasNextDouble(), source.hasNextDouble(), context);
+                    break;
+                case 3:
+                    if (scanner.hasNextDouble()) {
+                        assertEquals(scanner.nextDouble(), source.nextDouble(), context);
+                    }
+                    break;
+                default:
+                    if (scanner.hasNextLine()) {
+                        assertEquals(scanner.nextLine(), source.nextLine(), context);
+                    } else {
+                        assertThrows(NoSuchElementException.class, source::nextLine, context);
+                        return;
+                    }
+            }
+        }
+    }
+
+    private static String escape(String text) {
+        return text.replace("\r", "\\r").replace("\n", "\\n").replace("\t", "\\t").replace("\u2028", "\\u2028");
+    }
+
+    /**
+     * Reader that returns at most one character per read, like slow interactive input
+     */
+    private static class OneCharReader extends Reader {
+        private final StringReader in;
+
+        OneCharReader(String text) {
+            this.in = new StringReader(text);
+        }
+
+        @Override
+        public int read(char[] cbuf, int off, int len) throws java.io.IOException {
+            return in.read(cbuf, off, Math.min(1, len));
+        }
+
+        @Override
+        public void close() {
+            in.close();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+
+/**
+ * BufferedOutputSink - OutputSink that collects text and writes it only on flush
+ * Meant to be owned by one input session: there is no locking, and the
+ * underlying Writer sees one write and one flush per prompt instead of a
+ * synchronized System.out call per message
+ * If more than the buffer size piles up without a flush, it is written to
+ * the Writer early (but the Writer is still only flushed on flush())
+ * Like PrintStream, write errors do not throw; checkError() reports them
+ * Not thread-safe
+ *
+ * Name: Tika Khadka
+ */
+public class BufferedOutputSink implements OutputSink {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Writer out;
+    private final int bufferSize;
+    private final StringBuilder buffer;
+    private boolean error;
+
+    /**
+     * Constructor that writes to an OutputStream in the default charset (as System.out does)
+     * @param out Stream to write to
+     */
+    public BufferedOutputSink(OutputStream out) {
+        this(new OutputStreamWriter(out));
+    }
+
+    /**
+     * Constructor that writes to a Writer
+     * @param out Writer to write to, e.g. a socket's writer or a StringWriter
+     */
+    public BufferedOutputSink(Writer out) {
+        this(out, BUFFER_SIZE);
+    }
+
+    /**
+     * Constructor with a buffer size
+     * @param out Writer to write to
+     * @param bufferSize Characters to collect before writing without a flush
+     */
+    public BufferedOutputSink(Writer out, int bufferSize) {
+        this.out = out;
+        this.bufferSize = Math.max(1, bufferSize);
+        this.buffer = new StringBuilder(Math.min(this.bufferSize, BUFFER_SIZE));
+    }
+
+    @Override
+    public void print(String text) {
+        buffer.append(text);
+        if (buffer.length() >= bufferSize) {
+            write();
+        }
+    }
+
+    @Override
+    public void println(String text) {
+        buffer.append(text).append(System.lineSeparator());
+        if (buffer.length() >= bufferSize) {
+            write();
+        }
+    }
+
+    @Override
+    public void flush() {
+        write();
+        try {
+            out.flush();
+        } catch (IOException e) {
+            error = true;
+        }
+    }
+
+    /**
+     * Checks whether any write or flush has failed, as PrintStream.checkError does
+     * @return true if output was lost
+     */
+    public boolean checkError() {
+        return error;
+    }
+
+    /**
+     * Hands the collected text to the Writer
+     */
+    private void write() {
+        if (buffer.length() == 0) {
+            return;
+        }
+        try {
+            out.append(buffer);
+        } catch (IOException e) {
+            error = true;
+        }
+        buffer.setLength(0);
+    }
+}
@@ -0,0 +1,121 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.ByteArrayInputStream;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Scanner;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * JUnit test class for BufferedOutputSink class
+ * Tests buffering until flush, and prompts going to per-session sinks
+ *
+ * Name: Tika Khadka
+ */
+class BufferedOutputSinkTest {
+
+    @Test
+    @DisplayName("Test text reaches the Writer only when flushed")
+    void testFlush() {
+        CountingWriter writer = new CountingWriter();
+        BufferedOutputSink sink = new BufferedOutputSink(writer);
+
+        sink.print("Name: ");
+        sink.println("You must enter an int: x");
+        assertEquals("", writer.text.toString());
+
+        sink.flush();
+        assertEquals("Name: You must enter an int: x" + System.lineSeparator(), writer.text.toString());
+        assertEquals(1, writer.writes);
+        assertEquals(1, writer.flushes);
+        assertFalse(sink.checkError());
+    }
+
+    @Test
+    @DisplayName("Test a full buffer is written early without flushing")
+    void testBufferFull() {
+        CountingWriter writer = new CountingWriter();
+        BufferedOutputSink sink = new BufferedOutputSink(writer, 4);
+
+        sink.print("abcdef");
+        assertEquals("abcdef", writer.text.toString());
+        assertEquals(0, writer.flushes);
+    }
+
+    @Test
+    @DisplayName("Test SafeInputObj flushes once per prompt into its own sink")
+    void testSafeInputObjSink() {
+        CountingWriter writer = new CountingWriter();
+        SafeInputObj obj = new SafeInputObj(new BufferedInputSource("abc\n200\n50\n"), new BufferedOutputSink(writer));
+
+        assertEquals(50, obj.getRangedInt("Age", 1, 100));
+
+        String nl = System.lineSeparator();
+        assertEquals("\nAge[1-100]: You must enter an int: abc" + nl
+                + "\nAge[1-100]: \nNumber is out of range [1-100]: 200" + nl
+                + "\nAge[1-100]: ", writer.text.toString());
+        assertEquals(3, writer.flushes);
+    }
+
+    @Test
+    @DisplayName("Test SafeInput output set on one thread does not affect others")
+    void testSafeInputPerThread() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            ArrayList<Future<String>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                String name = "Session" + t;
+                results.add(pool.submit(() -> {
+                    StringWriter text = new StringWriter();
+                    SafeInput.setOutput(new BufferedOutputSink(text));
+                    try {
+                        Scanner pipe = new Scanner(new ByteArrayInputStream("\nx\n".getBytes()));
+                        SafeInput.getNonZeroLenString(pipe, name);
+                    } finally {
+                        SafeInput.setOutput(null);
+                    }
+                    return text.toString();
+                }));
+            }
+            for (int t = 0; t < 8; t++) {
+                assertEquals("\nSession" + t + ": \nSession" + t + ": ", results.get(t).get());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Writer that keeps the text and counts writes and flushes
+     */
+    private static class CountingWriter extends Writer {
+        private final StringBuilder text = new StringBuilder();
+        private int writes;
+        private int flushes;
+
+        @Override
+        public void write(char[] cbuf, int off, int len) {
+            text.append(cbuf, off, len);
+            writes++;
+        }
+
+        @Override
+        public void write(String str, int off, int len) {
+            text.append(str, off, off + len);
+            writes++;
+        }
+
+        @Override
+        public void flush() {
+            flushes++;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
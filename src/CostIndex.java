@@ -0,0 +1,624 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+/**
+ * CostIndex - Sorted index over Product cost for price-band queries
+ * A B+-tree whose leaves hold costs and product positions in primitive
+ * arrays; branches keep the entry count of each child, so range, count,
+ * floor and ceiling lookups and setCost updates all take O(log n)
+ * Entries with equal costs stay in the order they were added; each entry
+ * carries an increasing stamp so the (cost, stamp) keys are unique
+ * Emptied nodes are unlinked but partly-filled ones are not merged, so the
+ * tree is never taller than the log of the most products it has held
+ * Cost changes must go through setCost so the index stays in order
+ *
+ * Name: Tika Khadka
+ */
+public class CostIndex {
+
+    /** Entries per leaf and children per branch */
+    static final int NODE_CAPACITY = 64;
+
+    private final ArrayList<Product> products;
+    private final IdentityHashMap<Product, Integer> slotOf;
+    // Stamp each product's entry is keyed under, by slot
+    private long[] stampOf;
+    private long nextStamp;
+    private Node root;
+
+    /**
+     * Default constructor - creates an empty index
+     */
+    public CostIndex() {
+        this.products = new ArrayList<>();
+        this.slotOf = new IdentityHashMap<>();
+        this.stampOf = new long[16];
+        this.root = new Leaf();
+    }
+
+    /**
+     * Constructor that indexes an existing list of products with one sort
+     * @param list List of Product objects to index
+     */
+    public CostIndex(List<Product> list) {
+        this.products = new ArrayList<>(list);
+        this.slotOf = new IdentityHashMap<>(list.size());
+        int size = list.size();
+
+        double[] costs = new double[size];
+        int[] slots = new int[size];
+        for (int i = 0; i < size; i++) {
+            Product product = products.get(i);
+            slotOf.put(product, i);
+            costs[i] = product.getCost();
+            slots[i] = i;
+        }
+        sortPairs(costs, slots);
+
+        // The sort is stable, so stamps in sorted order keep equal costs in list order
+        this.stampOf = new long[Math.max(16, size)];
+        for (int i = 0; i < size; i++) {
+            stampOf[slots[i]] = i;
+        }
+        this.nextStamp = size;
+        this.root = bulkLoad(costs, slots);
+    }
+
+    /**
+     * Adds a product to the index
+     * @param product Product to add
+     */
+    public void add(Product product) {
+        if (slotOf.containsKey(product)) {
+            throw new IllegalArgumentException("Product is already indexed: " + product.getID());
+        }
+        int slot = products.size();
+        products.add(product);
+        slotOf.put(product, slot);
+        if (slot == stampOf.length) {
+            stampOf = Arrays.copyOf(stampOf, slot * 2);
+        }
+        stampOf[slot] = nextStamp++;
+        insert(product.getCost(), stampOf[slot], slot);
+    }
+
+    /**
+     * Changes the cost of an indexed product and moves it to its new position
+     * Uses the same validation as Product.setCost (negative costs are ignored)
+     * @param product Product to update
+     * @param cost New cost
+     */
+    public void setCost(Product product, double cost) {
+        Integer slot = slotOf.get(product);
+        if (slot == null) {
+            throw new IllegalArgumentException("Product is not indexed: " + product.getID());
+        }
+
+        double oldCost = product.getCost();
+        product.setCost(cost);
+        if (Double.compare(oldCost, product.getCost()) != 0) {
+            remove(oldCost, stampOf[slot]);
+            // A new stamp puts it after products that already have the new cost
+            stampOf[slot] = nextStamp++;
+            insert(product.getCost(), stampOf[slot], slot);
+        }
+    }
+
+    /**
+     * Gets the number of indexed products
+     * @return number of products
+     */
+    public int size() {
+        return root.count;
+    }
+
+    /**
+     * Counts products with a cost in an inclusive range
+     * @param low Low cost inclusive
+     * @param high High cost inclusive
+     * @return number of products in the range
+     */
+    public int count(double low, double high) {
+        return Math.max(0, upperBound(high) - lowerBound(low));
+    }
+
+    /**
+     * Finds products with a cost in an inclusive range
+     * @param low Low cost inclusive
+     * @param high High cost inclusive
+     * @return matching products ordered by cost
+     */
+    public ArrayList<Product> range(double low, double high) {
+        int from = lowerBound(low);
+        int to = upperBound(high);
+        ArrayList<Product> result = new ArrayList<>(Math.max(0, to - from));
+        if (from >= to) {
+            return result;
+        }
+        // Find the first entry, then follow the leaf chain
+        Node node = root;
+        int index = from;
+        while (node instanceof Branch) {
+            Branch branch = (Branch) node;
+            int i = 0;
+            while (index >= branch.children[i].count) {
+                index -= branch.children[i].count;
+                i++;
+            }
+            node = branch.children[i];
+        }
+        Leaf leaf = (Leaf) node;
+        for (int remaining = to - from; remaining > 0; remaining--) {
+            if (index == leaf.size) {
+                leaf = leaf.next;
+                index = 0;
+            }
+            result.add(products.get(leaf.slots[index++]));
+        }
+        return result;
+    }
+
+    /**
+     * Finds a product with the greatest cost less than or equal to the given cost
+     * @param cost Cost to search for
+     * @return matching product or null if there is none
+     */
+    public Product floor(double cost) {
+        int pos = upperBound(cost) - 1;
+        return pos >= 0 ? products.get(slotAt(pos)) : null;
+    }
+
+    /**
+     * Finds a product with the least cost greater than or equal to the given cost
+     * @param cost Cost to search for
+     * @return matching product or null if there is none
+     */
+    public Product ceiling(double cost) {
+        int pos = lowerBound(cost);
+        return pos < root.count ? products.get(slotAt(pos)) : null;
+    }
+
+    /**
+     * Finds the first position whose cost is >= the given cost
+     * @param cost Cost to search for
+     * @return position in cost order
+     */
+    private int lowerBound(double cost) {
+        return rank(cost, Long.MIN_VALUE);
+    }
+
+    /**
+     * Finds the first position whose cost is > the given cost
+     * @param cost Cost to search for
+     * @return position in cost order
+     */
+    private int upperBound(double cost) {
+        return rank(cost, Long.MAX_VALUE);
+    }
+
+    /**
+     * Counts the entries whose key is less than (cost, stamp)
+     * Adds up the counts of the children passed over on the way down
+     * @param cost Cost of the key
+     * @param stamp Stamp of the key
+     * @return number of smaller entries
+     */
+    private int rank(double cost, long stamp) {
+        int rank = 0;
+        Node node = root;
+        while (node instanceof Branch) {
+            Branch branch = (Branch) node;
+            int i = branch.childFor(cost, stamp);
+            for (int j = 0; j < i; j++) {
+                rank += branch.children[j].count;
+            }
+            node = branch.children[i];
+        }
+        return rank + ((Leaf) node).position(cost, stamp);
+    }
+
+    /**
+     * Gets the product position of the entry at a position in cost order
+     * @param index Position in cost order
+     * @return slot of the product in the product list
+     */
+    private int slotAt(int index) {
+        Node node = root;
+        while (node instanceof Branch) {
+            Branch branch = (Branch) node;
+            int i = 0;
+            while (index >= branch.children[i].count) {
+                index -= branch.children[i].count;
+                i++;
+            }
+            node = branch.children[i];
+        }
+        return ((Leaf) node).slots[index];
+    }
+
+    /**
+     * Sorts the (cost, slot) pairs by cost with a stable bottom-up merge sort
+     * Works on the primitive arrays directly so no boxing is needed
+     * @param costs Costs to sort
+     * @param slots Product positions, moved along with their costs
+     */
+    private static void sortPairs(double[] costs, int[] slots) {
+        int size = costs.length;
+        double[] srcCosts = costs;
+        int[] srcSlots = slots;
+        double[] dstCosts = new double[size];
+        int[] dstSlots = new int[size];
+
+        for (int width = 1; width < size; width *= 2) {
+            for (int lo = 0; lo < size; lo += 2 * width) {
+                int mid = Math.min(lo + width, size);
+                int hi = Math.min(lo + 2 * width, size);
+                int i = lo;
+                int j = mid;
+                for (int k = lo; k < hi; k++) {
+                    if (i < mid && (j >= hi || srcCosts[i] <= srcCosts[j])) {
+                        dstCosts[k] = srcCosts[i];
+                        dstSlots[k] = srcSlots[i++];
+                    } else {
+                        dstCosts[k] = srcCosts[j];
+                        dstSlots[k] = srcSlots[j++];
+                    }
+                }
+            }
+            double[] tmpCosts = srcCosts;
+            srcCosts = dstCosts;
+            dstCosts = tmpCosts;
+            int[] tmpSlots = srcSlots;
+            srcSlots = dstSlots;
+            dstSlots = tmpSlots;
+        }
+
+        if (srcCosts != costs) {
+            System.arraycopy(srcCosts, 0, costs, 0, size);
+            System.arraycopy(srcSlots, 0, slots, 0, size);
+        }
+    }
+
+    /**
+     * Builds the tree bottom-up from sorted pairs, filling each node
+     * Stamps are the positions in sorted order
+     * @param costs Sorted costs
+     * @param slots Product positions in the same order
+     * @return root node
+     */
+    private static Node bulkLoad(double[] costs, int[] slots) {
+        ArrayList<Node> level = new ArrayList<>();
+        Leaf previous = null;
+        for (int from = 0; from < costs.length; from += NODE_CAPACITY) {
+            Leaf leaf = new Leaf();
+            int n = Math.min(NODE_CAPACITY, costs.length - from);
+            System.arraycopy(costs, from, leaf.costs, 0, n);
+            System.arraycopy(slots, from, leaf.slots, 0, n);
+            for (int i = 0; i < n; i++) {
+                leaf.stamps[i] = from + i;
+            }
+            leaf.size = n;
+            leaf.count = n;
+            leaf.prev = previous;
+            if (previous != null) {
+                previous.next = leaf;
+            }
+            previous = leaf;
+            level.add(leaf);
+        }
+        if (level.isEmpty()) {
+            return new Leaf();
+        }
+        while (level.size() > 1) {
+            ArrayList<Node> parents = new ArrayList<>();
+            for (int from = 0; from < level.size(); from += NODE_CAPACITY) {
+                Branch branch = new Branch();
+                int n = Math.min(NODE_CAPACITY, level.size() - from);
+                for (int i = 0; i < n; i++) {
+                    branch.append(level.get(from + i));
+                }
+                parents.add(branch);
+            }
+            level = parents;
+        }
+        return level.get(0);
+    }
+
+    /**
+     * Inserts a (cost, stamp, slot) entry, growing a new root if the old one splits
+     * @param cost Cost of the product
+     * @param stamp Unique stamp of the entry
+     * @param slot Position of the product in the product list
+     */
+    private void insert(double cost, long stamp, int slot) {
+        Node sibling = root.insert(cost, stamp, slot);
+        if (sibling != null) {
+            Branch newRoot = new Branch();
+            newRoot.append(root);
+            newRoot.append(sibling);
+            root = newRoot;
+        }
+    }
+
+    /**
+     * Removes the entry keyed (cost, stamp), then drops root levels with one child
+     * @param cost Cost the product is indexed under
+     * @param stamp Stamp the product is indexed under
+     */
+    private void remove(double cost, long stamp) {
+        if (!root.remove(cost, stamp)) {
+            throw new IllegalStateException("Index is out of sync for cost " + cost);
+        }
+        while (root instanceof Branch && ((Branch) root).size == 1) {
+            root = ((Branch) root).children[0];
+        }
+        if (root instanceof Branch && ((Branch) root).size == 0) {
+            root = new Leaf();
+        }
+    }
+
+    /**
+     * Compares (cost, stamp) keys
+     * @return negative, zero or positive as the first key is smaller, equal or larger
+     */
+    private static int compare(double cost, long stamp, double otherCost, long otherStamp) {
+        // < and > rather than Double.compare so 0.0 and -0.0 count as the same cost
+        if (cost < otherCost) {
+            return -1;
+        }
+        if (cost > otherCost) {
+            return 1;
+        }
+        return Long.compare(stamp, otherStamp);
+    }
+
+    /**
+     * A tree node and the number of entries below it
+     */
+    private abstract static class Node {
+        int count;
+
+        /**
+         * Inserts an entry below this node
+         * @return new right sibling if this node split, otherwise null
+         */
+        abstract Node insert(double cost, long stamp, int slot);
+
+        /**
+         * Removes an entry below this node
+         * @return true if the entry was found
+         */
+        abstract boolean remove(double cost, long stamp);
+
+        /**
+         * Gets the smallest cost below this node
+         */
+        abstract double firstCost();
+
+        /**
+         * Gets the stamp of the smallest key below this node
+         */
+        abstract long firstStamp();
+    }
+
+    /**
+     * Leaf holding sorted entries in parallel primitive arrays, linked to its neighbours
+     */
+    private static class Leaf extends Node {
+        final double[] costs = new double[NODE_CAPACITY];
+        final long[] stamps = new long[NODE_CAPACITY];
+        final int[] slots = new int[NODE_CAPACITY];
+        int size;
+        Leaf prev;
+        Leaf next;
+
+        /**
+         * Finds the first position whose key is >= (cost, stamp)
+         */
+        int position(double cost, long stamp) {
+            int lo = 0;
+            int hi = size;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (compare(costs[mid], stamps[mid], cost, stamp) < 0) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+
+        @Override
+        Node insert(double cost, long stamp, int slot) {
+            int pos = position(cost, stamp);
+            if (size < NODE_CAPACITY) {
+                put(pos, cost, stamp, slot);
+                return null;
+            }
+            // Split in half, then insert into the half the key belongs to
+            Leaf right = new Leaf();
+            int half = NODE_CAPACITY / 2;
+            System.arraycopy(costs, half, right.costs, 0, size - half);
+            System.arraycopy(stamps, half, right.stamps, 0, size - half);
+            System.arraycopy(slots, half, right.slots, 0, size - half);
+            right.size = size - half;
+            right.count = right.size;
+            size = half;
+            count = half;
+            right.next = next;
+            right.prev = this;
+            if (next != null) {
+                next.prev = right;
+            }
+            next = right;
+            if (pos <= half) {
+                put(pos, cost, stamp, slot);
+            } else {
+                right.put(pos - half, cost, stamp, slot);
+            }
+            return right;
+        }
+
+        private void put(int pos, double cost, long stamp, int slot) {
+            System.arraycopy(costs, pos, costs, pos + 1, size - pos);
+            System.arraycopy(stamps, pos, stamps, pos + 1, size - pos);
+            System.arraycopy(slots, pos, slots, pos + 1, size - pos);
+            costs[pos] = cost;
+            stamps[pos] = stamp;
+            slots[pos] = slot;
+            size++;
+            count++;
+        }
+
+        @Override
+        boolean remove(double cost, long stamp) {
+            int pos = position(cost, stamp);
+            if (pos == size || compare(costs[pos], stamps[pos], cost, stamp) != 0) {
+                return false;
+            }
+            System.arraycopy(costs, pos + 1, costs, pos, size - pos - 1);
+            System.arraycopy(stamps, pos + 1, stamps, pos, size - pos - 1);
+            System.arraycopy(slots, pos + 1, slots, pos, size - pos - 1);
+            size--;
+            count--;
+            return true;
+        }
+
+        /**
+         * Takes this leaf out of the leaf chain once it is empty
+         */
+        void unlink() {
+            if (prev != null) {
+                prev.next = next;
+            }
+            if (next != null) {
+                next.prev = prev;
+            }
+        }
+
+        @Override
+        double firstCost() {
+            return costs[0];
+        }
+
+        @Override
+        long firstStamp() {
+            return stamps[0];
+        }
+    }
+
+    /**
+     * Branch holding its children with the smallest key of each child from
+     * when it was added; every key in child i is >= key i
+     */
+    private static class Branch extends Node {
+        final Node[] children = new Node[NODE_CAPACITY];
+        final double[] keyCosts = new double[NODE_CAPACITY];
+        final long[] keyStamps = new long[NODE_CAPACITY];
+        int size;
+
+        /**
+         * Finds the child a key belongs in: the last one whose key is <= the key
+         */
+        int childFor(double cost, long stamp) {
+            int lo = 1;
+            int hi = size;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (compare(keyCosts[mid], keyStamps[mid], cost, stamp) <= 0) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo - 1;
+        }
+
+        /**
+         * Adds a child after the existing ones
+         */
+        void append(Node child) {
+            insertChild(size, child);
+        }
+
+        private void insertChild(int pos, Node child) {
+            System.arraycopy(children, pos, children, pos + 1, size - pos);
+            System.arraycopy(keyCosts, pos, keyCosts, pos + 1, size - pos);
+            System.arraycopy(keyStamps, pos, keyStamps, pos + 1, size - pos);
+            children[pos] = child;
+            keyCosts[pos] = child.firstCost();
+            keyStamps[pos] = child.firstStamp();
+            size++;
+            count += child.count;
+        }
+
+        @Override
+        Node insert(double cost, long stamp, int slot) {
+            int i = childFor(cost, stamp);
+            Node child = children[i];
+            int before = child.count;
+            Node sibling = child.insert(cost, stamp, slot);
+            count += child.count - before;
+            if (sibling == null) {
+                return null;
+            }
+            if (size < NODE_CAPACITY) {
+                insertChild(i + 1, sibling);
+                return null;
+            }
+            // Split in half, then add the new child to the half it belongs to
+            Branch right = new Branch();
+            int half = NODE_CAPACITY / 2;
+            for (int j = half; j < size; j++) {
+                right.children[j - half] = children[j];
+                right.keyCosts[j - half] = keyCosts[j];
+                right.keyStamps[j - half] = keyStamps[j];
+                right.count += children[j].count;
+                children[j] = null;
+            }
+            right.size = size - half;
+            count -= right.count;
+            size = half;
+            if (i + 1 <= half) {
+                insertChild(i + 1, sibling);
+            } else {
+                right.insertChild(i + 1 - half, sibling);
+            }
+            return right;
+        }
+
+        @Override
+        boolean remove(double cost, long stamp) {
+            int i = childFor(cost, stamp);
+            Node child = children[i];
+            if (!child.remove(cost, stamp)) {
+                return false;
+            }
+            count--;
+            if (child.count == 0) {
+                if (child instanceof Leaf) {
+                    ((Leaf) child).unlink();
+                }
+                System.arraycopy(children, i + 1, children, i, size - i - 1);
+                System.arraycopy(keyCosts, i + 1, keyCosts, i, size - i - 1);
+                System.arraycopy(keyStamps, i + 1, keyStamps, i, size - i - 1);
+                size--;
+                children[size] = null;
+            }
+            return true;
+        }
+
+        @Override
+        double firstCost() {
+            return children[0].firstCost();
+        }
+
+        @Override
+        long firstStamp() {
+            return children[0].firstStamp();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+import java.util.ArrayList;
+import java.util.Random;
+
+/**
+ * CostIndexBenchmark - Compares CostIndex range queries with a linear scan
+ * Generates products with random costs and times the same price-band
+ * counts against both approaches, then times setCost updates
+ * Sizes can be passed as arguments (default 1000000 and 10000000)
+ * Large sizes need a bigger heap, e.g. java -Xmx4g CostIndexBenchmark
+ *
+ * Name: Tika Khadka
+ */
+public class CostIndexBenchmark {
+
+    private static final int QUERIES = 200;
+    private static final int UPDATES = 100_000;
+
+    public static void main(String[] args) {
+        int[] sizes = {1_000_000, 10_000_000};
+        if (args.length > 0) {
+            sizes = new int[args.length];
+            for (int i = 0; i < args.length; i++) {
+                sizes[i] = Integer.parseInt(args[i]);
+            }
+        }
+
+        System.out.println("=== CostIndex Benchmark ===");
+        System.out.printf("%-12s %-14s %-18s %-18s %-10s %-16s%n",
+                "Products", "Build (ms)", "Scan (us/query)", "Index (us/query)", "Speedup", "setCost (ns/op)");
+
+        for (int size : sizes) {
+            runBenchmark(size);
+        }
+    }
+
+    /**
+     * Runs the benchmark for one product count
+     * @param size Number of products to generate
+     */
+    private static void runBenchmark(int size) {
+        Random random = new Random(42);
+        ArrayList<Product> products = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            products.add(new Product("Product", "", String.valueOf(i), random.nextInt(100_000) / 100.0));
+        }
+
+        long start = System.nanoTime();
+        CostIndex index = new CostIndex(products);
+        long buildNanos = System.nanoTime() - start;
+
+        double[] lows = new double[QUERIES];
+        double[] highs = new double[QUERIES];
+        for (int q = 0; q < QUERIES; q++) {
+            lows[q] = random.nextInt(90_000) / 100.0;
+            highs[q] = lows[q] + 15.0;
+        }
+
+        // Warm up both paths before timing
+        long check = 0;
+        for (int q = 0; q < 20; q++) {
+            check += linearCount(products, lows[q], highs[q]) - index.count(lows[q], highs[q]);
+        }
+
+        start = System.nanoTime();
+        long scanTotal = 0;
+        for (int q = 0; q < QUERIES; q++) {
+            scanTotal += linearCount(products, lows[q], highs[q]);
+        }
+        long scanNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        long indexTotal = 0;
+        for (int q = 0; q < QUERIES; q++) {
+            indexTotal += index.count(lows[q], highs[q]);
+        }
+        long indexNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int u = 0; u < UPDATES; u++) {
+            index.setCost(products.get(random.nextInt(size)), random.nextInt(100_000) / 100.0);
+        }
+        long updateNanos = System.nanoTime() - start;
+
+        if (check != 0 || scanTotal != indexTotal) {
+            System.out.println("Warning: index and scan results differ for " + size + " products");
+        }
+
+        double scanMicros = scanNanos / 1000.0 / QUERIES;
+        double indexMicros = indexNanos / 1000.0 / QUERIES;
+        System.out.printf("%-12d %-14d %-18.2f %-18.3f %-10.0fx %-16.0f%n",
+                size, buildNanos / 1_000_000, scanMicros, indexMicros, scanMicros / Math.max(indexMicros, 0.001),
+                (double) updateNanos / UPDATES);
+    }
+
+    /**
+     * Counts products in an inclusive cost range by checking every product
+     * @param products List of Product objects
+     * @param low Low cost inclusive
+     * @param high High cost inclusive
+     * @return number of products in the range
+     */
+    private static int linearCount(ArrayList<Product> products, double low, double high) {
+        int count = 0;
+        for (Product product : products) {
+            double cost = product.getCost();
+            if (cost >= low && cost <= high) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,157 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * JUnit test class for CostIndex class
+ * Tests range, count, floor, ceiling and cost updates
+ *
+ * Name: Tika Khadka
+ */
+class CostIndexTest {
+
+    private ArrayList<Product> products;
+    private CostIndex index;
+
+    /**
+     * Set up test fixtures before each test
+     * Creates products with known costs in unsorted order
+     */
+    @BeforeEach
+    void setUp() {
+        products = new ArrayList<>();
+        products.add(new Product("Laptop", "P001", 999.99));
+        products.add(new Product("Mouse", "P002", 19.99));
+        products.add(new Product("Cable", "P003", 5.00));
+        products.add(new Product("Keyboard", "P004", 24.99));
+        products.add(new Product("Headset", "P005", 49.99));
+        index = new CostIndex(products);
+    }
+
+    @Test
+    @DisplayName("Test range returns products in cost order")
+    void testRange() {
+        ArrayList<Product> result = index.range(10, 25);
+        assertEquals(2, result.size());
+        assertEquals("Mouse", result.get(0).getName());
+        assertEquals("Keyboard", result.get(1).getName());
+    }
+
+    @Test
+    @DisplayName("Test range bounds are inclusive")
+    void testRangeInclusive() {
+        assertEquals(3, index.count(5.00, 24.99));
+        assertEquals(0, index.count(25, 10));
+    }
+
+    @Test
+    @DisplayName("Test floor and ceiling")
+    void testFloorCeiling() {
+        assertEquals("Keyboard", index.floor(30).getName());
+        assertEquals("Headset", index.ceiling(30).getName());
+        assertNull(index.floor(1));
+        assertNull(index.ceiling(1000));
+    }
+
+    @Test
+    @DisplayName("Test add keeps index sorted")
+    void testAdd() {
+        index.add(new Product("Monitor", "P006", 199.99));
+        assertEquals(6, index.size());
+        assertEquals("Monitor", index.ceiling(100).getName());
+    }
+
+    @Test
+    @DisplayName("Test setCost moves product in the index")
+    void testSetCost() {
+        Product mouse = products.get(1);
+        index.setCost(mouse, 500);
+        assertEquals(500, mouse.getCost(), 0.01);
+        assertEquals(1, index.count(10, 25));
+        assertSame(mouse, index.ceiling(100));
+    }
+
+    @Test
+    @DisplayName("Test setCost ignores negative cost")
+    void testSetCostNegative() {
+        Product cable = products.get(2);
+        index.setCost(cable, -1);
+        assertEquals(5.00, cable.getCost(), 0.01);
+        assertSame(cable, index.floor(5));
+    }
+
+    @Test
+    @DisplayName("Test setCost with product not in index")
+    void testSetCostUnknown() {
+        assertThrows(IllegalArgumentException.class, () -> index.setCost(new Product("X", "X1", 1), 2));
+    }
+
+    @Test
+    @DisplayName("Test many adds and updates match a sorted list")
+    void testRandomUpdates() {
+        Random random = new Random(11);
+        CostIndex large = new CostIndex();
+        ArrayList<Product> all = new ArrayList<>();
+        for (int step = 0; step < 30_000; step++) {
+            if (all.isEmpty() || random.nextInt(3) == 0) {
+                Product product = new Product("Item", "P" + step, random.nextInt(500) / 10.0);
+                all.add(product);
+                large.add(product);
+            } else {
+                large.setCost(all.get(random.nextInt(all.size())), random.nextInt(500) / 10.0);
+            }
+            if (step % 1000 == 0) {
+                double low = random.nextInt(500) / 10.0;
+                double high = low + random.nextInt(100) / 10.0;
+                ArrayList<Product> expected = new ArrayList<>();
+                for (Product product : all) {
+                    if (product.getCost() >= low && product.getCost() <= high) {
+                        expected.add(product);
+                    }
+                }
+                ArrayList<Product> actual = large.range(low, high);
+                assertEquals(expected.size(), large.count(low, high));
+                assertEquals(expected.size(), actual.size());
+                for (int i = 1; i < actual.size(); i++) {
+                    assertTrue(actual.get(i - 1).getCost() <= actual.get(i).getCost());
+                }
+                assertTrue(actual.containsAll(expected));
+            }
+        }
+        assertEquals(all.size(), large.size());
+        assertEquals(all.size(), large.count(0, 50));
+        assertEquals(0.0, large.ceiling(0).getCost(), 0.0);
+
+        // Moving everything empties most leaves; moving back refills the tree
+        for (Product product : all) {
+            large.setCost(product, 99);
+        }
+        assertEquals(all.size(), large.count(99, 99));
+        assertEquals(all.get(0), large.ceiling(0));
+        for (Product product : all) {
+            large.setCost(product, 1);
+        }
+        assertEquals(all, large.range(0, 1));
+        assertNull(large.ceiling(2));
+    }
+
+    @Test
+    @DisplayName("Test equal costs keep the order they were added or updated in")
+    void testTieOrder() {
+        CostIndex ties = new CostIndex(products.subList(0, 2));
+        Product first = new Product("First", "P010", 10);
+        Product second = new Product("Second", "P011", 10);
+        ties.add(first);
+        ties.add(second);
+        ties.setCost(first, 11);
+        ties.setCost(first, 10);
+
+        assertEquals(Arrays.asList(second, first), ties.range(10, 10));
+        assertSame(first, ties.floor(10));
+        assertSame(second, ties.ceiling(10));
+    }
+}
@@ -0,0 +1,176 @@
+import java.util.HashMap;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * GroupAggregator - Parallel group-by aggregation over Person and Product lists
+ * Each worker thread fills its own partial hash table and the partial tables
+ * are merged at the end, so threads never contend on a shared map
+ *
+ * Name: Tika Khadka
+ */
+public class GroupAggregator {
+
+    /**
+     * Groups items by key and aggregates a numeric value per group in parallel
+     * @param items Items to aggregate
+     * @param key Function that gives the group key of an item
+     * @param value Function that gives the value to aggregate
+     * @param <T> Item type
+     * @param <K> Group key type
+     * @return map of group key to statistics
+     */
+    public static <T, K> HashMap<K, Stats> aggregate(List<T> items, Function<T, K> key, ToDoubleFunction<T> value) {
+        return items.parallelStream().collect(
+                HashMap::new,
+                (partial, item) -> partial.computeIfAbsent(key.apply(item), k -> new Stats()).add(value.applyAsDouble(item)),
+                (into, partial) -> partial.forEach((k, stats) -> into.merge(k, stats, Stats::merge)));
+    }
+
+    /**
+     * Counts items per group key in parallel
+     * @param items Items to count
+     * @param key Function that gives the group key of an item
+     * @param <T> Item type
+     * @param <K> Group key type
+     * @return map of group key to count
+     */
+    public static <T, K> HashMap<K, Long> countBy(List<T> items, Function<T, K> key) {
+        return items.parallelStream().collect(
+                HashMap::new,
+                (partial, item) -> partial.merge(key.apply(item), 1L, Long::sum),
+                (into, partial) -> partial.forEach((k, count) -> into.merge(k, count, Long::sum)));
+    }
+
+    /**
+     * Aggregates product cost per product name prefix
+     * @param products List of Product objects
+     * @param prefixLength Number of leading name characters to group on
+     * @return map of name prefix to cost statistics
+     */
+    public static HashMap<String, Stats> costByNamePrefix(List<Product> products, int prefixLength) {
+        return aggregate(products, p -> prefix(p.getName(), prefixLength), Product::getCost);
+    }
+
+    /**
+     * Counts persons per title and birth decade
+     * @param persons List of Person objects
+     * @return map of "title decade" (e.g. "Dr. 1980s") to count
+     */
+    public static HashMap<String, Long> countByTitleAndDecade(List<Person> persons) {
+        return countBy(persons, p -> p.getTitle() + " " + decade(p.getYOB()) + "s");
+    }
+
+    /**
+     * Counts persons per birth decade
+     * @param persons List of Person objects
+     * @return map of decade (e.g. 1980) to count
+     */
+    public static HashMap<Integer, Long> countByDecade(List<Person> persons) {
+        return countBy(persons, p -> decade(p.getYOB()));
+    }
+
+    /**
+     * Gets the leading characters of a name
+     * @param name Name to shorten
+     * @param length Number of characters to keep
+     * @return prefix of the name (the whole name if it is shorter)
+     */
+    private static String prefix(String name, int length) {
+        return name.length() <= length ? name : name.substring(0, length);
+    }
+
+    /**
+     * Gets the decade a year falls in
+     * @param year Year to convert
+     * @return first year of the decade
+     */
+    private static int decade(int year) {
+        return Math.floorDiv(year, 10) * 10;
+    }
+
+    /**
+     * Running count, sum, min and max of the values in one group
+     */
+    public static class Stats {
+        private long count;
+        private double sum;
+        private double min = Double.POSITIVE_INFINITY;
+        private double max = Double.NEGATIVE_INFINITY;
+
+        /**
+         * Adds a value to the group
+         * @param value Value to add
+         */
+        void add(double value) {
+            count++;
+            sum += value;
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+
+        /**
+         * Merges another partial result into this one
+         * @param other Partial result to merge
+         * @return this Stats object
+         */
+        Stats merge(Stats other) {
+            count += other.count;
+            sum += other.sum;
+            min = Math.min(min, other.min);
+            max = Math.max(max, other.max);
+            return this;
+        }
+
+        /**
+         * Gets the number of values
+         * @return count
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * Gets the sum of the values
+         * @return sum
+         */
+        public double getSum() {
+            return sum;
+        }
+
+        /**
+         * Gets the smallest value
+         * @return min
+         */
+        public double getMin() {
+            return min;
+        }
+
+        /**
+         * Gets the largest value
+         * @return max
+         */
+        public double getMax() {
+            return max;
+        }
+
+        /**
+         * Gets the average of the values
+         * @return average, or 0 for an empty group
+         */
+        public double getAverage() {
+            return count == 0 ? 0.0 : sum / count;
+        }
+
+        @Override
+        public String toString() {
+            return "Stats{" +
+                    "count=" + count +
+                    ", sum=" + sum +
+                    ", min=" + min +
+                    ", max=" + max +
+                    '}';
+        }
+    }
+}
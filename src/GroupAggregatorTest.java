@@ -0,0 +1,83 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.DoubleSummaryStatistics;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+/**
+ * JUnit test class for GroupAggregator class
+ * Compares the parallel results with a sequential Collectors.groupingBy
+ *
+ * Name: Tika Khadka
+ */
+class GroupAggregatorTest {
+
+    private static final String[] TITLES = {"Mr.", "Ms.", "Dr.", "Esq.", "Mrs."};
+    private static final String[] NAMES = {"Laptop", "Lamp", "Mouse", "Monitor", "Cable", "Camera", "Rope"};
+
+    private ArrayList<Person> persons;
+    private ArrayList<Product> products;
+
+    /**
+     * Set up test fixtures before each test
+     * Creates enough records for the parallel stream to split the work
+     */
+    @BeforeEach
+    void setUp() {
+        Random random = new Random(30);
+        persons = new ArrayList<>();
+        products = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            persons.add(new Person("First", "Last", String.format("%06d", i),
+                    TITLES[random.nextInt(TITLES.length)], 1940 + random.nextInt(71)));
+            products.add(new Product(NAMES[random.nextInt(NAMES.length)], "Item", "P" + i,
+                    random.nextInt(100_000) / 100.0));
+        }
+    }
+
+    @Test
+    @DisplayName("Test parallel counts match a sequential groupingBy")
+    void testCountsMatchSequential() {
+        Map<String, Long> expected = persons.stream().collect(Collectors.groupingBy(
+                p -> p.getTitle() + " " + (p.getYOB() / 10 * 10) + "s", Collectors.counting()));
+        assertEquals(expected, GroupAggregator.countByTitleAndDecade(persons));
+
+        Map<Integer, Long> byDecade = persons.stream().collect(Collectors.groupingBy(
+                p -> p.getYOB() / 10 * 10, Collectors.counting()));
+        assertEquals(byDecade, GroupAggregator.countByDecade(persons));
+    }
+
+    @Test
+    @DisplayName("Test parallel statistics match a sequential groupingBy")
+    void testStatsMatchSequential() {
+        Map<String, DoubleSummaryStatistics> expected = products.stream().collect(Collectors.groupingBy(
+                p -> p.getName().substring(0, Math.min(2, p.getName().length())),
+                Collectors.summarizingDouble(Product::getCost)));
+        HashMap<String, GroupAggregator.Stats> actual = GroupAggregator.costByNamePrefix(products, 2);
+
+        assertEquals(expected.keySet(), actual.keySet());
+        for (Map.Entry<String, DoubleSummaryStatistics> entry : expected.entrySet()) {
+            DoubleSummaryStatistics sequential = entry.getValue();
+            GroupAggregator.Stats parallel = actual.get(entry.getKey());
+            assertEquals(sequential.getCount(), parallel.getCount());
+            assertEquals(sequential.getMin(), parallel.getMin());
+            assertEquals(sequential.getMax(), parallel.getMax());
+            // Parallel sums add in a different order, so allow rounding differences
+            assertEquals(sequential.getSum(), parallel.getSum(), 1e-6 * sequential.getSum());
+            assertEquals(sequential.getAverage(), parallel.getAverage(), 1e-6 * sequential.getAverage());
+        }
+    }
+
+    @Test
+    @DisplayName("Test empty input gives empty groups")
+    void testEmpty() {
+        assertTrue(GroupAggregator.countByDecade(new ArrayList<>()).isEmpty());
+        assertTrue(GroupAggregator.costByNamePrefix(new ArrayList<>(), 3).isEmpty());
+        assertEquals(0.0, new GroupAggregator.Stats().getAverage());
+    }
+}
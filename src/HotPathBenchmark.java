@@ -0,0 +1,231 @@
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * HotPathBenchmark - Microbenchmarks for Person/Product parsing and serialization
+ * Covers parsePersonFromCSV/parseProductFromCSV, toCSV, toJSON, toXML, equals
+ * and getAge, each at short, medium and long field lengths
+ * Every case is warmed up, then timed over several iterations; results are
+ * kept in a sink so the JIT cannot drop the work
+ * Besides time per operation it reports bytes allocated per operation (from
+ * the thread allocation counter), the allocation rate, and collections and
+ * GC time seen while measuring, like a JMH run with the GC profiler
+ *
+ * Usage: java HotPathBenchmark [nameFilter] [iterations] [millisPerIteration]
+ * e.g.   java -Xmx1g HotPathBenchmark person.parse 5 1000
+ *
+ * Name: Tika Khadka
+ */
+public class HotPathBenchmark {
+
+    /** Field lengths each case is run at */
+    static final int[] FIELD_LENGTHS = {4, 16, 64};
+
+    private static final int INPUTS = 1024;
+    private static final int WARMUP_ITERATIONS = 3;
+    private static final int BATCH = 1024;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    // Consumes results so the measured work stays live
+    private static volatile long sink;
+
+    public static void main(String[] args) {
+        String filter = args.length > 0 ? args[0] : "";
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        long iterationMillis = args.length > 2 ? Long.parseLong(args[2]) : 500;
+
+        if (!THREADS.isThreadAllocatedMemorySupported()) {
+            System.out.println("Warning: this JVM does not report allocated bytes; B/op will be 0");
+        }
+        THREADS.setThreadAllocatedMemoryEnabled(true);
+
+        System.out.println("=== Hot Path Benchmark ===");
+        System.out.printf("%-24s %-6s %-12s %-10s %-10s %-8s %-8s%n",
+                "Benchmark", "Len", "ns/op", "B/op", "MB/s", "GCs", "GC ms");
+
+        for (int length : FIELD_LENGTHS) {
+            for (Case benchmark : cases(length)) {
+                if (benchmark.name.contains(filter)) {
+                    Result result = run(benchmark, iterations, iterationMillis);
+                    System.out.printf("%-24s %-6d %-12.1f %-10.1f %-10.1f %-8d %-8d%n",
+                            benchmark.name, length, result.nanosPerOp, result.bytesPerOp,
+                            result.allocationMBPerSecond(), result.collections, result.gcMillis);
+                }
+            }
+        }
+    }
+
+    /**
+     * Builds the benchmark cases for one field length
+     * Each case cycles through INPUTS different records so results are not constant
+     * @param length Length of the text fields
+     * @return benchmark cases
+     */
+    static List<Case> cases(int length) {
+        Random random = new Random(42 + length);
+        Person[] persons = new Person[INPUTS];
+        Person[] personCopies = new Person[INPUTS];
+        Product[] products = new Product[INPUTS];
+        Product[] productCopies = new Product[INPUTS];
+        String[] personLines = new String[INPUTS];
+        String[] productLines = new String[INPUTS];
+
+        for (int i = 0; i < INPUTS; i++) {
+            String id = String.format("%06d", i);
+            persons[i] = new Person(text(random, length), text(random, length), id,
+                    text(random, Math.min(length, 8)), 1940 + random.nextInt(80));
+            personCopies[i] = new Person(new String(persons[i].getFirstName()), new String(persons[i].getLastName()),
+                    new String(id), new String(persons[i].getTitle()), persons[i].getYOB());
+            products[i] = new Product(text(random, length), text(random, length * 2), id,
+                    random.nextInt(100_000) / 100.0);
+            productCopies[i] = new Product(new String(products[i].getName()),
+                    new String(products[i].getDescription()), new String(id), products[i].getCost());
+            personLines[i] = persons[i].toCSV();
+            productLines[i] = products[i].toCSV();
+        }
+
+        int year = AgeAnalytics.currentYear();
+        ArrayList<Case> cases = new ArrayList<>();
+        cases.add(new Case("person.parseCSV", i -> PersonReader.parsePersonFromCSV(personLines[i]).getYOB()));
+        cases.add(new Case("person.toCSV", i -> persons[i].toCSV().length()));
+        cases.add(new Case("person.toJSON", i -> persons[i].toJSON().length()));
+        cases.add(new Case("person.toXML", i -> persons[i].toXML().length()));
+        cases.add(new Case("person.equals", i -> persons[i].equals(personCopies[i]) ? 1 : 0));
+        cases.add(new Case("person.getAge", i -> persons[i].getAge().length()));
+        cases.add(new Case("person.getAge(year)", i -> persons[i].getAge(year).length()));
+        cases.add(new Case("product.parseCSV", i -> (long) ProductReader.parseProductFromCSV(productLines[i]).getCost()));
+        cases.add(new Case("product.toCSV", i -> products[i].toCSV().length()));
+        cases.add(new Case("product.toJSON", i -> products[i].toJSON().length()));
+        cases.add(new Case("product.toXML", i -> products[i].toXML().length()));
+        cases.add(new Case("product.equals", i -> products[i].equals(productCopies[i]) ? 1 : 0));
+        return cases;
+    }
+
+    /**
+     * Warms up and measures one case
+     * @param benchmark Case to run
+     * @param iterations Number of measured iterations
+     * @param iterationMillis Length of each iteration
+     * @return averaged result of the measured iterations
+     */
+    static Result run(Case benchmark, int iterations, long iterationMillis) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            iteration(benchmark, iterationMillis);
+        }
+
+        long thread = Thread.currentThread().threadId();
+        long gcCount = gcCount();
+        long gcMillis = gcMillis();
+        long allocated = THREADS.getThreadAllocatedBytes(thread);
+        long operations = 0;
+        long nanos = 0;
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            operations += iteration(benchmark, iterationMillis);
+            nanos += System.nanoTime() - start;
+        }
+        allocated = THREADS.getThreadAllocatedBytes(thread) - allocated;
+
+        return new Result(operations, nanos, allocated, gcCount() - gcCount, gcMillis() - gcMillis);
+    }
+
+    /**
+     * Runs batches of operations until the iteration time is used up
+     * @param benchmark Case to run
+     * @param iterationMillis Length of the iteration
+     * @return number of operations run
+     */
+    private static long iteration(Case benchmark, long iterationMillis) {
+        long deadline = System.nanoTime() + iterationMillis * 1_000_000;
+        long operations = 0;
+        long total = 0;
+        do {
+            for (int i = 0; i < BATCH; i++) {
+                total += benchmark.operation.run(i & (INPUTS - 1));
+            }
+            operations += BATCH;
+        } while (System.nanoTime() < deadline);
+        sink += total;
+        return operations;
+    }
+
+    private static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+        }
+        return count;
+    }
+
+    private static long gcMillis() {
+        long millis = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            millis += Math.max(0, gc.getCollectionTime());
+        }
+        return millis;
+    }
+
+    /**
+     * Generates random lower-case text without commas
+     * @param random Random source
+     * @param length Length of the text
+     * @return text
+     */
+    private static String text(Random random, int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) ('a' + random.nextInt(26));
+        }
+        return new String(chars);
+    }
+
+    /**
+     * One measured operation; returns a value derived from its result
+     */
+    interface Operation {
+        long run(int input);
+    }
+
+    /**
+     * A named operation
+     */
+    static class Case {
+        final String name;
+        final Operation operation;
+
+        Case(String name, Operation operation) {
+            this.name = name;
+            this.operation = operation;
+        }
+    }
+
+    /**
+     * Time, allocation and GC figures for one case
+     */
+    static class Result {
+        final double nanosPerOp;
+        final double bytesPerOp;
+        final long collections;
+        final long gcMillis;
+
+        Result(long operations, long nanos, long allocatedBytes, long collections, long gcMillis) {
+            this.nanosPerOp = (double) nanos / operations;
+            this.bytesPerOp = (double) allocatedBytes / operations;
+            this.collections = collections;
+            this.gcMillis = gcMillis;
+        }
+
+        /**
+         * Gets the allocation rate while measuring
+         * @return megabytes allocated per second
+         */
+        double allocationMBPerSecond() {
+            return bytesPerOp / nanosPerOp * 1e9 / (1024 * 1024);
+        }
+    }
+}
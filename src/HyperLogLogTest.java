@@ -0,0 +1,110 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * JUnit test class for HyperLogLog class
+ * Tests the error bound at a fixed seed, merging and saved sketches
+ *
+ * Name: Tika Khadka
+ */
+class HyperLogLogTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Test estimates stay within three standard errors at a fixed seed")
+    void testErrorBound() {
+        Random random = new Random(42);
+        for (int distinct : new int[]{100, 10_000, 200_000}) {
+            HyperLogLog sketch = new HyperLogLog();
+            long base = random.nextLong();
+            for (int i = 0; i < distinct; i++) {
+                // Add every value twice; duplicates must not change the estimate
+                sketch.add(Long.toString(base + i));
+                sketch.add(Long.toString(base + i));
+            }
+            double error = Math.abs(sketch.estimate() - distinct) / (double) distinct;
+            assertTrue(error < 3 * sketch.standardError(), distinct + " distinct, error " + error);
+        }
+    }
+
+    @Test
+    @DisplayName("Test merging two sketches estimates the union")
+    void testMerge() {
+        HyperLogLog first = new HyperLogLog(12);
+        HyperLogLog second = new HyperLogLog(12);
+        HyperLogLog union = new HyperLogLog(12);
+        for (int i = 0; i < 30_000; i++) {
+            first.add("P" + i);
+            union.add("P" + i);
+        }
+        for (int i = 20_000; i < 50_000; i++) {
+            second.add("P" + i);
+            union.add("P" + i);
+        }
+
+        first.merge(second);
+        assertEquals(union.estimate(), first.estimate());
+        assertEquals(50_000, first.estimate(), 50_000 * 3 * first.standardError());
+        assertThrows(IllegalArgumentException.class, () -> first.merge(new HyperLogLog(10)));
+    }
+
+    @Test
+    @DisplayName("Test a saved sketch loads with the same precision and estimate")
+    void testRoundTrip() throws IOException {
+        HyperLogLog sketch = new HyperLogLog(10);
+        for (int i = 0; i < 5000; i++) {
+            sketch.add("Baggins" + i);
+        }
+        Path file = tempDir.resolve("names.hll");
+        sketch.writeTo(file);
+
+        HyperLogLog loaded = HyperLogLog.readFrom(file);
+        assertEquals(10, loaded.getPrecision());
+        assertEquals(sketch.estimate(), loaded.estimate());
+    }
+
+    @Test
+    @DisplayName("Test corrupt sketch files throw IOException")
+    void testCorruptFile() throws IOException {
+        Path file = tempDir.resolve("names.hll");
+        new HyperLogLog(4).writeTo(file);
+        byte[] bytes = Files.readAllBytes(file);
+
+        bytes[4] = 40;
+        Files.write(file, bytes);
+        assertThrows(IOException.class, () -> HyperLogLog.readFrom(file));
+
+        bytes[4] = 4;
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 1));
+        assertThrows(IOException.class, () -> HyperLogLog.readFrom(file));
+
+        Files.write(file, new byte[]{1, 2, 3});
+        assertThrows(IOException.class, () -> HyperLogLog.readFrom(file));
+    }
+
+    @Test
+    @DisplayName("Test sketching a person file counts distinct last names")
+    void testSketchPersons() throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            lines.add(String.format("%06d", i) + ", Frodo, Baggins" + (i % 50) + ", Mr., 1968");
+        }
+        lines.add("");
+        Path file = tempDir.resolve("persons.txt");
+        Files.write(file, lines);
+
+        assertEquals(50, HyperLogLog.sketchPersons(file, Person::getLastName, 12).estimate());
+        assertEquals(1, HyperLogLog.sketchPersons(file, Person::getTitle, 12).estimate());
+    }
+}
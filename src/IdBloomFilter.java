@@ -0,0 +1,308 @@
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * IdBloomFilter - Memory-mapped Bloom filter sidecar (.bloom) for person and product IDs
+ * Answers "is this ID definitely new?" without reading the data file
+ * Bit positions come from double hashing (h1 + i * h2) of the 64-bit ID fingerprint
+ * mightContain never gives a false negative; a true answer is wrong with
+ * about the false-positive rate the filter was created with
+ *
+ * File layout: magic, hash count, bit count, ID count, expected IDs, then the bit array
+ * A sidecar older than its data file is stale (records were written without it)
+ * and is rebuilt by forDataFile
+ *
+ * Usage: java IdBloomFilter build data.txt [falsePositiveRate]
+ *        java IdBloomFilter check data.txt ID
+ *
+ * Name: Tika Khadka
+ */
+public class IdBloomFilter implements Closeable {
+
+    public static final String EXTENSION = ".bloom";
+    public static final long DEFAULT_EXPECTED_IDS = 1_000_000;
+    public static final double DEFAULT_FALSE_POSITIVE_RATE = 0.01;
+
+    private static final int MAGIC = 0x424C4D31; // "BLM1"
+    private static final int HEADER_BYTES = 32;
+    private static final int COUNT_OFFSET = 16;
+    private static final long MAX_BITS = (Integer.MAX_VALUE - HEADER_BYTES) * 8L;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int numHashes;
+    private final long numBits;
+    private final long expectedIds;
+    private long count;
+
+    /**
+     * Private constructor - use create, open or forDataFile
+     */
+    private IdBloomFilter(FileChannel channel, MappedByteBuffer buffer) throws IOException {
+        this.channel = channel;
+        this.buffer = buffer;
+        if (buffer.getInt(0) != MAGIC) {
+            channel.close();
+            throw new IOException("Not a Bloom filter file");
+        }
+        this.numHashes = buffer.getInt(4);
+        this.numBits = buffer.getLong(8);
+        this.count = buffer.getLong(COUNT_OFFSET);
+        this.expectedIds = buffer.getLong(24);
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.out.println("Usage: java IdBloomFilter build data.txt [falsePositiveRate]");
+            System.out.println("       java IdBloomFilter check data.txt ID");
+            return;
+        }
+
+        Path dataFile = Paths.get(args[1]);
+        try {
+            if (args[0].equals("build")) {
+                double rate = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_FALSE_POSITIVE_RATE;
+                try (IdBloomFilter filter = build(dataFile, rate)) {
+                    System.out.println("Built " + sidecarFor(dataFile) + " with " + filter.getCount() + " IDs");
+                }
+            } else if (args[0].equals("check") && args.length > 2) {
+                try (IdBloomFilter filter = open(sidecarFor(dataFile))) {
+                    System.out.println(filter.mightContain(args[2])
+                            ? "ID may already exist; check the data file"
+                            : "ID is definitely new");
+                }
+            } else {
+                System.out.println("Unknown command: " + args[0]);
+            }
+        } catch (IOException e) {
+            System.out.println("Error using Bloom filter: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Gets the sidecar path for a data file (data.txt -> data.txt.bloom)
+     * @param dataFile Person or product data file
+     * @return path of the sidecar
+     */
+    public static Path sidecarFor(Path dataFile) {
+        return dataFile.resolveSibling(dataFile.getFileName() + EXTENSION);
+    }
+
+    /**
+     * Creates a new, empty filter file sized for an expected number of IDs
+     * @param bloomFile Path of the filter file (replaced if it exists)
+     * @param expectedIds Number of IDs the filter should hold
+     * @param falsePositiveRate Wanted false-positive rate at that many IDs (0-1 exclusive)
+     * @return open filter
+     * @throws IOException if the file cannot be created
+     */
+    public static IdBloomFilter create(Path bloomFile, long expectedIds, double falsePositiveRate) throws IOException {
+        if (expectedIds <= 0) {
+            throw new IllegalArgumentException("Expected IDs must be positive: " + expectedIds);
+        }
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("False-positive rate is out of range (0-1): " + falsePositiveRate);
+        }
+
+        // Standard sizing: m = -n ln p / (ln 2)^2 and k = m / n * ln 2
+        double ln2 = Math.log(2);
+        long bits = (long) Math.ceil(-expectedIds * Math.log(falsePositiveRate) / (ln2 * ln2));
+        bits = Math.max(64, (bits + 63) / 64 * 64);
+        if (bits > MAX_BITS) {
+            throw new IllegalArgumentException("Filter is too large to map; lower the expected IDs or raise the rate");
+        }
+        int hashes = Math.max(1, (int) Math.round((double) bits / expectedIds * ln2));
+
+        FileChannel channel = FileChannel.open(bloomFile, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES + bits / 8);
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, hashes);
+        buffer.putLong(8, bits);
+        buffer.putLong(COUNT_OFFSET, 0);
+        buffer.putLong(24, expectedIds);
+        return new IdBloomFilter(channel, buffer);
+    }
+
+    /**
+     * Opens an existing filter file for queries and updates
+     * @param bloomFile Path of the filter file
+     * @return open filter
+     * @throws IOException if the file cannot be read or is not a filter
+     */
+    public static IdBloomFilter open(Path bloomFile) throws IOException {
+        FileChannel channel = FileChannel.open(bloomFile, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+        return new IdBloomFilter(channel, buffer);
+    }
+
+    /**
+     * Opens the sidecar of a data file for appending more IDs
+     * The sidecar is rebuilt from the data file when it is missing, stale, or too
+     * small to take the new IDs at the default false-positive rate
+     * @param dataFile Person or product data file (need not exist yet)
+     * @param newIds Number of IDs about to be added
+     * @return open filter holding every ID already in the data file
+     * @throws IOException if a file cannot be read or written
+     */
+    public static IdBloomFilter forDataFile(Path dataFile, long newIds) throws IOException {
+        Path bloomFile = sidecarFor(dataFile);
+        if (!Files.exists(dataFile) || Files.size(dataFile) == 0) {
+            return create(bloomFile, Math.max(DEFAULT_EXPECTED_IDS, newIds * 2), DEFAULT_FALSE_POSITIVE_RATE);
+        }
+        if (!isStale(dataFile)) {
+            IdBloomFilter filter = open(bloomFile);
+            if (filter.count + newIds <= filter.expectedIds) {
+                return filter;
+            }
+            filter.close();
+        }
+        return build(dataFile, newIds, DEFAULT_FALSE_POSITIVE_RATE);
+    }
+
+    /**
+     * Checks whether the sidecar of a data file is missing or older than the data
+     * @param dataFile Person or product data file
+     * @return true if the sidecar must be rebuilt before use
+     * @throws IOException if a file's modification time cannot be read
+     */
+    public static boolean isStale(Path dataFile) throws IOException {
+        Path bloomFile = sidecarFor(dataFile);
+        return !Files.exists(bloomFile)
+                || Files.getLastModifiedTime(bloomFile).compareTo(Files.getLastModifiedTime(dataFile)) < 0;
+    }
+
+    /**
+     * Marks the sidecar of a data file as up to date with the data written so far
+     * Call after both files are closed
+     * @param dataFile Person or product data file
+     * @throws IOException if a file's modification time cannot be read or set
+     */
+    public static void markCurrent(Path dataFile) throws IOException {
+        Files.setLastModifiedTime(sidecarFor(dataFile), Files.getLastModifiedTime(dataFile));
+    }
+
+    /**
+     * Builds a fresh sidecar for an existing data file by scanning it once
+     * @param dataFile Person or product data file (UTF-8)
+     * @param falsePositiveRate Wanted false-positive rate
+     * @return open filter holding every ID in the file
+     * @throws IOException if a file cannot be read or written
+     */
+    public static IdBloomFilter build(Path dataFile, double falsePositiveRate) throws IOException {
+        return build(dataFile, 0, falsePositiveRate);
+    }
+
+    /**
+     * Builds a fresh sidecar for an existing data file, with room for more IDs
+     * @param dataFile Person or product data file (UTF-8)
+     * @param newIds Number of IDs expected to be added after the file's own
+     * @param falsePositiveRate Wanted false-positive rate
+     * @return open filter holding every ID in the file
+     * @throws IOException if a file cannot be read or written
+     */
+    public static IdBloomFilter build(Path dataFile, long newIds, double falsePositiveRate) throws IOException {
+        long lines;
+        try (var stream = Files.lines(dataFile, StandardCharsets.UTF_8)) {
+            lines = stream.count();
+        }
+
+        long expectedIds = Math.max(Math.max(lines * 2, lines + newIds * 2), 1024);
+        IdBloomFilter filter = create(sidecarFor(dataFile), expectedIds, falsePositiveRate);
+        try (BufferedReader reader = Files.newBufferedReader(dataFile, StandardCharsets.UTF_8)) {
+            String rec;
+            while ((rec = reader.readLine()) != null) {
+                String id = IdDeduplicator.idOf(rec);
+                if (id != null) {
+                    filter.add(id);
+                }
+            }
+        }
+        filter.force();
+        markCurrent(dataFile);
+        return filter;
+    }
+
+    /**
+     * Adds an ID to the filter
+     * @param id ID to add
+     */
+    public void add(String id) {
+        long h1 = IdDeduplicator.fingerprint(id);
+        long h2 = Long.rotateLeft(h1, 32) | 1;
+        for (int i = 0; i < numHashes; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, numBits);
+            int offset = HEADER_BYTES + (int) (bit >>> 6) * 8;
+            buffer.putLong(offset, buffer.getLong(offset) | (1L << bit));
+        }
+        count++;
+        buffer.putLong(COUNT_OFFSET, count);
+    }
+
+    /**
+     * Checks whether an ID may have been added
+     * @param id ID to check
+     * @return false if the ID is definitely new, true if it may exist
+     */
+    public boolean mightContain(String id) {
+        long h1 = IdDeduplicator.fingerprint(id);
+        long h2 = Long.rotateLeft(h1, 32) | 1;
+        for (int i = 0; i < numHashes; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, numBits);
+            int offset = HEADER_BYTES + (int) (bit >>> 6) * 8;
+            if ((buffer.getLong(offset) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the number of IDs added (including duplicates)
+     * @return ID count
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Estimates the current false-positive rate from the number of IDs added
+     * @return estimated false-positive rate
+     */
+    public double expectedFalsePositiveRate() {
+        return Math.pow(1 - Math.exp(-(double) numHashes * count / numBits), numHashes);
+    }
+
+    /**
+     * Gets the number of IDs the filter was sized for
+     * @return expected IDs
+     */
+    public long getExpectedIds() {
+        return expectedIds;
+    }
+
+    /**
+     * Writes changes in the mapped file to disk
+     */
+    public void force() {
+        buffer.force();
+    }
+
+    /**
+     * Flushes changes and closes the filter
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        force();
+        channel.close();
+    }
+}
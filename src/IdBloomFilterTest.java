@@ -0,0 +1,137 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+/**
+ * JUnit test class for IdBloomFilter class
+ * Tests membership, the false-positive rate, sidecar round-trips and appends
+ * through RecordFileWriter
+ *
+ * Name: Tika Khadka
+ */
+class IdBloomFilterTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Test every added ID is found")
+    void testMembership() throws IOException {
+        try (IdBloomFilter filter = IdBloomFilter.create(tempDir.resolve("ids.bloom"), 1000, 0.01)) {
+            for (int i = 0; i < 1000; i++) {
+                filter.add(String.format("%06d", i));
+            }
+            for (int i = 0; i < 1000; i++) {
+                assertTrue(filter.mightContain(String.format("%06d", i)));
+            }
+            assertEquals(1000, filter.getCount());
+        }
+    }
+
+    @Test
+    @DisplayName("Test false-positive rate stays near the rate the filter was sized for")
+    void testFalsePositiveRate() throws IOException {
+        try (IdBloomFilter filter = IdBloomFilter.create(tempDir.resolve("ids.bloom"), 10_000, 0.01)) {
+            for (int i = 0; i < 10_000; i++) {
+                filter.add("P" + i);
+            }
+            int falsePositives = 0;
+            for (int i = 0; i < 100_000; i++) {
+                if (filter.mightContain("Q" + i)) {
+                    falsePositives++;
+                }
+            }
+            double rate = falsePositives / 100_000.0;
+            assertTrue(rate < 0.02, "false-positive rate " + rate);
+            assertEquals(0.01, filter.expectedFalsePositiveRate(), 0.005);
+        }
+    }
+
+    @Test
+    @DisplayName("Test a sidecar reopens with the same IDs, count and sizing")
+    void testRoundTrip() throws IOException {
+        Path bloomFile = tempDir.resolve("ids.bloom");
+        try (IdBloomFilter filter = IdBloomFilter.create(bloomFile, 500, 0.01)) {
+            filter.add("000001");
+            filter.add("000002");
+        }
+        try (IdBloomFilter filter = IdBloomFilter.open(bloomFile)) {
+            assertTrue(filter.mightContain("000001"));
+            assertTrue(filter.mightContain("000002"));
+            assertFalse(filter.mightContain("000003"));
+            assertEquals(2, filter.getCount());
+            assertEquals(500, filter.getExpectedIds());
+        }
+
+        Files.write(bloomFile, new byte[64]);
+        assertThrows(IOException.class, () -> IdBloomFilter.open(bloomFile));
+    }
+
+    @Test
+    @DisplayName("Test build scans a data file and marks its sidecar current")
+    void testBuild() throws IOException {
+        Path dataFile = tempDir.resolve("persons.txt");
+        Files.write(dataFile, List.of("000001, Frodo, Baggins, Mr., 1968", "", "000002, Sam, Gamgee, Mr., 1970"));
+
+        try (IdBloomFilter filter = IdBloomFilter.build(dataFile, 0.01)) {
+            assertEquals(2, filter.getCount());
+            assertTrue(filter.mightContain("000001"));
+            assertTrue(filter.mightContain("000002"));
+        }
+        assertFalse(IdBloomFilter.isStale(dataFile));
+    }
+
+    @Test
+    @DisplayName("Test append mode keeps earlier records and their IDs")
+    void testAppend() throws IOException {
+        Path dataFile = tempDir.resolve("persons.txt");
+        try (RecordFileWriter<Person> writer = new RecordFileWriter<>(dataFile, 10, "IdBloomFilterTest",
+                Person::getID, Person::toCSV)) {
+            writer.write(new Person("Frodo", "Baggins", "000001", "Mr.", 1968));
+        }
+        try (RecordFileWriter<Person> writer = new RecordFileWriter<>(dataFile, 10, "IdBloomFilterTest",
+                Person::getID, Person::toCSV, true)) {
+            writer.write(new Person("Sam", "Gamgee", "000002", "Mr.", 1970));
+        }
+
+        assertEquals(2, Files.readAllLines(dataFile).size());
+        assertFalse(IdBloomFilter.isStale(dataFile));
+        try (IdBloomFilter filter = IdBloomFilter.open(IdBloomFilter.sidecarFor(dataFile))) {
+            assertEquals(2, filter.getCount());
+            assertTrue(filter.mightContain("000001"));
+            assertTrue(filter.mightContain("000002"));
+        }
+        try (LineOffsetIndex index = LineOffsetIndex.open(dataFile)) {
+            assertEquals(2, index.getLineCount());
+            assertTrue(index.readLine(1).startsWith("000002"));
+        }
+    }
+
+    @Test
+    @DisplayName("Test a stale sidecar is rebuilt before appending")
+    void testStaleSidecarRebuilt() throws IOException {
+        Path dataFile = tempDir.resolve("products.txt");
+        try (RecordFileWriter<Product> writer = new RecordFileWriter<>(dataFile, 10, "IdBloomFilterTest",
+                Product::getID, Product::toCSV)) {
+            writer.write(new Product("Rope", "Elven", "P001", 5.0));
+        }
+        // Another tool appends a record without updating the sidecar
+        Files.write(dataFile, List.of(new Product("Lamp", "Oil", "P002", 2.0).toCSV()), StandardOpenOption.APPEND);
+        FileTime sidecarTime = Files.getLastModifiedTime(IdBloomFilter.sidecarFor(dataFile));
+        Files.setLastModifiedTime(dataFile, FileTime.fromMillis(sidecarTime.toMillis() + 1000));
+        assertTrue(IdBloomFilter.isStale(dataFile));
+
+        try (IdBloomFilter filter = IdBloomFilter.forDataFile(dataFile, 10)) {
+            assertEquals(2, filter.getCount());
+            assertTrue(filter.mightContain("P001"));
+            assertTrue(filter.mightContain("P002"));
+        }
+    }
+}
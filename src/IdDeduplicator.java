@@ -0,0 +1,492 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * IdDeduplicator - Finds and removes duplicate IDs across person or product files
+ * Both file types keep the ID in the first CSV field, so lines are never parsed
+ * into objects; each ID is reduced to a 64-bit fingerprint kept in a primitive
+ * open-addressing hash set
+ * The first line seen for an ID is written to the output and every later line
+ * with the same ID is listed in the conflict report
+ * When the set reaches its memory budget, new IDs are hash-partitioned into temp
+ * files and each partition is deduplicated on its own afterwards (output from
+ * spilled partitions follows the in-memory output, grouped by partition)
+ *
+ * Usage: java IdDeduplicator output.txt report.txt [memoryMB] input1.txt [input2.txt ...]
+ *
+ * Name: Tika Khadka
+ */
+public class IdDeduplicator {
+
+    private static final int PARTITIONS = 64;
+    private static final int PARTITION_BITS = 6;
+    private static final int MAX_DEPTH = 64 / PARTITION_BITS;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final int maxIds;
+    private final Path tempParent;
+    private final ArrayList<String> sources;
+    private BufferedWriter output;
+    private BufferedWriter report;
+    private Path tempDir;
+    private long records;
+    private long written;
+    private long duplicates;
+    private long rejected;
+    private int spills;
+
+    /**
+     * Constructor for a deduplicator with a memory budget
+     * @param memoryBytes Approximate heap budget for the fingerprint set
+     */
+    public IdDeduplicator(long memoryBytes) {
+        this(memoryBytes, null);
+    }
+
+    /**
+     * Constructor for a deduplicator that spills under a given directory
+     * @param memoryBytes Approximate heap budget for the fingerprint set
+     * @param tempParent Directory for the spill directory, or null for the system default
+     */
+    IdDeduplicator(long memoryBytes, Path tempParent) {
+        // The set's table is sized to the budget up front (8 bytes a slot) and the
+        // set spills at half full, so it never grows or holds two tables at once
+        long slots = Math.max(32, Math.min(1 << 30, memoryBytes / 8));
+        this.maxIds = (int) (Long.highestOneBit(slots) / 2);
+        this.tempParent = tempParent;
+        this.sources = new ArrayList<>();
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 4) {
+            System.out.println("Usage: java IdDeduplicator output.txt report.txt [memoryMB] input1.txt [input2.txt ...]");
+            return;
+        }
+
+        long memoryMB = Long.parseLong(args[2]);
+        ArrayList<Path> inputs = new ArrayList<>();
+        for (int i = 3; i < args.length; i++) {
+            inputs.add(Paths.get(args[i]));
+        }
+
+        try {
+            IdDeduplicator deduplicator = new IdDeduplicator(memoryMB * 1024 * 1024);
+            deduplicator.dedup(inputs, Paths.get(args[0]), Paths.get(args[1]));
+            System.out.println(deduplicator.summary());
+        } catch (IOException e) {
+            System.out.println("Error deduplicating files: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Writes the first line of every ID to the output and later ones to the report
+     * @param inputs Person or product CSV files, read in order
+     * @param outputFile File for the deduplicated records
+     * @param reportFile File for the conflict report (ID, file, line, record)
+     * @throws IOException if a file cannot be read or written
+     */
+    public void dedup(List<Path> inputs, Path outputFile, Path reportFile) throws IOException {
+        records = 0;
+        written = 0;
+        duplicates = 0;
+        rejected = 0;
+        spills = 0;
+        sources.clear();
+        for (Path input : inputs) {
+            sources.add(input.toString());
+        }
+
+        tempDir = null;
+        Throwable failure = null;
+        try (BufferedWriter out = Files.newBufferedWriter(outputFile);
+             BufferedWriter rep = Files.newBufferedWriter(reportFile)) {
+            output = out;
+            report = rep;
+            process(new FileSource(inputs), 0);
+        } catch (Throwable e) {
+            failure = e;
+            throw e;
+        } finally {
+            if (tempDir != null) {
+                try {
+                    deleteTempDir();
+                } catch (IOException e) {
+                    // Keep the original failure; cleanup problems ride along with it
+                    if (failure == null) {
+                        throw e;
+                    }
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the number of records read
+     * @return records read
+     */
+    public long getRecords() {
+        return records;
+    }
+
+    /**
+     * Gets the number of records written to the output
+     * @return unique records
+     */
+    public long getWritten() {
+        return written;
+    }
+
+    /**
+     * Gets the number of duplicate records written to the report
+     * @return duplicate records
+     */
+    public long getDuplicates() {
+        return duplicates;
+    }
+
+    /**
+     * Gets the number of lines skipped because they had no ID field
+     * @return rejected lines
+     */
+    public long getRejected() {
+        return rejected;
+    }
+
+    /**
+     * Gets how many times the fingerprint set outgrew the budget and spilled
+     * @return number of spills
+     */
+    public int getSpills() {
+        return spills;
+    }
+
+    /**
+     * Summarizes the last run
+     * @return one line summary
+     */
+    public String summary() {
+        return "Records: " + records + ", unique: " + written + ", duplicates: " + duplicates
+                + ", rejected: " + rejected + ", spills: " + spills;
+    }
+
+    /**
+     * Deduplicates one stream of records, spilling new IDs once the set is full
+     * @param source Records to deduplicate
+     * @param depth Partition depth, used to pick fresh hash bits for each level
+     * @throws IOException if a file cannot be read or written
+     */
+    private void process(RecordSource source, int depth) throws IOException {
+        LongHashSet seen = new LongHashSet(maxIds);
+        PartitionSpill spill = null;
+
+        try {
+            while (source.next()) {
+                String id = idOf(source.line);
+                if (id == null) {
+                    rejected++;
+                    continue;
+                }
+                if (depth == 0) {
+                    records++;
+                }
+
+                long fingerprint = fingerprint(id);
+                if (seen.contains(fingerprint)) {
+                    writeConflict(id, source);
+                } else if (spill != null) {
+                    spill.write(fingerprint, depth, source);
+                } else if (seen.size() >= maxIds && depth < MAX_DEPTH) {
+                    spills++;
+                    spill = new PartitionSpill(tempDir());
+                    spill.write(fingerprint, depth, source);
+                } else {
+                    seen.add(fingerprint);
+                    output.write(source.line);
+                    output.newLine();
+                    written++;
+                }
+            }
+        } finally {
+            source.close();
+        }
+
+        if (spill != null) {
+            // Free the set before recursing so each partition gets the whole budget
+            seen = null;
+            List<Path> partitions = spill.finish();
+            for (Path partition : partitions) {
+                process(new SpillSource(partition), depth + 1);
+            }
+        }
+    }
+
+    /**
+     * Writes a duplicate record to the conflict report
+     * @param id Duplicate ID
+     * @param source Source positioned at the duplicate
+     * @throws IOException if the report cannot be written
+     */
+    private void writeConflict(String id, RecordSource source) throws IOException {
+        report.write(id + ", " + sources.get(source.fileIndex) + ", " + source.lineNumber + ", " + source.line);
+        report.newLine();
+        duplicates++;
+    }
+
+    /**
+     * Creates the temp directory for spill files on first use
+     * @return temp directory
+     * @throws IOException if the directory cannot be created
+     */
+    private Path tempDir() throws IOException {
+        if (tempDir == null) {
+            tempDir = tempParent == null ? Files.createTempDirectory("id-dedup")
+                    : Files.createTempDirectory(tempParent, "id-dedup");
+        }
+        return tempDir;
+    }
+
+    /**
+     * Deletes the temp directory and any partition files a failed run left behind
+     * @throws IOException if a file cannot be deleted
+     */
+    private void deleteTempDir() throws IOException {
+        try (var files = Files.list(tempDir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.deleteIfExists(file);
+            }
+        }
+        Files.deleteIfExists(tempDir);
+    }
+
+    /**
+     * Gets the ID (first field) of a CSV line
+     * @param line CSV line
+     * @return trimmed ID, or null for a blank line or one with no separator
+     */
+    static String idOf(String line) {
+        int comma = line.indexOf(',');
+        if (comma < 0) {
+            return null;
+        }
+        String id = line.substring(0, comma).trim();
+        return id.isEmpty() ? null : id;
+    }
+
+    /**
+     * Hashes an ID to a 64-bit fingerprint (FNV-1a followed by a 64-bit finalizer)
+     * With 64 bits, a false duplicate needs about 4 billion distinct IDs to
+     * become likely
+     * @param id ID to hash
+     * @return non-zero fingerprint
+     */
+    static long fingerprint(String id) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < id.length(); i++) {
+            h ^= id.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h == 0 ? 1 : h;
+    }
+
+    /**
+     * Primitive open-addressing hash set of non-zero longs (linear probing)
+     */
+    static class LongHashSet {
+        private long[] table;
+        private int size;
+        private int mask;
+
+        LongHashSet(int expected) {
+            int capacity = Integer.highestOneBit(Math.max(16, expected) * 2 - 1) << 1;
+            table = new long[capacity];
+            mask = capacity - 1;
+        }
+
+        int size() {
+            return size;
+        }
+
+        boolean contains(long value) {
+            int pos = (int) value & mask;
+            while (table[pos] != 0) {
+                if (table[pos] == value) {
+                    return true;
+                }
+                pos = (pos + 1) & mask;
+            }
+            return false;
+        }
+
+        boolean add(long value) {
+            int pos = (int) value & mask;
+            while (table[pos] != 0) {
+                if (table[pos] == value) {
+                    return false;
+                }
+                pos = (pos + 1) & mask;
+            }
+            table[pos] = value;
+            // IdDeduplicator spills before this; it only grows once partitioning runs out of hash bits
+            if (++size * 2 > table.length) {
+                grow();
+            }
+            return true;
+        }
+
+        private void grow() {
+            long[] old = table;
+            table = new long[old.length * 2];
+            mask = table.length - 1;
+            for (long value : old) {
+                if (value != 0) {
+                    int pos = (int) value & mask;
+                    while (table[pos] != 0) {
+                        pos = (pos + 1) & mask;
+                    }
+                    table[pos] = value;
+                }
+            }
+        }
+    }
+
+    /**
+     * A stream of records with the file and line number each came from
+     */
+    private abstract static class RecordSource {
+        String line;
+        int fileIndex;
+        long lineNumber;
+
+        abstract boolean next() throws IOException;
+
+        abstract void close() throws IOException;
+    }
+
+    /**
+     * Reads the input files one after another
+     */
+    private static class FileSource extends RecordSource {
+        private final List<Path> files;
+        private BufferedReader reader;
+
+        FileSource(List<Path> files) {
+            this.files = files;
+            this.fileIndex = -1;
+        }
+
+        @Override
+        boolean next() throws IOException {
+            while (true) {
+                if (reader == null) {
+                    if (fileIndex + 1 >= files.size()) {
+                        return false;
+                    }
+                    fileIndex++;
+                    lineNumber = 0;
+                    reader = Files.newBufferedReader(files.get(fileIndex), StandardCharsets.UTF_8);
+                }
+                line = reader.readLine();
+                if (line != null) {
+                    lineNumber++;
+                    return true;
+                }
+                reader.close();
+                reader = null;
+            }
+        }
+
+        @Override
+        void close() throws IOException {
+            if (reader != null) {
+                reader.close();
+            }
+        }
+    }
+
+    /**
+     * Reads back a spilled partition and deletes it when done
+     */
+    private static class SpillSource extends RecordSource {
+        private final Path file;
+        private final DataInputStream in;
+
+        SpillSource(Path file) throws IOException {
+            this.file = file;
+            this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE));
+        }
+
+        @Override
+        boolean next() throws IOException {
+            try {
+                fileIndex = in.readInt();
+            } catch (EOFException e) {
+                return false;
+            }
+            lineNumber = in.readLong();
+            byte[] bytes = new byte[in.readInt()];
+            in.readFully(bytes);
+            line = new String(bytes, StandardCharsets.UTF_8);
+            return true;
+        }
+
+        @Override
+        void close() throws IOException {
+            in.close();
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * Writes records into partition files chosen by fingerprint bits
+     */
+    private static class PartitionSpill {
+        private final Path[] files = new Path[PARTITIONS];
+        private final DataOutputStream[] outs = new DataOutputStream[PARTITIONS];
+
+        PartitionSpill(Path dir) throws IOException {
+            for (int i = 0; i < PARTITIONS; i++) {
+                files[i] = Files.createTempFile(dir, "part-", ".bin");
+                outs[i] = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(files[i]), BUFFER_SIZE));
+            }
+        }
+
+        void write(long fingerprint, int depth, RecordSource source) throws IOException {
+            // Use high bits so the low bits the hash set probes with stay well mixed
+            int partition = (int) (fingerprint >>> (64 - PARTITION_BITS * (depth + 1))) & (PARTITIONS - 1);
+            DataOutputStream out = outs[partition];
+            out.writeInt(source.fileIndex);
+            out.writeLong(source.lineNumber);
+            // Length-prefixed UTF-8 rather than writeUTF, which caps a line at 64 KB
+            byte[] bytes = source.line.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+
+        List<Path> finish() throws IOException {
+            for (DataOutputStream out : outs) {
+                out.close();
+            }
+            return Arrays.asList(files);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JUnit test class for IdDeduplicator class
+ * Checks the in-memory path, the spill path with a tiny budget and lines too long for writeUTF
+ *
+ * Name: Tika Khadka
+ */
+class IdDeduplicatorTest {
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Writes records where ID i % distinct repeats, each line tagged with its position
+     */
+    private List<String> writeRecords(Path file, int count, int distinct) throws IOException {
+        ArrayList<String> lines = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            lines.add(String.format("%06d", i % distinct) + ", Frodo" + i + ", Baggins, Mr., 1968");
+        }
+        Files.write(file, lines);
+        return lines;
+    }
+
+    /**
+     * Gets the first line for each ID, in input order
+     */
+    private Map<String, String> firstLines(List<String> lines) {
+        LinkedHashMap<String, String> first = new LinkedHashMap<>();
+        for (String line : lines) {
+            first.putIfAbsent(IdDeduplicator.idOf(line), line);
+        }
+        return first;
+    }
+
+    @Test
+    @DisplayName("Test in-memory dedup keeps the first line of each ID in order")
+    void testInMemory() throws IOException {
+        Path first = tempDir.resolve("first.txt");
+        Path second = tempDir.resolve("second.txt");
+        ArrayList<String> lines = new ArrayList<>(writeRecords(first, 30, 20));
+        lines.addAll(writeRecords(second, 10, 25));
+        Files.write(second, List.of("", "no separator"), StandardOpenOption.APPEND);
+        Path output = tempDir.resolve("output.txt");
+        Path report = tempDir.resolve("report.txt");
+
+        IdDeduplicator deduplicator = new IdDeduplicator(1 << 20, tempDir);
+        deduplicator.dedup(List.of(first, second), output, report);
+
+        assertEquals(new ArrayList<>(firstLines(lines).values()), Files.readAllLines(output));
+        assertEquals(40, deduplicator.getRecords());
+        assertEquals(20, deduplicator.getWritten());
+        assertEquals(20, deduplicator.getDuplicates());
+        assertEquals(2, deduplicator.getRejected());
+        assertEquals(0, deduplicator.getSpills());
+
+        List<String> conflicts = Files.readAllLines(report);
+        assertEquals(20, conflicts.size());
+        assertEquals("000000, " + first + ", 21, " + lines.get(20), conflicts.get(0));
+        assertEquals("000000, " + second + ", 1, " + lines.get(30), conflicts.get(10));
+    }
+
+    @Test
+    @DisplayName("Test spill path with a tiny budget gives the same counts and removes its temp dir")
+    void testSpill() throws IOException {
+        Path input = tempDir.resolve("input.txt");
+        List<String> lines = writeRecords(input, 3000, 700);
+        Path output = tempDir.resolve("output.txt");
+        Path report = tempDir.resolve("report.txt");
+        Path spillParent = Files.createDirectory(tempDir.resolve("spill"));
+
+        IdDeduplicator deduplicator = new IdDeduplicator(0, spillParent);
+        deduplicator.dedup(List.of(input), output, report);
+
+        assertTrue(deduplicator.getSpills() > 0);
+        assertEquals(3000, deduplicator.getRecords());
+        assertEquals(700, deduplicator.getWritten());
+        assertEquals(2300, deduplicator.getDuplicates());
+        // Spilled partitions change the output order, but each ID must keep its first line
+        assertEquals(new HashSet<>(firstLines(lines).values()), new HashSet<>(Files.readAllLines(output)));
+        assertEquals(2300, Files.readAllLines(report).size());
+        try (var files = Files.list(spillParent)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    @DisplayName("Test the set spills at half of a table sized to the budget")
+    void testBudgetBoundary() throws IOException {
+        // 1 KB holds a 128-slot table, so 64 IDs fit and the 65th spills
+        Path fits = tempDir.resolve("fits.txt");
+        writeRecords(fits, 64, 64);
+        IdDeduplicator deduplicator = new IdDeduplicator(1024, tempDir);
+        deduplicator.dedup(List.of(fits), tempDir.resolve("fits-out.txt"), tempDir.resolve("fits-report.txt"));
+        assertEquals(0, deduplicator.getSpills());
+
+        Path over = tempDir.resolve("over.txt");
+        writeRecords(over, 65, 65);
+        deduplicator = new IdDeduplicator(1024, tempDir);
+        deduplicator.dedup(List.of(over), tempDir.resolve("over-out.txt"), tempDir.resolve("over-report.txt"));
+        assertEquals(1, deduplicator.getSpills());
+        assertEquals(65, deduplicator.getWritten());
+    }
+
+    @Test
+    @DisplayName("Test a line over 64 KB survives the spill path")
+    void testLongLine() throws IOException {
+        Path input = tempDir.resolve("input.txt");
+        ArrayList<String> lines = new ArrayList<>(writeRecords(input, 200, 100));
+        String longLine = "999999, " + "\u00e9".repeat(40000) + ", Baggins, Mr., 1968";
+        lines.add(longLine);
+        lines.add(longLine.replace("Baggins", "Gamgee"));
+        Files.write(input, lines);
+        Path output = tempDir.resolve("output.txt");
+        Path report = tempDir.resolve("report.txt");
+
+        IdDeduplicator deduplicator = new IdDeduplicator(0, tempDir);
+        deduplicator.dedup(List.of(input), output, report);
+
+        assertTrue(deduplicator.getSpills() > 0);
+        assertEquals(101, deduplicator.getWritten());
+        assertTrue(Files.readAllLines(output).contains(longLine));
+        assertTrue(Files.readAllLines(report).contains("999999, " + input + ", 202, " + lines.get(201)));
+    }
+}
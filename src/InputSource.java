@@ -0,0 +1,84 @@
+import java.util.Scanner;
+
+/**
+ * InputSource - Where SafeInputObj reads its input from
+ * Holds just the Scanner operations the safe input methods use, with the same
+ * meaning: hasNextInt/hasNextDouble look at the next whitespace-separated
+ * token without using it up, nextInt/nextDouble take that token, and nextLine
+ * returns the rest of the current line
+ * Use of(scanner) for a java.util.Scanner, or BufferedInputSource for large
+ * volumes of piped input
+ *
+ * Name: Tika Khadka
+ */
+public interface InputSource {
+
+    /**
+     * Returns the rest of the current line and moves to the next one
+     * @return line without its line separator
+     * @throws java.util.NoSuchElementException if there is no more input
+     */
+    String nextLine();
+
+    /**
+     * Checks whether the next token is an int
+     * @return true if nextInt would succeed
+     */
+    boolean hasNextInt();
+
+    /**
+     * Reads the next token as an int
+     * @return int value
+     * @throws java.util.InputMismatchException if the token is not an int
+     * @throws java.util.NoSuchElementException if there is no more input
+     */
+    int nextInt();
+
+    /**
+     * Checks whether the next token is a double
+     * @return true if nextDouble would succeed
+     */
+    boolean hasNextDouble();
+
+    /**
+     * Reads the next token as a double
+     * @return double value
+     * @throws java.util.InputMismatchException if the token is not a double
+     * @throws java.util.NoSuchElementException if there is no more input
+     */
+    double nextDouble();
+
+    /**
+     * Wraps a Scanner
+     * @param scanner Scanner to read from
+     * @return input source backed by the scanner
+     */
+    static InputSource of(Scanner scanner) {
+        return new InputSource() {
+            @Override
+            public String nextLine() {
+                return scanner.nextLine();
+            }
+
+            @Override
+            public boolean hasNextInt() {
+                return scanner.hasNextInt();
+            }
+
+            @Override
+            public int nextInt() {
+                return scanner.nextInt();
+            }
+
+            @Override
+            public boolean hasNextDouble() {
+                return scanner.hasNextDouble();
+            }
+
+            @Override
+            public double nextDouble() {
+                return scanner.nextDouble();
+            }
+        };
+    }
+}
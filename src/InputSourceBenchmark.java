@@ -0,0 +1,105 @@
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.Random;
+import java.util.Scanner;
+
+/**
+ * InputSourceBenchmark - Compares Scanner with BufferedInputSource on piped input
+ * Generates the answers a PersonGenerator session would type (text lines,
+ * bad and good years, Y/N) plus cost values, then replays the same
+ * SafeInputObj calls on both sources and reports the time for each
+ * Both runs must give the same checksum, so any change in what is accepted
+ * shows up as a mismatch instead of a speedup
+ *
+ * Usage: java InputSourceBenchmark [records] [rounds]
+ * e.g.   java InputSourceBenchmark 200000 5
+ *
+ * Name: Tika Khadka
+ */
+public class InputSourceBenchmark {
+
+    private static final long SEED = 20240101L;
+
+    public static void main(String[] args) {
+        int records = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        String input = input(records);
+
+        System.out.println("=== Input Source Benchmark ===");
+        System.out.printf("%d records, %.1f MB of input%n", records, input.length() / 1e6);
+        System.out.printf("%-8s %-22s %-12s %-12s%n", "Round", "Source", "ms", "records/s");
+
+        // SafeInputObj prints every prompt; keep that out of the measurement
+        PrintStream out = System.out;
+        PrintStream quiet = new PrintStream(OutputStream.nullOutputStream());
+        for (int round = 1; round <= rounds; round++) {
+            System.setOut(quiet);
+            long start = System.nanoTime();
+            long scannerSum = replay(new SafeInputObj(new Scanner(input)), records);
+            long scannerNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            long bufferedSum = replay(new SafeInputObj(new BufferedInputSource(input)), records);
+            long bufferedNanos = System.nanoTime() - start;
+            System.setOut(out);
+
+            if (scannerSum != bufferedSum) {
+                System.out.println("Error: results differ: " + scannerSum + " vs " + bufferedSum);
+                return;
+            }
+            print(round, "Scanner", scannerNanos, records);
+            print(round, "BufferedInputSource", bufferedNanos, records);
+        }
+    }
+
+    /**
+     * Builds the input text, including values the prompts reject
+     * @param records Number of records
+     * @return input text
+     */
+    static String input(int records) {
+        Random random = new Random(SEED);
+        StringBuilder text = new StringBuilder(records * 64);
+        for (int i = 0; i < records; i++) {
+            text.append(String.format("%06d", i)).append('\n');
+            text.append("First").append(i).append('\n');
+            text.append("Last").append(random.nextInt(1000)).append('\n');
+            text.append(random.nextBoolean() ? "Mr." : "Ms.").append('\n');
+            if (random.nextInt(4) == 0) {
+                text.append("abc\n");
+            }
+            if (random.nextInt(4) == 0) {
+                text.append(1800 + random.nextInt(100)).append('\n');
+            }
+            text.append(1940 + random.nextInt(71)).append('\n');
+            text.append(random.nextInt(100000) / 100.0).append('\n');
+            text.append(i + 1 < records ? "y\n" : "n\n");
+        }
+        return text.toString();
+    }
+
+    /**
+     * Reads every record the way the generators do
+     * @param obj SafeInputObj over the input
+     * @param records Number of records
+     * @return checksum of everything read
+     */
+    static long replay(SafeInputObj obj, int records) {
+        long sum = 0;
+        boolean more = true;
+        for (int i = 0; i < records && more; i++) {
+            sum = sum * 31 + obj.getNonZeroLenString("ID").hashCode();
+            sum = sum * 31 + obj.getNonZeroLenString("First Name").hashCode();
+            sum = sum * 31 + obj.getNonZeroLenString("Last Name").hashCode();
+            sum = sum * 31 + obj.getNonZeroLenString("Title").hashCode();
+            sum = sum * 31 + obj.getRangedInt("Year of Birth", 1940, 2010);
+            sum = sum * 31 + Double.hashCode(obj.getDouble("Cost"));
+            more = obj.getYNConfirm("Add another");
+        }
+        return sum;
+    }
+
+    private static void print(int round, String source, long nanos, int records) {
+        System.out.printf("%-8d %-22s %-12.1f %-12.0f%n", round, source, nanos / 1e6, records / (nanos / 1e9));
+    }
+}
@@ -0,0 +1,382 @@
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LineOffsetIndex - Sidecar index (.idx) of line start positions in a data file
+ * Lets paged viewers and parallel workers jump straight to line N of a person
+ * or product file instead of reading every line before it
+ * The sidecar holds the data file length and modification time, the line count
+ * and one long per line start plus the end of the file; it is memory-mapped for
+ * lookups and rebuilt when the stored length or time no longer match the data
+ * Data files are UTF-8, as RecordFileWriter writes them
+ * Line numbers count every line, including blank ones, starting at 0
+ *
+ * Usage: java LineOffsetIndex data.txt [firstLine] [count]
+ *
+ * Name: Tika Khadka
+ */
+public class LineOffsetIndex implements Closeable {
+
+    public static final String EXTENSION = ".idx";
+
+    private static final long MAGIC = 0x4C494458_00000002L; // "LIDX" version 2
+    private static final int HEADER_BYTES = 32;
+    private static final int COUNT_OFFSET = 24;
+    private static final int SEGMENT_BITS = 30;
+    private static final long SEGMENT_SIZE = 1L << SEGMENT_BITS;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final FileChannel data;
+    private final MappedByteBuffer[] segments;
+    private final long lineCount;
+
+    /**
+     * Private constructor - use open or build
+     */
+    private LineOffsetIndex(FileChannel data, MappedByteBuffer[] segments, long lineCount) {
+        this.data = data;
+        this.segments = segments;
+        this.lineCount = lineCount;
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.out.println("Usage: java LineOffsetIndex data.txt [firstLine] [count]");
+            return;
+        }
+
+        long first = args.length > 1 ? Long.parseLong(args[1]) : 0;
+        int count = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+        try (LineOffsetIndex index = open(Paths.get(args[0]))) {
+            System.out.println("Lines: " + index.getLineCount());
+            for (String line : index.readLines(first, count)) {
+                System.out.println(line);
+            }
+        } catch (IOException e) {
+            System.out.println("Error reading index: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Gets the sidecar path for a data file (data.txt -> data.txt.idx)
+     * @param dataFile Person or product data file
+     * @return path of the sidecar
+     */
+    public static Path sidecarFor(Path dataFile) {
+        return dataFile.resolveSibling(dataFile.getFileName() + EXTENSION);
+    }
+
+    /**
+     * Opens the index of a data file, building it first if it is missing or stale
+     * @param dataFile Person or product data file
+     * @return open index
+     * @throws IOException if a file cannot be read or written
+     */
+    public static LineOffsetIndex open(Path dataFile) throws IOException {
+        Path sidecar = sidecarFor(dataFile);
+        if (isStale(dataFile)) {
+            build(dataFile);
+        }
+        return map(dataFile, sidecar);
+    }
+
+    /**
+     * Builds the sidecar for a data file by scanning it once for line breaks
+     * @param dataFile Person or product data file
+     * @throws IOException if a file cannot be read or written
+     */
+    public static void build(Path dataFile) throws IOException {
+        // Take the time before scanning, so a write during the scan leaves the sidecar stale
+        long modified = modifiedTime(dataFile);
+        long position = 0;
+        try (Builder builder = new Builder(dataFile);
+             InputStream in = Files.newInputStream(dataFile)) {
+            byte[] buf = new byte[BUFFER_SIZE];
+            int read;
+            boolean atLineStart = true;
+            while ((read = in.read(buf)) != -1) {
+                for (int i = 0; i < read; i++) {
+                    if (atLineStart) {
+                        builder.addOffset(position + i);
+                        atLineStart = false;
+                    }
+                    if (buf[i] == '\n') {
+                        atLineStart = true;
+                    }
+                }
+                position += read;
+            }
+            builder.end = position;
+            builder.finish(modified);
+        }
+    }
+
+    /**
+     * Checks whether the sidecar of a data file is missing or no longer matches it
+     * @param dataFile Person or product data file
+     * @return true if the sidecar must be rebuilt before use
+     * @throws IOException if a file cannot be read
+     */
+    public static boolean isStale(Path dataFile) throws IOException {
+        Path sidecar = sidecarFor(dataFile);
+        if (!Files.exists(sidecar)) {
+            return true;
+        }
+        try (FileChannel channel = FileChannel.open(sidecar, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            while (header.hasRemaining() && channel.read(header) > 0) {
+                // keep reading until the header is full or the file ends
+            }
+            // An edit that keeps the length still changes the modification time
+            return header.hasRemaining() || header.getLong(0) != MAGIC
+                    || header.getLong(8) != Files.size(dataFile)
+                    || header.getLong(16) != modifiedTime(dataFile);
+        }
+    }
+
+    /**
+     * Gets the number of lines in the data file
+     * @return line count
+     */
+    public long getLineCount() {
+        return lineCount;
+    }
+
+    /**
+     * Gets the byte position where a line starts
+     * @param line Line number (0 to line count; line count gives the end of the file)
+     * @return byte position in the data file
+     */
+    public long offset(long line) {
+        if (line < 0 || line > lineCount) {
+            throw new IndexOutOfBoundsException("Line is out of range [0-" + lineCount + "]: " + line);
+        }
+        long position = HEADER_BYTES + line * 8;
+        return segments[(int) (position >>> SEGMENT_BITS)].getLong((int) (position & (SEGMENT_SIZE - 1)));
+    }
+
+    /**
+     * Reads one line of the data file
+     * @param line Line number
+     * @return the line without its line break
+     * @throws IOException if the data file cannot be read
+     */
+    public String readLine(long line) throws IOException {
+        return readLines(line, 1).get(0);
+    }
+
+    /**
+     * Reads a range of lines with one positional read
+     * @param first First line number
+     * @param count Maximum number of lines (fewer near the end of the file)
+     * @return the lines without their line breaks
+     * @throws IOException if the data file cannot be read
+     */
+    public ArrayList<String> readLines(long first, int count) throws IOException {
+        long last = Math.min(lineCount, first + Math.max(0, count));
+        long start = offset(first);
+        long length = offset(last) - start;
+        if (length > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Range is too large to read at once: " + length + " bytes");
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate((int) length);
+        while (buffer.hasRemaining()) {
+            if (data.read(buffer, start + buffer.position()) < 0) {
+                throw new IOException("Data file is shorter than its index");
+            }
+        }
+
+        ArrayList<String> lines = new ArrayList<>((int) (last - first));
+        byte[] bytes = buffer.array();
+        for (long line = first; line < last; line++) {
+            int from = (int) (offset(line) - start);
+            int to = (int) (offset(line + 1) - start);
+            // Drop the line break (\n or \r\n)
+            if (to > from && bytes[to - 1] == '\n') to--;
+            if (to > from && bytes[to - 1] == '\r') to--;
+            lines.add(new String(bytes, from, to - from, StandardCharsets.UTF_8));
+        }
+        return lines;
+    }
+
+    /**
+     * Closes the data file
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        data.close();
+    }
+
+    /**
+     * Maps an existing sidecar
+     * @param dataFile Data file the sidecar belongs to
+     * @param sidecar Sidecar file
+     * @return open index
+     * @throws IOException if a file cannot be read
+     */
+    private static LineOffsetIndex map(Path dataFile, Path sidecar) throws IOException {
+        try (FileChannel channel = FileChannel.open(sidecar, StandardOpenOption.READ)) {
+            long size = channel.size();
+            int count = (int) ((size + SEGMENT_SIZE - 1) >>> SEGMENT_BITS);
+            MappedByteBuffer[] segments = new MappedByteBuffer[count];
+            for (int i = 0; i < count; i++) {
+                long from = (long) i << SEGMENT_BITS;
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, from, Math.min(SEGMENT_SIZE, size - from));
+            }
+            if (segments.length == 0 || segments[0].getLong(0) != MAGIC) {
+                throw new IOException("Not a line offset index: " + sidecar);
+            }
+            long lineCount = segments[0].getLong(COUNT_OFFSET);
+            return new LineOffsetIndex(FileChannel.open(dataFile, StandardOpenOption.READ), segments, lineCount);
+        }
+    }
+
+    /**
+     * Gets the modification time of a data file as stored in the sidecar header
+     * @param dataFile Data file
+     * @return modification time in nanoseconds since the epoch
+     * @throws IOException if the time cannot be read
+     */
+    private static long modifiedTime(Path dataFile) throws IOException {
+        return Files.getLastModifiedTime(dataFile).to(TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Streams line start positions to a data file's sidecar while the file is written
+     * Offsets go straight to disk, so memory use does not grow with the line count;
+     * the header is written last by finish (or checkpoint), so a sidecar left by
+     * a crash reads as invalid or stale and is rebuilt by open
+     * Call addLine for each line in the order it is written, then finish once the
+     * data file is closed
+     */
+    public static class Builder implements Closeable {
+        private final Path dataFile;
+        private final FileChannel channel;
+        private final DataOutputStream out;
+        private long size;
+        private long end;
+
+        /**
+         * Constructor that creates (or replaces) the sidecar of a data file
+         * @param dataFile Data file the lines are written to
+         * @throws IOException if the sidecar cannot be created
+         */
+        public Builder(Path dataFile) throws IOException {
+            this(dataFile, FileChannel.open(sidecarFor(dataFile), StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING), 0, 0);
+            out.write(new byte[HEADER_BYTES]);
+        }
+
+        private Builder(Path dataFile, FileChannel channel, long size, long end) {
+            this.dataFile = dataFile;
+            this.channel = channel;
+            this.out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE));
+            this.size = size;
+            this.end = end;
+        }
+
+        /**
+         * Opens the sidecar of an existing data file to add the lines appended to it
+         * A missing or stale sidecar is rebuilt first
+         * @param dataFile Data file that lines will be appended to
+         * @return builder positioned after the file's current lines
+         * @throws IOException if a file cannot be read or written
+         */
+        public static Builder append(Path dataFile) throws IOException {
+            if (isStale(dataFile)) {
+                build(dataFile);
+            }
+            FileChannel channel = FileChannel.open(sidecarFor(dataFile), StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            while (header.hasRemaining() && channel.read(header, header.position()) > 0) {
+                // keep reading until the header is full
+            }
+            long end = header.getLong(8);
+            long size = header.getLong(COUNT_OFFSET);
+            // Overwrite the end entry with the next line's offset; until the next
+            // checkpoint the header no longer matches the data, so the sidecar reads as stale
+            channel.position(HEADER_BYTES + size * 8);
+            return new Builder(dataFile, channel, size, end);
+        }
+
+        /**
+         * Records a line that was written
+         * @param bytes Encoded length of the line including its line separator
+         * @throws IOException if the sidecar cannot be written
+         */
+        public void addLine(long bytes) throws IOException {
+            addOffset(end);
+            end += bytes;
+        }
+
+        /**
+         * Makes the sidecar valid for the lines added so far, so it survives a crash
+         * Call after the data file is flushed; later lines overwrite the end entry
+         * @throws IOException if the sidecar cannot be written
+         */
+        public void checkpoint() throws IOException {
+            out.flush();
+            ByteBuffer last = ByteBuffer.allocate(8).putLong(0, end);
+            long position = HEADER_BYTES + size * 8;
+            while (last.hasRemaining()) {
+                channel.write(last, position + last.position());
+            }
+            writeHeader(modifiedTime(dataFile));
+        }
+
+        /**
+         * Completes the sidecar with the end offset and the header
+         * Call after the data file is closed, so its modification time is final
+         * @throws IOException if the sidecar cannot be written
+         */
+        public void finish() throws IOException {
+            finish(modifiedTime(dataFile));
+        }
+
+        /**
+         * Closes the sidecar; without finish it stays invalid and is rebuilt on open
+         * @throws IOException if the sidecar cannot be closed
+         */
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+
+        private void finish(long dataModified) throws IOException {
+            out.writeLong(end);
+            out.flush();
+            writeHeader(dataModified);
+            close();
+        }
+
+        private void writeHeader(long dataModified) throws IOException {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            header.putLong(MAGIC).putLong(end).putLong(dataModified).putLong(size).flip();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+        }
+
+        private void addOffset(long offset) throws IOException {
+            out.writeLong(offset);
+            size++;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+/**
+ * JUnit test class for LineOffsetIndex class
+ * Tests line lookups, non-ASCII records, sidecars written by RecordFileWriter
+ * and rebuilding a sidecar after the data file changes
+ *
+ * Name: Tika Khadka
+ */
+class LineOffsetIndexTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Test built index finds every line, including blank and CRLF lines")
+    void testBuildAndRead() throws IOException {
+        Path dataFile = tempDir.resolve("persons.txt");
+        Files.write(dataFile, "000001, Frodo\r\n\n000002, Sam\n000003, \u00c9owyn".getBytes(StandardCharsets.UTF_8));
+
+        try (LineOffsetIndex index = LineOffsetIndex.open(dataFile)) {
+            assertEquals(4, index.getLineCount());
+            assertEquals("000001, Frodo", index.readLine(0));
+            assertEquals("", index.readLine(1));
+            assertEquals(List.of("000002, Sam", "000003, \u00c9owyn"), index.readLines(2, 10));
+            assertEquals(0, index.offset(0));
+            assertEquals(15, index.offset(1));
+            assertEquals(Files.size(dataFile), index.offset(4));
+            assertThrows(IndexOutOfBoundsException.class, () -> index.offset(5));
+        }
+        assertFalse(LineOffsetIndex.isStale(dataFile));
+    }
+
+    @Test
+    @DisplayName("Test sidecar written by RecordFileWriter matches non-ASCII records")
+    void testWriterSidecar() throws IOException {
+        Path dataFile = tempDir.resolve("persons.txt");
+        try (RecordFileWriter<Person> writer = new RecordFileWriter<>(dataFile, 10, "LineOffsetIndexTest",
+                Person::getID, Person::toCSV)) {
+            writer.write(new Person("\u00c9owyn", "of Rohan", "000001", "Ms.", 1970));
+            writer.write(new Person("J\u00fcrgen", "M\u00fcller", "000002", "Mr.", 1980));
+            writer.write(new Person("Frodo", "Baggins", "000003", "Mr.", 1968));
+        }
+
+        assertFalse(LineOffsetIndex.isStale(dataFile));
+        List<String> lines = Files.readAllLines(dataFile, StandardCharsets.UTF_8);
+        try (LineOffsetIndex index = LineOffsetIndex.open(dataFile)) {
+            assertEquals(3, index.getLineCount());
+            assertEquals(lines, index.readLines(0, 3));
+            assertEquals(Files.size(dataFile), index.offset(3));
+        }
+    }
+
+    @Test
+    @DisplayName("Test an edit that keeps the file length still rebuilds the sidecar")
+    void testSameLengthEditRebuilds() throws IOException {
+        Path dataFile = tempDir.resolve("products.txt");
+        Files.write(dataFile, List.of("P001, Rope", "P002, Lamp"));
+        try (LineOffsetIndex index = LineOffsetIndex.open(dataFile)) {
+            assertEquals("P002, Lamp", index.readLine(1));
+        }
+
+        long length = Files.size(dataFile);
+        FileTime modified = Files.getLastModifiedTime(dataFile);
+        Files.write(dataFile, List.of("P001, Rope, Elvish", "P2"));
+        Files.setLastModifiedTime(dataFile, FileTime.fromMillis(modified.toMillis() + 2000));
+        assertEquals(length, Files.size(dataFile));
+        assertTrue(LineOffsetIndex.isStale(dataFile));
+
+        try (LineOffsetIndex index = LineOffsetIndex.open(dataFile)) {
+            assertEquals("P001, Rope, Elvish", index.readLine(0));
+            assertEquals("P2", index.readLine(1));
+        }
+    }
+
+    @Test
+    @DisplayName("Test a sidecar whose writer never finished is rebuilt")
+    void testUnfinishedSidecarRebuilt() throws IOException {
+        Path dataFile = tempDir.resolve("persons.txt");
+        Files.write(dataFile, List.of("000001, Frodo", "000002, Sam"));
+        // Offsets reach the sidecar before the header, as when the JVM dies mid-write
+        try (LineOffsetIndex.Builder builder = new LineOffsetIndex.Builder(dataFile)) {
+            builder.addLine(14);
+        }
+        assertTrue(LineOffsetIndex.isStale(dataFile));
+
+        try (LineOffsetIndex index = LineOffsetIndex.open(dataFile)) {
+            assertEquals(2, index.getLineCount());
+            assertEquals("000002, Sam", index.readLine(1));
+        }
+    }
+
+    @Test
+    @DisplayName("Test a sidecar from another format is rebuilt")
+    void testInvalidSidecarRebuilt() throws IOException {
+        Path dataFile = tempDir.resolve("products.txt");
+        Files.write(dataFile, List.of("P001, Rope"));
+        Files.write(LineOffsetIndex.sidecarFor(dataFile), new byte[40]);
+        assertTrue(LineOffsetIndex.isStale(dataFile));
+
+        try (LineOffsetIndex index = LineOffsetIndex.open(dataFile)) {
+            assertEquals(1, index.getLineCount());
+        }
+    }
+}
@@ -0,0 +1,78 @@
+import java.io.PrintStream;
+
+/**
+ * OutputSink - Where SafeInput and SafeInputObj write their prompts and error messages
+ * print/println add text, and flush is called just before the prompts wait
+ * for input, so a buffering sink only has to write once per answer
+ * Use console() for System.out as before, or a BufferedOutputSink per
+ * session to keep many sessions off the shared, synchronized System.out
+ *
+ * Name: Tika Khadka
+ */
+public interface OutputSink {
+
+    /**
+     * Writes text as is
+     * @param text Text to write
+     */
+    void print(String text);
+
+    /**
+     * Writes text followed by a line separator
+     * @param text Text to write
+     */
+    void println(String text);
+
+    /**
+     * Makes everything written so far visible, e.g. before waiting for input
+     */
+    void flush();
+
+    /**
+     * Sink writing to whatever System.out is at the time of each call
+     * (so System.setOut still redirects it), the same as printing directly
+     * @return console sink
+     */
+    static OutputSink console() {
+        return new OutputSink() {
+            @Override
+            public void print(String text) {
+                System.out.print(text);
+            }
+
+            @Override
+            public void println(String text) {
+                System.out.println(text);
+            }
+
+            @Override
+            public void flush() {
+                System.out.flush();
+            }
+        };
+    }
+
+    /**
+     * Wraps a PrintStream
+     * @param stream Stream to write to
+     * @return sink backed by the stream
+     */
+    static OutputSink of(PrintStream stream) {
+        return new OutputSink() {
+            @Override
+            public void print(String text) {
+                stream.print(text);
+            }
+
+            @Override
+            public void println(String text) {
+                stream.println(text);
+            }
+
+            @Override
+            public void flush() {
+                stream.flush();
+            }
+        };
+    }
+}
@@ -0,0 +1,300 @@
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * PersonExternalSort - Sorts person files larger than the heap by lastName, firstName
+ * Pass 1 reads the file in memory-bounded chunks, sorts each chunk on a worker
+ * thread and spills it to a temp run file
+ * Pass 2 merges the runs with a k-way merge using large buffered readers;
+ * the number of runs open at once is capped by the memory budget (and by
+ * MAX_FAN_IN for file descriptors), so with more runs than that it merges
+ * groups of runs into longer runs first, in as many passes as needed
+ * Output is written in the same toCSV() format the generator uses
+ *
+ * Usage: java PersonExternalSort input.txt output.txt [memoryMB] [threads]
+ *
+ * Name: Tika Khadka
+ */
+public class PersonExternalSort {
+
+    /** Sort order used for the output: lastName, then firstName, then ID */
+    public static final Comparator<Person> NAME_ORDER = Comparator
+            .comparing(Person::getLastName)
+            .thenComparing(Person::getFirstName)
+            .thenComparing(Person::getID);
+
+    private static final int IO_BUFFER_SIZE = 1 << 20;
+    private static final int MERGE_BUFFER_SIZE = 1 << 16;
+    private static final long RECORD_OVERHEAD_BYTES = 160;
+    // Heap held by one open run: the char buffer plus the decoder's byte buffer
+    private static final long MERGE_READER_BYTES = MERGE_BUFFER_SIZE * 2L + 8192;
+    /** Most runs merged at once, whatever the memory budget */
+    static final int MAX_FAN_IN = 256;
+
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.out.println("Usage: java PersonExternalSort input.txt output.txt [memoryMB] [threads]");
+            return;
+        }
+
+        long memoryBytes = (args.length > 2 ? Long.parseLong(args[2]) : 256) * 1024 * 1024;
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+
+        try {
+            long start = System.currentTimeMillis();
+            int runs = sort(Paths.get(args[0]), Paths.get(args[1]), memoryBytes, threads);
+            System.out.println("Sorted " + args[0] + " into " + args[1] + " using " + runs
+                    + " runs in " + (System.currentTimeMillis() - start) + " ms");
+        } catch (IOException e) {
+            System.out.println("Error sorting file: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Sorts a person file into a new file
+     * @param input Person CSV file to sort
+     * @param output File to write the sorted persons to
+     * @param memoryBytes Approximate heap budget for buffered records
+     * @param threads Number of threads sorting and spilling runs
+     * @return number of sorted runs that were merged
+     * @throws IOException if a file cannot be read or written
+     */
+    public static int sort(Path input, Path output, long memoryBytes, int threads) throws IOException {
+        if (memoryBytes <= 0 || threads <= 0) {
+            throw new IllegalArgumentException("Memory budget and thread count must be positive");
+        }
+
+        Path tempDir = Files.createTempDirectory("person-sort");
+        Throwable failure = null;
+        try {
+            ArrayList<Path> runs = createRuns(input, tempDir, memoryBytes, threads);
+            int runCount = runs.size();
+            int fanIn = maxFanIn(memoryBytes);
+            // Merge groups of runs into longer runs until one final merge can take them all
+            for (int pass = 0; runs.size() > fanIn; pass++) {
+                ArrayList<Path> merged = new ArrayList<>();
+                for (int from = 0; from < runs.size(); from += fanIn) {
+                    List<Path> group = runs.subList(from, Math.min(from + fanIn, runs.size()));
+                    Path mergedRun = tempDir.resolve("pass-" + pass + "-" + merged.size());
+                    mergeRuns(group, mergedRun);
+                    for (Path run : group) {
+                        Files.delete(run);
+                    }
+                    merged.add(mergedRun);
+                }
+                runs = merged;
+            }
+            mergeRuns(runs, output);
+            return runCount;
+        } catch (Throwable e) {
+            failure = e;
+            throw e;
+        } finally {
+            try {
+                deleteRuns(tempDir);
+            } catch (IOException e) {
+                // Keep the original failure; cleanup problems ride along with it
+                if (failure == null) {
+                    throw e;
+                }
+                failure.addSuppressed(e);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of runs that may be merged at once within a memory budget
+     * @param memoryBytes Approximate heap budget
+     * @return fan-in, at least 2 and at most MAX_FAN_IN
+     */
+    static int maxFanIn(long memoryBytes) {
+        return (int) Math.max(2, Math.min(MAX_FAN_IN, memoryBytes / MERGE_READER_BYTES));
+    }
+
+    /**
+     * Pass 1: reads chunks that fit in the memory budget and spills them as sorted runs
+     * @param input Person CSV file to sort
+     * @param tempDir Directory for run files
+     * @param memoryBytes Approximate heap budget for buffered records
+     * @param threads Number of threads sorting and spilling runs
+     * @return run files in creation order
+     * @throws IOException if a file cannot be read or written
+     */
+    private static ArrayList<Path> createRuns(Path input, Path tempDir, long memoryBytes, int threads)
+            throws IOException {
+        // Every thread may hold one chunk while the reader fills the next one
+        long chunkBudget = Math.max(1, memoryBytes / (threads + 1));
+        Semaphore inFlight = new Semaphore(threads);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        ArrayList<Future<Path>> pending = new ArrayList<>();
+
+        try (BufferedReader reader = newReader(input, IO_BUFFER_SIZE)) {
+            ArrayList<Person> chunk = new ArrayList<>();
+            long chunkBytes = 0;
+            String rec;
+            while ((rec = reader.readLine()) != null) {
+                if (rec.trim().isEmpty()) {
+                    continue;
+                }
+                Person person = PersonReader.parsePersonFromCSV(rec);
+                if (person == null) {
+                    continue;
+                }
+                chunk.add(person);
+                chunkBytes += rec.length() * 2L + RECORD_OVERHEAD_BYTES;
+
+                if (chunkBytes >= chunkBudget) {
+                    pending.add(submitRun(pool, inFlight, chunk, tempDir.resolve("run-" + pending.size())));
+                    chunk = new ArrayList<>();
+                    chunkBytes = 0;
+                }
+            }
+            if (!chunk.isEmpty()) {
+                pending.add(submitRun(pool, inFlight, chunk, tempDir.resolve("run-" + pending.size())));
+            }
+
+            ArrayList<Path> runs = new ArrayList<>(pending.size());
+            for (Future<Path> future : pending) {
+                runs.add(future.get());
+            }
+            return runs;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while creating sorted runs", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Error creating sorted run: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Hands a chunk to a worker that sorts it and writes it as a run file
+     * Blocks while every worker already holds a chunk so memory stays bounded
+     * @param pool Worker threads
+     * @param inFlight Permits for chunks held by workers
+     * @param chunk Persons to sort
+     * @param runFile File to write the run to
+     * @return future for the written run file
+     * @throws InterruptedException if interrupted while waiting for a worker
+     */
+    private static Future<Path> submitRun(ExecutorService pool, Semaphore inFlight,
+                                          ArrayList<Person> chunk, Path runFile) throws InterruptedException {
+        inFlight.acquire();
+        return pool.submit(() -> {
+            try {
+                chunk.sort(NAME_ORDER);
+                try (BufferedWriter writer = newWriter(runFile, IO_BUFFER_SIZE)) {
+                    for (Person person : chunk) {
+                        writer.write(person.toCSV());
+                        writer.newLine();
+                    }
+                }
+                return runFile;
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+
+    /**
+     * Pass 2: merges sorted runs into one file with a priority queue of run heads
+     * @param runs Sorted run files, in creation order
+     * @param output File to write the merged persons to
+     * @throws IOException if a file cannot be read or written
+     */
+    private static void mergeRuns(List<Path> runs, Path output) throws IOException {
+        // Ties keep run order so equal persons stay in input order
+        PriorityQueue<RunCursor> heads = new PriorityQueue<>(Math.max(1, runs.size()),
+                Comparator.comparing((RunCursor c) -> c.current, NAME_ORDER).thenComparingInt(c -> c.run));
+        ArrayList<RunCursor> cursors = new ArrayList<>(runs.size());
+
+        try (BufferedWriter writer = newWriter(output, IO_BUFFER_SIZE)) {
+            for (int i = 0; i < runs.size(); i++) {
+                RunCursor cursor = new RunCursor(i, newReader(runs.get(i), MERGE_BUFFER_SIZE));
+                cursors.add(cursor);
+                if (cursor.advance()) {
+                    heads.add(cursor);
+                }
+            }
+
+            while (!heads.isEmpty()) {
+                RunCursor cursor = heads.poll();
+                writer.write(cursor.line);
+                writer.newLine();
+                if (cursor.advance()) {
+                    heads.add(cursor);
+                }
+            }
+        } finally {
+            for (RunCursor cursor : cursors) {
+                cursor.reader.close();
+            }
+        }
+    }
+
+    /**
+     * Deletes the run files and their temp directory
+     * @param tempDir Directory holding the runs
+     * @throws IOException if a file cannot be deleted
+     */
+    private static void deleteRuns(Path tempDir) throws IOException {
+        try (var files = Files.list(tempDir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.deleteIfExists(file);
+            }
+        }
+        Files.deleteIfExists(tempDir);
+    }
+
+    private static BufferedReader newReader(Path file, int bufferSize) throws IOException {
+        return new BufferedReader(new InputStreamReader(Files.newInputStream(file), StandardCharsets.UTF_8), bufferSize);
+    }
+
+    private static BufferedWriter newWriter(Path file, int bufferSize) throws IOException {
+        return new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(file), StandardCharsets.UTF_8), bufferSize);
+    }
+
+    /**
+     * Current position in one sorted run
+     */
+    private static class RunCursor {
+        private final int run;
+        private final BufferedReader reader;
+        private String line;
+        private Person current;
+
+        RunCursor(int run, BufferedReader reader) {
+            this.run = run;
+            this.reader = reader;
+        }
+
+        /**
+         * Reads the next person of the run
+         * @return false when the run is exhausted
+         * @throws IOException if the run cannot be read
+         */
+        boolean advance() throws IOException {
+            line = reader.readLine();
+            current = line != null ? PersonReader.parsePersonFromCSV(line) : null;
+            return current != null;
+        }
+    }
+}
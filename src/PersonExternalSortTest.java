@@ -0,0 +1,93 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * JUnit test class for PersonExternalSort class
+ * Tests that small memory budgets spill several runs and still merge in order
+ *
+ * Name: Tika Khadka
+ */
+class PersonExternalSortTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Test sort with many runs matches in-memory sort")
+    void testSortManyRuns() throws IOException {
+        Random random = new Random(7);
+        String[] names = {"Baggins", "Gamgee", "Took", "Brandybuck", "Cotton", "Proudfoot"};
+        ArrayList<Person> persons = new ArrayList<>();
+        ArrayList<String> lines = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            Person person = new Person(names[random.nextInt(names.length)] + random.nextInt(50),
+                    names[random.nextInt(names.length)], String.format("%06d", i), "Mr.", 1940 + random.nextInt(70));
+            persons.add(person);
+            lines.add(person.toCSV());
+        }
+        Path input = tempDir.resolve("persons.txt");
+        Path output = tempDir.resolve("sorted.txt");
+        Files.write(input, lines);
+
+        int runs = PersonExternalSort.sort(input, output, 64 * 1024, 3);
+        assertTrue(runs > 1);
+
+        persons.sort(PersonExternalSort.NAME_ORDER);
+        List<String> sorted = Files.readAllLines(output);
+        assertEquals(persons.size(), sorted.size());
+        for (int i = 0; i < persons.size(); i++) {
+            assertEquals(persons.get(i).toCSV(), sorted.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("Test more runs than the fan-in cap merge in several passes")
+    void testSortMultiPassMerge() throws IOException {
+        Random random = new Random(11);
+        ArrayList<Person> persons = new ArrayList<>();
+        ArrayList<String> lines = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            Person person = new Person("Frodo" + random.nextInt(5), "Baggins" + random.nextInt(3),
+                    String.format("%06d", i), "Mr.", 1940 + random.nextInt(70));
+            persons.add(person);
+            lines.add(person.toCSV());
+        }
+        Path input = tempDir.resolve("persons.txt");
+        Path output = tempDir.resolve("sorted.txt");
+        Files.write(input, lines);
+
+        long memoryBytes = 16 * 1024;
+        int runs = PersonExternalSort.sort(input, output, memoryBytes, 2);
+        int fanIn = PersonExternalSort.maxFanIn(memoryBytes);
+        assertTrue(runs > fanIn * fanIn, runs + " runs, fan-in " + fanIn);
+
+        persons.sort(PersonExternalSort.NAME_ORDER);
+        List<String> sorted = Files.readAllLines(output);
+        assertEquals(persons.size(), sorted.size());
+        for (int i = 0; i < persons.size(); i++) {
+            assertEquals(persons.get(i).toCSV(), sorted.get(i));
+        }
+        try (var files = Files.list(tempDir)) {
+            assertEquals(2, files.count());
+        }
+    }
+
+    @Test
+    @DisplayName("Test sort of empty file")
+    void testSortEmpty() throws IOException {
+        Path input = tempDir.resolve("empty.txt");
+        Path output = tempDir.resolve("sorted.txt");
+        Files.createFile(input);
+
+        assertEquals(0, PersonExternalSort.sort(input, output, 1024, 2));
+        assertEquals(0, Files.size(output));
+    }
+}
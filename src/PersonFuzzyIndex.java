@@ -0,0 +1,258 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+
+/**
+ * PersonFuzzyIndex - Trigram index over Person full names for typo-tolerant search
+ * Each name is split into overlapping 3-character grams; every gram keeps a
+ * posting list of person numbers stored as delta-encoded varint bytes
+ * A query scores candidates by the Dice coefficient of shared grams, so
+ * "Bilbo Bagins" still finds "Bilbo Baggins"
+ * Only fullName() (first and last name) is indexed; ID, title and year of
+ * birth are not searchable here
+ * Not thread-safe: searches reuse scratch arrays
+ *
+ * Name: Tika Khadka
+ */
+public final class PersonFuzzyIndex {
+
+    private final ArrayList<Person> persons;
+    private final HashMap<Long, PostingList> postings;
+    private short[] gramCounts;
+    private int[] scratchScores;
+    private int[] scratchTouched;
+
+    /**
+     * Default constructor - creates an empty index
+     */
+    public PersonFuzzyIndex() {
+        this.persons = new ArrayList<>();
+        this.postings = new HashMap<>();
+        this.gramCounts = new short[16];
+        this.scratchScores = new int[0];
+        this.scratchTouched = new int[0];
+    }
+
+    /**
+     * Constructor that indexes an existing list of persons
+     * @param list List of Person objects to index
+     */
+    public PersonFuzzyIndex(List<Person> list) {
+        this();
+        for (Person person : list) {
+            add(person);
+        }
+    }
+
+    /**
+     * Adds a person to the index
+     * @param person Person to add
+     */
+    public void add(Person person) {
+        int id = persons.size();
+        persons.add(person);
+
+        long[] grams = trigrams(person.fullName());
+        if (id == gramCounts.length) {
+            gramCounts = Arrays.copyOf(gramCounts, id * 2);
+        }
+        gramCounts[id] = (short) Math.min(grams.length, Short.MAX_VALUE);
+
+        for (long gram : grams) {
+            postings.computeIfAbsent(gram, g -> new PostingList()).add(id);
+        }
+    }
+
+    /**
+     * Gets the number of indexed persons
+     * @return number of persons
+     */
+    public int size() {
+        return persons.size();
+    }
+
+    /**
+     * Finds the persons whose full name is most similar to a query
+     * A formal name (with title) also works as a query, at a small cost in score
+     * @param query Name to search for, possibly misspelled
+     * @param limit Maximum number of matches to return
+     * @param minScore Lowest similarity to return (0-1)
+     * @return matches ordered from most to least similar
+     */
+    public ArrayList<Match> search(String query, int limit, double minScore) {
+        ArrayList<Match> result = new ArrayList<>();
+        long[] grams = trigrams(query);
+        if (grams.length == 0 || limit <= 0) {
+            return result;
+        }
+
+        if (scratchScores.length < persons.size()) {
+            scratchScores = new int[persons.size()];
+            scratchTouched = new int[persons.size()];
+        }
+        int[] shared = scratchScores;
+        int[] touched = scratchTouched;
+        int touchedCount = 0;
+
+        // Count shared grams per candidate by walking each posting list once
+        for (long gram : grams) {
+            PostingList list = postings.get(gram);
+            if (list == null) {
+                continue;
+            }
+            int pos = 0;
+            int id = 0;
+            while (pos < list.length) {
+                int delta = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = list.bytes[pos++];
+                    delta |= (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+                id += delta;
+                if (shared[id]++ == 0) {
+                    touched[touchedCount++] = id;
+                }
+            }
+        }
+
+        // Keep the best matches in a small min-heap
+        PriorityQueue<Match> best = new PriorityQueue<>(limit + 1, (a, b) -> Double.compare(a.score, b.score));
+        for (int i = 0; i < touchedCount; i++) {
+            int id = touched[i];
+            double score = 2.0 * shared[id] / (grams.length + gramCounts[id]);
+            shared[id] = 0;
+            if (score >= minScore && (best.size() < limit || score > best.peek().score)) {
+                best.add(new Match(persons.get(id), score));
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+        }
+
+        result.addAll(best);
+        result.sort((a, b) -> Double.compare(b.score, a.score));
+        return result;
+    }
+
+    /**
+     * Splits a name into distinct trigrams packed into longs
+     * The name is lower-cased, runs of spaces are collapsed and it is padded
+     * with two leading spaces and one trailing space so word starts count
+     * @param name Name to split
+     * @return distinct packed trigrams
+     */
+    static long[] trigrams(String name) {
+        String text = "  " + name.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ") + " ";
+        if (text.trim().isEmpty()) {
+            return new long[0];
+        }
+
+        long[] grams = new long[text.length() - 2];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = ((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2);
+        }
+        Arrays.sort(grams);
+
+        int distinct = 0;
+        for (int i = 0; i < grams.length; i++) {
+            if (i == 0 || grams[i] != grams[i - 1]) {
+                grams[distinct++] = grams[i];
+            }
+        }
+        return Arrays.copyOf(grams, distinct);
+    }
+
+    /**
+     * A person and how similar their name is to the query
+     */
+    public static class Match {
+        private final Person person;
+        private final double score;
+
+        Match(Person person, double score) {
+            this.person = person;
+            this.score = score;
+        }
+
+        /**
+         * Gets the matching person
+         * @return person
+         */
+        public Person getPerson() {
+            return person;
+        }
+
+        /**
+         * Gets the similarity score
+         * @return score from 0 (nothing shared) to 1 (same grams)
+         */
+        public double getScore() {
+            return score;
+        }
+
+        @Override
+        public String toString() {
+            return person.formalName() + " (" + String.format("%.2f", score) + ")";
+        }
+    }
+
+    /**
+     * Increasing person numbers stored as varint-encoded gaps in a growable byte array
+     */
+    static class PostingList {
+        private byte[] bytes = new byte[4];
+        private int length;
+        private int last;
+
+        void add(int id) {
+            int delta = id - last;
+            last = id;
+            if (length + 5 > bytes.length) {
+                bytes = Arrays.copyOf(bytes, bytes.length * 2);
+            }
+            while (delta >= 0x80) {
+                bytes[length++] = (byte) (delta | 0x80);
+                delta >>>= 7;
+            }
+            bytes[length++] = (byte) delta;
+        }
+
+        /**
+         * Gets the number of encoded bytes
+         * @return bytes used
+         */
+        int byteLength() {
+            return length;
+        }
+
+        /**
+         * Decodes the person numbers (search decodes inline to avoid the array)
+         * @return person numbers in increasing order
+         */
+        int[] toArray() {
+            int[] ids = new int[length];
+            int count = 0;
+            int pos = 0;
+            int id = 0;
+            while (pos < length) {
+                int delta = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = bytes[pos++];
+                    delta |= (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+                id += delta;
+                ids[count++] = id;
+            }
+            return Arrays.copyOf(ids, count);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JUnit test class for PersonFuzzyIndex class
+ * Tests the varint posting lists, Dice scoring and misspelled queries
+ *
+ * Name: Tika Khadka
+ */
+class PersonFuzzyIndexTest {
+
+    private static final List<Person> PERSONS = List.of(
+            new Person("Bilbo", "Baggins", "000001", "Mr.", 1890),
+            new Person("Frodo", "Baggins", "000002", "Mr.", 1968),
+            new Person("Samwise", "Gamgee", "000003", "Mr.", 1980),
+            new Person("Peregrin", "Took", "000004", "Mr.", 1990),
+            new Person("Meriadoc", "Brandybuck", "000005", "Mr.", 1982));
+
+    @Test
+    @DisplayName("Test posting lists round-trip gaps across varint byte boundaries")
+    void testPostingListEncoding() {
+        int[] ids = {0, 1, 128, 129, 16_512, 16_513, 2_113_664, 300_000_000};
+        PersonFuzzyIndex.PostingList list = new PersonFuzzyIndex.PostingList();
+        for (int id : ids) {
+            list.add(id);
+        }
+        assertArrayEquals(ids, list.toArray());
+        // Gaps 0, 1, 127 take one byte; 16383 two; 1, then 2097151 three; the last gap five
+        assertEquals(1 + 1 + 1 + 1 + 2 + 1 + 3 + 5, list.byteLength());
+    }
+
+    @Test
+    @DisplayName("Test exact name scores 1 and scores follow the Dice coefficient")
+    void testDiceScores() {
+        PersonFuzzyIndex index = new PersonFuzzyIndex(PERSONS);
+        ArrayList<PersonFuzzyIndex.Match> matches = index.search("Frodo Baggins", 5, 0.0);
+
+        assertEquals("000002", matches.get(0).getPerson().getID());
+        assertEquals(1.0, matches.get(0).getScore(), 1e-9);
+        assertEquals("000001", matches.get(1).getPerson().getID());
+
+        long[] query = PersonFuzzyIndex.trigrams("Frodo Baggins");
+        long[] other = PersonFuzzyIndex.trigrams("Bilbo Baggins");
+        int shared = 0;
+        for (long gram : query) {
+            for (long candidate : other) {
+                if (gram == candidate) {
+                    shared++;
+                }
+            }
+        }
+        assertEquals(2.0 * shared / (query.length + other.length), matches.get(1).getScore(), 1e-9);
+        for (int i = 1; i < matches.size(); i++) {
+            assertTrue(matches.get(i - 1).getScore() >= matches.get(i).getScore());
+        }
+    }
+
+    @Test
+    @DisplayName("Test misspelled and differently cased queries find the intended person")
+    void testMisspelledQueries() {
+        PersonFuzzyIndex index = new PersonFuzzyIndex(PERSONS);
+
+        assertEquals("000001", index.search("Bilbo Bagins", 1, 0.5).get(0).getPerson().getID());
+        assertEquals("000003", index.search("samwise  gamgie", 1, 0.5).get(0).getPerson().getID());
+        assertEquals("000005", index.search("Meriadok Brandibuck", 1, 0.4).get(0).getPerson().getID());
+        assertEquals("000004", index.search("Mr. Peregrin Took", 1, 0.5).get(0).getPerson().getID());
+    }
+
+    @Test
+    @DisplayName("Test limit, minimum score and empty queries")
+    void testLimits() {
+        PersonFuzzyIndex index = new PersonFuzzyIndex(PERSONS);
+
+        assertEquals(2, index.search("Baggins", 2, 0.0).size());
+        assertTrue(index.search("Zzyzx Qwv", 5, 0.3).isEmpty());
+        assertTrue(index.search("   ", 5, 0.0).isEmpty());
+        assertTrue(index.search("Frodo", 0, 0.0).isEmpty());
+        assertEquals(5, index.size());
+    }
+}
@@ -1,13 +1,11 @@
-import java.io.BufferedOutputStream;
-import java.io.BufferedWriter;
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
-import java.io.OutputStream;
-import java.io.OutputStreamWriter;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import static java.nio.file.StandardOpenOption.CREATE;
 import java.util.ArrayList;
 import java.util.Scanner;
 
@@ -21,7 +19,13 @@ import java.util.Scanner;
 public class PersonGenerator {
 
     public static void main(String[] args) {
-        Scanner pipe = new Scanner(System.in);
+        // Prepared entries: java PersonGenerator --bulk input.csv output.txt ("-" reads standard input)
+        if (args.length == 3 && args[0].equals("--bulk")) {
+            bulkLoad(args[1], args[2]);
+            return;
+        }
+
+        SafeInputObj input = new SafeInputObj(new Scanner(System.in));
         ArrayList<Person> personList = new ArrayList<>();  // Changed to ArrayList<Person>
         boolean continueInput = true;
 
@@ -34,23 +38,8 @@ public class PersonGenerator {
         while (continueInput) {
             System.out.println("Enter person information:");
 
-            // Get ID (String)
-            String id = SafeInput.getNonZeroLenString(pipe, "Enter ID (e.g., 000001)");
-
-            // Get First Name (String)
-            String firstName = SafeInput.getNonZeroLenString(pipe, "Enter First Name");
-
-            // Get Last Name (String)
-            String lastName = SafeInput.getNonZeroLenString(pipe, "Enter Last Name");
-
-            // Get Title (String)
-            String title = SafeInput.getNonZeroLenString(pipe, "Enter Title (e.g., Mr., Ms., Esq., Mrs., Dr.)");
-
-            // Get Year of Birth (int)
-            int yearOfBirth = SafeInput.getRangedInt(pipe, "Enter Year of Birth", 1940, 2010);
-
-            // Create Person object and add to ArrayList
-            Person person = new Person(firstName, lastName, id, title, yearOfBirth);
+            // Prompt for ID, names, title and year of birth, then add the Person to the ArrayList
+            Person person = readPerson(input);
             personList.add(person);
 
             System.out.println("\nPerson added: " + person.formalName());
@@ -61,13 +50,13 @@ public class PersonGenerator {
             System.out.println("Current age: " + person.getAge());
 
             // Ask if user wants to continue
-            continueInput = SafeInput.getYNConfirm(pipe, "Do you want to add another person?");
+            continueInput = input.getYNConfirm("Do you want to add another person?");
         }
 
         // If we have records, save them to a file
         if (!personList.isEmpty()) {
             // Get filename from user
-            String filename = SafeInput.getNonZeroLenString(pipe, "Enter filename to save data");
+            String filename = input.getNonZeroLenString("Enter filename to save data");
 
             // Automatically add .txt extension if not present
             if (!filename.toLowerCase().endsWith(".txt")) {
@@ -101,6 +90,66 @@ public class PersonGenerator {
         System.out.println("\nProgram completed. Thank you!");
     }
 
+    /**
+     * Prompts for one person's fields
+     * Used by the interactive loop in main and by SessionServer, where each
+     * connection has its own SafeInputObj
+     * @param input SafeInputObj to read from
+     * @return new Person
+     */
+    static Person readPerson(SafeInputObj input) {
+        String id = input.getNonZeroLenString("Enter ID (e.g., 000001)");
+        String firstName = input.getNonZeroLenString("Enter First Name");
+        String lastName = input.getNonZeroLenString("Enter Last Name");
+        String title = input.getNonZeroLenString("Enter Title (e.g., Mr., Ms., Esq., Mrs., Dr.)");
+        int yearOfBirth = input.getRangedInt("Enter Year of Birth", 1940, 2010);
+        return new Person(firstName, lastName, id, title, yearOfBirth);
+    }
+
+    /**
+     * Validates prepared CSV rows with the same rules as the prompts and saves the valid ones
+     * Rows are in the data format (ID, FirstName, LastName, Title, YearOfBirth); rows with errors are
+     * listed instead of being re-prompted
+     * @param input CSV file to load, or "-" for standard input
+     * @param filename Name of file to create
+     */
+    private static void bulkLoad(String input, String filename) {
+        SafeInputBulk.RowRules rules = new SafeInputBulk.RowRules()
+                .nonZeroLenString("ID")
+                .nonZeroLenString("First Name")
+                .nonZeroLenString("Last Name")
+                .nonZeroLenString("Title")
+                .rangedInt("Year of Birth", 1940, 2010);
+
+        SafeInputBulk.Report report;
+        try (BufferedReader reader = input.equals("-")
+                ? new BufferedReader(new InputStreamReader(System.in))
+                : Files.newBufferedReader(Paths.get(input), Charset.defaultCharset())) {
+            report = rules.validate(reader);
+        } catch (IOException e) {
+            System.out.println("Error reading file: " + e.getMessage());
+            return;
+        }
+
+        ArrayList<Person> personList = new ArrayList<>(report.getRows().size());
+        for (Object[] row : report.getRows()) {
+            personList.add(new Person((String) row[1], (String) row[2], (String) row[0],
+                    (String) row[3], (Integer) row[4]));
+        }
+        for (SafeInputBulk.RowError error : report.getErrors()) {
+            System.out.println(error);
+        }
+
+        // Automatically add .txt extension if not present
+        if (!filename.toLowerCase().endsWith(".txt")) {
+            filename = filename + ".txt";
+        }
+        if (!personList.isEmpty()) {
+            savePersonsToFile(personList, filename);
+        }
+        System.out.println("Persons saved: " + personList.size() + ", rows rejected: " + report.getRejectedCount());
+    }
+
     /**
      * Saves the Person objects to a text file using their toCSV() method
      * @param persons ArrayList of Person objects to save
@@ -112,19 +161,13 @@ public class PersonGenerator {
             File workingDirectory = new File(System.getProperty("user.dir"));
             Path file = Paths.get(workingDirectory.getPath() + File.separator + filename);
 
-            // Create BufferedWriter using NIO
-            OutputStream out = new BufferedOutputStream(Files.newOutputStream(file, CREATE));
-            BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out));
-
-            // Write each Person using their toCSV() method
-            for (Person person : persons) {
-                String csvRecord = person.toCSV();  // Use Person's toCSV() method
-                writer.write(csvRecord, 0, csvRecord.length());
-                writer.newLine();
+            // Stream the records to the file; closing writes the .bloom and .idx sidecars
+            try (RecordFileWriter<Person> writer = new RecordFileWriter<>(file, persons.size(), "PersonGenerator",
+                    Person::getID, Person::toCSV)) {
+                for (Person person : persons) {
+                    writer.write(person);
+                }
             }
-
-            // Close the writer
-            writer.close();
             System.out.println("\nData file written successfully!");
 
         } catch (IOException e) {
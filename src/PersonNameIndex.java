@@ -0,0 +1,262 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * PersonNameIndex - Prefix index over Person last and first names
+ * Used for type-ahead search without scanning the whole person list
+ * Names are stored in a trie with sorted child arrays so matches come back
+ * in alphabetical order and the search stops as soon as enough are found
+ *
+ * Name: Tika Khadka
+ */
+public final class PersonNameIndex {
+
+    private final ArrayList<Person> persons;
+    private final TrieNode lastNames;
+    private final TrieNode firstNames;
+    private int removed;
+
+    /**
+     * Default constructor - creates an empty index
+     */
+    public PersonNameIndex() {
+        this.persons = new ArrayList<>();
+        this.lastNames = new TrieNode();
+        this.firstNames = new TrieNode();
+    }
+
+    /**
+     * Constructor that indexes an existing list of persons
+     * @param persons List of Person objects to index
+     */
+    public PersonNameIndex(List<Person> persons) {
+        this();
+        addAll(persons);
+    }
+
+    /**
+     * Adds a person to the index
+     * @param person Person to add
+     */
+    public void add(Person person) {
+        int id = persons.size();
+        persons.add(person);
+        lastNames.insert(normalize(person.getLastName()), id);
+        firstNames.insert(normalize(person.getFirstName()), id);
+    }
+
+    /**
+     * Adds every person in a list to the index
+     * @param list List of Person objects to add
+     */
+    public void addAll(List<Person> list) {
+        persons.ensureCapacity(persons.size() + list.size());
+        for (Person person : list) {
+            add(person);
+        }
+    }
+
+    /**
+     * Removes a person from the index
+     * The person's slot is left empty so the ids of other persons stay valid
+     * @param person Person to remove (matched with equals)
+     * @return true if the person was indexed
+     */
+    public boolean remove(Person person) {
+        TrieNode lastNode = lastNames.find(normalize(person.getLastName()));
+        int id = lastNode == null ? -1 : lastNode.findId(persons, person);
+        if (id < 0) {
+            return false;
+        }
+        lastNode.removeId(id);
+        TrieNode firstNode = firstNames.find(normalize(person.getFirstName()));
+        if (firstNode != null) {
+            firstNode.removeId(id);
+        }
+        persons.set(id, null);
+        removed++;
+        return true;
+    }
+
+    /**
+     * Gets the number of indexed persons
+     * @return number of persons
+     */
+    public int size() {
+        return persons.size() - removed;
+    }
+
+    /**
+     * Finds persons whose last name starts with a prefix (case-insensitive)
+     * @param prefix Prefix to search for
+     * @param limit Maximum number of matches to return
+     * @return matching persons ordered by last name
+     */
+    public ArrayList<Person> searchLastName(String prefix, int limit) {
+        return search(lastNames, prefix, limit);
+    }
+
+    /**
+     * Finds persons whose first name starts with a prefix (case-insensitive)
+     * @param prefix Prefix to search for
+     * @param limit Maximum number of matches to return
+     * @return matching persons ordered by first name
+     */
+    public ArrayList<Person> searchFirstName(String prefix, int limit) {
+        return search(firstNames, prefix, limit);
+    }
+
+    /**
+     * Walks to the node for the prefix and collects matches below it
+     * @param root Root of the trie to search
+     * @param prefix Prefix to search for
+     * @param limit Maximum number of matches to return
+     * @return matching persons
+     */
+    private ArrayList<Person> search(TrieNode root, String prefix, int limit) {
+        ArrayList<Person> result = new ArrayList<>();
+        if (limit <= 0 || prefix == null) {
+            return result;
+        }
+
+        TrieNode node = root.find(normalize(prefix));
+        if (node != null) {
+            node.collect(persons, result, limit);
+        }
+        return result;
+    }
+
+    /**
+     * Normalizes a name for case-insensitive matching
+     * Uses the root locale so lookups do not depend on the default locale
+     * (e.g. "I" lower-cases to a dotless i in Turkish)
+     * @param name Name to normalize
+     * @return lower case name
+     */
+    private static String normalize(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * A trie node holding its children in parallel arrays sorted by character
+     * and the ids of persons whose name ends at this node
+     */
+    private static class TrieNode {
+        private char[] keys = new char[0];
+        private TrieNode[] children = new TrieNode[0];
+        private int childCount;
+        private int[] ids = new int[0];
+        private int idCount;
+
+        /**
+         * Inserts a name ending with the given person id
+         * @param name Normalized name
+         * @param id Position of the person in the index list
+         */
+        void insert(String name, int id) {
+            TrieNode node = this;
+            for (int i = 0; i < name.length(); i++) {
+                node = node.childFor(name.charAt(i));
+            }
+            node.addId(id);
+        }
+
+        /**
+         * Finds the node for a prefix
+         * @param prefix Normalized prefix
+         * @return node for the prefix or null if no name starts with it
+         */
+        TrieNode find(String prefix) {
+            TrieNode node = this;
+            for (int i = 0; i < prefix.length() && node != null; i++) {
+                int pos = Arrays.binarySearch(node.keys, 0, node.childCount, prefix.charAt(i));
+                node = pos >= 0 ? node.children[pos] : null;
+            }
+            return node;
+        }
+
+        /**
+         * Collects persons at and below this node in alphabetical order
+         * @param persons All indexed persons
+         * @param result List to add matches to
+         * @param limit Maximum size of result
+         */
+        void collect(ArrayList<Person> persons, ArrayList<Person> result, int limit) {
+            for (int i = 0; i < idCount && result.size() < limit; i++) {
+                result.add(persons.get(ids[i]));
+            }
+            for (int i = 0; i < childCount && result.size() < limit; i++) {
+                children[i].collect(persons, result, limit);
+            }
+        }
+
+        /**
+         * Gets the child for a character, creating it in sorted position if needed
+         * @param c Character of the child
+         * @return the child node
+         */
+        private TrieNode childFor(char c) {
+            int pos = Arrays.binarySearch(keys, 0, childCount, c);
+            if (pos >= 0) {
+                return children[pos];
+            }
+
+            int insertAt = -pos - 1;
+            if (childCount == keys.length) {
+                int newLength = Math.max(2, childCount * 2);
+                keys = Arrays.copyOf(keys, newLength);
+                children = Arrays.copyOf(children, newLength);
+            }
+            System.arraycopy(keys, insertAt, keys, insertAt + 1, childCount - insertAt);
+            System.arraycopy(children, insertAt, children, insertAt + 1, childCount - insertAt);
+
+            TrieNode child = new TrieNode();
+            keys[insertAt] = c;
+            children[insertAt] = child;
+            childCount++;
+            return child;
+        }
+
+        /**
+         * Finds the id of a person whose name ends at this node
+         * @param persons All indexed persons
+         * @param person Person to look for
+         * @return id, or -1 if not here
+         */
+        int findId(ArrayList<Person> persons, Person person) {
+            for (int i = 0; i < idCount; i++) {
+                if (person.equals(persons.get(ids[i]))) {
+                    return ids[i];
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Removes a person id, keeping the others in insertion order
+         * @param id Position of the person in the index list
+         */
+        void removeId(int id) {
+            for (int i = 0; i < idCount; i++) {
+                if (ids[i] == id) {
+                    System.arraycopy(ids, i + 1, ids, i, idCount - i - 1);
+                    idCount--;
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Records a person id whose name ends at this node
+         * @param id Position of the person in the index list
+         */
+        private void addId(int id) {
+            if (idCount == ids.length) {
+                ids = Arrays.copyOf(ids, Math.max(1, idCount * 2));
+            }
+            ids[idCount++] = id;
+        }
+    }
+}
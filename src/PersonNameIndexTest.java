@@ -0,0 +1,79 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * JUnit test class for PersonNameIndex class
+ * Tests prefix search, ordering, case folding and removal
+ *
+ * Name: Tika Khadka
+ */
+class PersonNameIndexTest {
+
+    private Person bilbo;
+    private Person frodo;
+    private Person sam;
+    private Person isildur;
+    private PersonNameIndex index;
+
+    /**
+     * Set up test fixtures before each test
+     * Creates test instances to use in tests
+     */
+    @BeforeEach
+    void setUp() {
+        bilbo = new Person("Bilbo", "Baggins", "000001", "Esq.", 1950);
+        frodo = new Person("Frodo", "Baggins", "000002", "Mr.", 1968);
+        sam = new Person("Samwise", "Gamgee", "000003", "Mr.", 1980);
+        isildur = new Person("Isildur", "Isil", "000004", "King", 1940);
+        index = new PersonNameIndex(Arrays.asList(sam, frodo, bilbo, isildur));
+    }
+
+    @Test
+    @DisplayName("Test prefix search returns matches in name order")
+    void testPrefixSearch() {
+        assertEquals(Arrays.asList(frodo, bilbo), index.searchLastName("Bag", 10));
+        assertEquals(Arrays.asList(sam), index.searchLastName("G", 10));
+        assertEquals(Arrays.asList(bilbo, frodo, isildur, sam), index.searchFirstName("", 10));
+        assertEquals(1, index.searchFirstName("", 1).size());
+        assertTrue(index.searchLastName("Bx", 10).isEmpty());
+        assertTrue(index.searchLastName("Baggins and more", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test search ignores case, also under a Turkish default locale")
+    void testCaseFolding() {
+        assertEquals(Arrays.asList(frodo, bilbo), index.searchLastName("bAGG", 10));
+
+        Locale saved = Locale.getDefault();
+        try {
+            Locale.setDefault(Locale.of("tr", "TR"));
+            PersonNameIndex turkish = new PersonNameIndex(Arrays.asList(isildur));
+            assertEquals(Arrays.asList(isildur), turkish.searchFirstName("ISIL", 10));
+            assertEquals(Arrays.asList(isildur), turkish.searchLastName("isil", 10));
+        } finally {
+            Locale.setDefault(saved);
+        }
+    }
+
+    @Test
+    @DisplayName("Test removed persons are no longer found")
+    void testRemove() {
+        assertTrue(index.remove(new Person("Bilbo", "Baggins", "000001", "Esq.", 1950)));
+        assertFalse(index.remove(bilbo));
+        assertFalse(index.remove(new Person("Nobody", "Here", "000009", "Mr.", 1950)));
+
+        assertEquals(3, index.size());
+        assertEquals(Arrays.asList(frodo), index.searchLastName("Baggins", 10));
+        assertTrue(index.searchFirstName("Bil", 10).isEmpty());
+
+        index.add(bilbo);
+        ArrayList<Person> found = index.searchFirstName("Bil", 10);
+        assertEquals(Arrays.asList(bilbo), found);
+        assertEquals(4, index.size());
+    }
+}
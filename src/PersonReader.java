@@ -2,12 +2,12 @@ import java.io.BufferedInputStream;
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import static java.nio.file.StandardOpenOption.CREATE;
 import java.util.ArrayList;
+import java.util.function.Consumer;
 import javax.swing.JFileChooser;
 
 /**
@@ -22,7 +22,6 @@ public class PersonReader {
     public static void main(String[] args) {
         JFileChooser chooser = new JFileChooser();
         File selectedFile;
-        String rec = "";
         ArrayList<Person> personList = new ArrayList<>();  // Changed to ArrayList<Person>
 
         final int FIELDS_LENGTH = 5;
@@ -40,22 +39,8 @@ public class PersonReader {
                 selectedFile = chooser.getSelectedFile();
                 Path file = selectedFile.toPath();
 
-                // Use NIO to read the file
-                InputStream in = new BufferedInputStream(Files.newInputStream(file, CREATE));
-                BufferedReader reader = new BufferedReader(new InputStreamReader(in));
-
                 // Read all lines and create Person objects
-                while (reader.ready()) {
-                    rec = reader.readLine();
-                    if (rec != null && !rec.trim().isEmpty()) {
-                        // Parse the CSV line and create Person object
-                        Person person = parsePersonFromCSV(rec);
-                        if (person != null) {
-                            personList.add(person);
-                        }
-                    }
-                }
-                reader.close();
+                readPersons(file, personList::add);
 
                 System.out.println("\nData file read successfully!");
                 System.out.println("File: " + selectedFile.getName());
@@ -82,12 +67,61 @@ public class PersonReader {
         System.out.println("\nProgram completed. Thank you!");
     }
 
+    /**
+     * Reads a person data file and parses each line into a Person object
+     * Records are handed to the sink one at a time, so files larger than the
+     * heap can be streamed; invalid lines are reported and skipped
+     * @param file Person data file
+     * @param sink Receives each parsed Person
+     * @return number of Person objects parsed
+     * @throws IOException if the file cannot be read
+     */
+    static long readPersons(Path file, Consumer<Person> sink) throws IOException {
+        // Use NIO to read the file
+        PipelineEvents.FileOpen openEvent = PipelineEvents.FileOpen.begin(file.toString(), "read");
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new BufferedInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+            openEvent.opened(Files.size(file));
+
+            // Progress is visible over JMX while large files load
+            PipelineMetrics metrics = PipelineMetrics.forPipeline("PersonReader");
+            PipelineEvents.ChunkParsed chunk = PipelineEvents.ChunkParsed.begin(file.toString());
+
+            long parsed = 0;
+            String rec;
+            while ((rec = reader.readLine()) != null) {
+                int lineBytes = PipelineMetrics.utf8Length(rec) + 1;
+                metrics.recordRead(lineBytes);
+                if (!rec.trim().isEmpty()) {
+                    // Parse the CSV line and create Person object
+                    long parseStart = System.nanoTime();
+                    Person person = parsePersonFromCSV(rec);
+                    if (person != null) {
+                        metrics.recordParsed(System.nanoTime() - parseStart);
+                        sink.accept(person);
+                        parsed++;
+                    } else {
+                        metrics.recordRejected();
+                    }
+
+                    // Report to Flight Recorder once per chunk, not per record
+                    if (chunk.add(lineBytes, person != null)) {
+                        chunk.finish();
+                        chunk = PipelineEvents.ChunkParsed.begin(file.toString());
+                    }
+                }
+            }
+            chunk.finish();
+            return parsed;
+        }
+    }
+
     /**
      * Parses a CSV line and creates a Person object
      * @param csvLine The CSV line to parse
      * @return Person object or null if parsing fails
      */
-    private static Person parsePersonFromCSV(String csvLine) {
+    static Person parsePersonFromCSV(String csvLine) {
         try {
             String[] fields = csvLine.split(",");
 
@@ -103,10 +137,12 @@ public class PersonReader {
                 return new Person(firstName, lastName, id, title, yob);
             } else {
                 System.out.println("Warning: Invalid CSV format: " + csvLine);
+                PipelineEvents.RecordRejected.emit(csvLine, "Invalid CSV format");
                 return null;
             }
         } catch (NumberFormatException e) {
             System.out.println("Error parsing year of birth in line: " + csvLine);
+            PipelineEvents.RecordRejected.emit(csvLine, "Invalid year of birth");
             return null;
         }
     }
@@ -116,25 +152,31 @@ public class PersonReader {
      * @param persons ArrayList of Person objects to display
      */
     private static void displayPersonData(ArrayList<Person> persons) {
-        System.out.println("\n" + "=".repeat(90));
-        System.out.printf("%-8s %-15s %-15s %-8s %-6s %-25s %-8s%n",
-                "ID#", "Firstname", "Lastname", "Title", "YOB", "Formal Name", "Age");
-        System.out.println("=".repeat(90));
+        // Look up the current year once instead of once per row
+        int currentYear = AgeAnalytics.currentYear();
+
+        // Lay out the columns once and write rows through one large buffer
+        System.out.flush();
+        TableRenderer<Person> table = new TableRenderer<Person>(TableRenderer.stdout())
+                .textColumn("ID#", 8, Person::getID)
+                .textColumn("Firstname", 15, Person::getFirstName)
+                .textColumn("Lastname", 15, Person::getLastName)
+                .textColumn("Title", 8, Person::getTitle)
+                .intColumn("YOB", 6, Person::getYOB)
+                .textColumn("Formal Name", 25, Person::formalName)
+                .intColumn("Age", 8, person -> currentYear - person.getYOB());
+
+        table.printLine("");
+        table.printRule('=', 90);
+        table.printHeader();
+        table.printRule('=', 90);
 
         // Display each Person using their methods
-        for (Person person : persons) {
-            System.out.printf("%-8s %-15s %-15s %-8s %-6d %-25s %-8s%n",
-                    person.getID(),
-                    person.getFirstName(),
-                    person.getLastName(),
-                    person.getTitle(),
-                    person.getYOB(),
-                    person.formalName(),
-                    person.getAge());
-        }
+        table.printRows(persons, 0, persons.size());
 
-        System.out.println("=".repeat(90));
-        System.out.println("Data display completed successfully!");
+        table.printRule('=', 90);
+        table.printLine("Data display completed successfully!");
+        table.flush();
     }
 
     /**
@@ -0,0 +1,192 @@
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * PipelineEvents - Java Flight Recorder events for the read, parse and write paths
+ * Events are per file or per chunk of records, never per parsed record, and
+ * cost little more than a flag check when no recording is running
+ * Record with: java -XX:StartFlightRecording=filename=lab.jfr PersonReader
+ * and look under Lab_01 / Pipeline in JDK Mission Control
+ *
+ * Name: Tika Khadka
+ */
+public class PipelineEvents {
+
+    /** Number of records covered by one ChunkParsed event */
+    public static final int CHUNK_RECORDS = 10_000;
+
+    private static final int MAX_LINE_LENGTH = 200;
+
+    @Name("lab01.FileOpen")
+    @Label("File Open")
+    @Category({"Lab_01", "Pipeline"})
+    @Description("A person or product data file was opened")
+    public static class FileOpen extends Event {
+        @Label("Path")
+        String path;
+
+        @Label("Mode")
+        String mode;
+
+        @Label("Size")
+        @DataAmount
+        long size;
+
+        /**
+         * Starts timing the opening of a file
+         * @param path Path of the file
+         * @param mode "read" or "write"
+         * @return started event
+         */
+        public static FileOpen begin(String path, String mode) {
+            FileOpen event = new FileOpen();
+            if (event.isEnabled()) {
+                event.path = path;
+                event.mode = mode;
+                event.begin();
+            }
+            return event;
+        }
+
+        /**
+         * Finishes the event once the file is open
+         * @param size Size of the file in bytes (0 for a new file)
+         */
+        public void opened(long size) {
+            if (isEnabled()) {
+                this.size = size;
+                commit();
+            }
+        }
+    }
+
+    @Name("lab01.ChunkParsed")
+    @Label("Chunk Parsed")
+    @Category({"Lab_01", "Pipeline"})
+    @Description("A chunk of CSV lines was read and parsed into objects")
+    public static class ChunkParsed extends Event {
+        @Label("Source")
+        String source;
+
+        @Label("Records")
+        int records;
+
+        @Label("Rejected")
+        int rejected;
+
+        @Label("Bytes")
+        @DataAmount
+        long bytes;
+
+        /**
+         * Starts timing a chunk
+         * @param source Name of the file being read
+         * @return started event
+         */
+        public static ChunkParsed begin(String source) {
+            ChunkParsed event = new ChunkParsed();
+            if (event.isEnabled()) {
+                event.source = source;
+                event.begin();
+            }
+            return event;
+        }
+
+        /**
+         * Counts one line in the chunk
+         * @param lineBytes Size of the line including its line break
+         * @param parsed true if the line became an object
+         * @return true when the chunk is full and should be finished
+         */
+        public boolean add(long lineBytes, boolean parsed) {
+            records++;
+            bytes += lineBytes;
+            if (!parsed) {
+                rejected++;
+            }
+            return records >= CHUNK_RECORDS;
+        }
+
+        /**
+         * Commits the chunk if it covered any records
+         */
+        public void finish() {
+            if (records > 0 && shouldCommit()) {
+                commit();
+            }
+        }
+    }
+
+    @Name("lab01.RecordRejected")
+    @Label("Record Rejected")
+    @Category({"Lab_01", "Pipeline"})
+    @Description("A CSV line could not be parsed")
+    public static class RecordRejected extends Event {
+        @Label("Line")
+        String line;
+
+        @Label("Reason")
+        String reason;
+
+        /**
+         * Records a rejected line (the line is cut to 200 characters)
+         * @param line Rejected line
+         * @param reason Why it was rejected
+         */
+        public static void emit(String line, String reason) {
+            RecordRejected event = new RecordRejected();
+            if (event.shouldCommit()) {
+                event.line = line.length() > MAX_LINE_LENGTH ? line.substring(0, MAX_LINE_LENGTH) : line;
+                event.reason = reason;
+                event.commit();
+            }
+        }
+    }
+
+    @Name("lab01.Flush")
+    @Label("Flush")
+    @Category({"Lab_01", "Pipeline"})
+    @Description("Buffered records were flushed to the data file and its sidecars")
+    public static class Flush extends Event {
+        @Label("Path")
+        String path;
+
+        @Label("Records")
+        long records;
+
+        @Label("Bytes")
+        @DataAmount
+        long bytes;
+
+        /**
+         * Starts timing a flush
+         * @param path Path of the file being written
+         * @param records Records written since the last flush
+         * @param bytes Bytes written since the last flush
+         * @return started event
+         */
+        public static Flush begin(String path, long records, long bytes) {
+            Flush event = new Flush();
+            if (event.isEnabled()) {
+                event.path = path;
+                event.records = records;
+                event.bytes = bytes;
+                event.begin();
+            }
+            return event;
+        }
+
+        /**
+         * Commits the flush once the data and sidecars are on disk
+         */
+        public void finish() {
+            if (shouldCommit()) {
+                commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,316 @@
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * PipelineMetrics - Live ingest/export counters exposed as a platform MBean
+ * Shows up in JConsole or VisualVM under Lab_01 &gt; PipelineMetrics &gt; name
+ * Counters are striped LongAdders so many threads can record without contention,
+ * and parse times go into a fixed log-linear histogram (8 sub-buckets per power
+ * of two, so reported percentiles are within about 12.5% of the true value)
+ * Byte counters hold UTF-8 encoded bytes, the encoding of the data files
+ * Current throughput is sampled once per SAMPLE_SECONDS by a daemon thread, so
+ * reading it over JMX never moves the window another console is watching
+ *
+ * Name: Tika Khadka
+ */
+public class PipelineMetrics implements PipelineMetricsMBean {
+
+    private static final ConcurrentHashMap<String, PipelineMetrics> PIPELINES = new ConcurrentHashMap<>();
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    /** Length of the current throughput window */
+    static final int SAMPLE_SECONDS = 1;
+    private static final ScheduledExecutorService SAMPLER = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "PipelineMetrics-sampler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    static {
+        SAMPLER.scheduleAtFixedRate(() -> PIPELINES.values().forEach(PipelineMetrics::sample),
+                SAMPLE_SECONDS, SAMPLE_SECONDS, TimeUnit.SECONDS);
+    }
+
+    private final LongAdder recordsRead = new LongAdder();
+    private final LongAdder recordsParsed = new LongAdder();
+    private final LongAdder recordsRejected = new LongAdder();
+    private final LongAdder recordsWritten = new LongAdder();
+    private final LongAdder bytesIn = new LongAdder();
+    private final LongAdder bytesOut = new LongAdder();
+    private final LongAdder[] parseTimes = new LongAdder[BUCKETS];
+    private final LongAccumulator parseTimeMax = new LongAccumulator(Math::max, 0);
+
+    private volatile long startNanos;
+    private volatile Sample lastSample;
+
+    /**
+     * Constructor - use forPipeline to get a registered instance
+     */
+    PipelineMetrics() {
+        for (int i = 0; i < BUCKETS; i++) {
+            parseTimes[i] = new LongAdder();
+        }
+        reset();
+    }
+
+    /**
+     * Gets the metrics for a named pipeline, registering its MBean on first use
+     * @param name Pipeline name, e.g. "PersonReader"
+     * @return shared metrics for that name
+     */
+    public static PipelineMetrics forPipeline(String name) {
+        return PIPELINES.computeIfAbsent(name, n -> {
+            PipelineMetrics metrics = new PipelineMetrics();
+            try {
+                MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+                ObjectName objectName = new ObjectName("Lab_01:type=PipelineMetrics,name=" + ObjectName.quote(n));
+                if (!server.isRegistered(objectName)) {
+                    server.registerMBean(metrics, objectName);
+                }
+            } catch (JMException e) {
+                // Metrics still work without JMX, they just cannot be viewed remotely
+                System.out.println("Warning: could not register metrics MBean: " + e.getMessage());
+            }
+            return metrics;
+        });
+    }
+
+    /**
+     * Records a line read from a data file
+     * @param bytes Encoded size of the line including its line break
+     */
+    public void recordRead(long bytes) {
+        recordsRead.increment();
+        bytesIn.add(bytes);
+    }
+
+    /**
+     * Records a line that parsed into an object
+     * @param nanos Time spent parsing
+     */
+    public void recordParsed(long nanos) {
+        recordsParsed.increment();
+        parseTimes[bucketOf(nanos)].increment();
+        parseTimeMax.accumulate(nanos);
+    }
+
+    /**
+     * Records a line that could not be parsed
+     */
+    public void recordRejected() {
+        recordsRejected.increment();
+    }
+
+    /**
+     * Records a line written to a data file
+     * @param bytes Encoded size of the line including its line break
+     */
+    public void recordWritten(long bytes) {
+        recordsWritten.increment();
+        bytesOut.add(bytes);
+    }
+
+    @Override
+    public long getRecordsRead() {
+        return recordsRead.sum();
+    }
+
+    @Override
+    public long getRecordsParsed() {
+        return recordsParsed.sum();
+    }
+
+    @Override
+    public long getRecordsRejected() {
+        return recordsRejected.sum();
+    }
+
+    @Override
+    public long getRecordsWritten() {
+        return recordsWritten.sum();
+    }
+
+    @Override
+    public long getBytesIn() {
+        return bytesIn.sum();
+    }
+
+    @Override
+    public long getBytesOut() {
+        return bytesOut.sum();
+    }
+
+    @Override
+    public double getCurrentThroughput() {
+        return lastSample.throughput;
+    }
+
+    /**
+     * Closes the current throughput window and starts the next one
+     * Called by the sampler thread; getters only read the last sample
+     */
+    synchronized void sample() {
+        long now = System.nanoTime();
+        long records = recordsRead.sum() + recordsWritten.sum();
+        Sample previous = lastSample;
+        double seconds = (now - previous.nanos) / 1e9;
+        double throughput = seconds > 0 ? (records - previous.records) / seconds : 0.0;
+        lastSample = new Sample(now, records, throughput);
+    }
+
+    @Override
+    public double getAverageThroughput() {
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        return seconds > 0 ? (recordsRead.sum() + recordsWritten.sum()) / seconds : 0.0;
+    }
+
+    @Override
+    public long getParseTimeP50Nanos() {
+        return parseTimePercentile(50);
+    }
+
+    @Override
+    public long getParseTimeP90Nanos() {
+        return parseTimePercentile(90);
+    }
+
+    @Override
+    public long getParseTimeP99Nanos() {
+        return parseTimePercentile(99);
+    }
+
+    @Override
+    public long getParseTimeMaxNanos() {
+        return parseTimeMax.get();
+    }
+
+    @Override
+    public long getElapsedSeconds() {
+        return (System.nanoTime() - startNanos) / 1_000_000_000L;
+    }
+
+    @Override
+    public synchronized void reset() {
+        recordsRead.reset();
+        recordsParsed.reset();
+        recordsRejected.reset();
+        recordsWritten.reset();
+        bytesIn.reset();
+        bytesOut.reset();
+        for (LongAdder bucket : parseTimes) {
+            bucket.reset();
+        }
+        parseTimeMax.reset();
+        startNanos = System.nanoTime();
+        lastSample = new Sample(startNanos, 0, 0.0);
+    }
+
+    /**
+     * Counts the UTF-8 bytes of a line without encoding it
+     * @param line Line text
+     * @return encoded length in bytes
+     */
+    public static int utf8Length(String line) {
+        int bytes = 0;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c < 0x80) {
+                bytes += 1;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < line.length()
+                    && Character.isLowSurrogate(line.charAt(i + 1))) {
+                bytes += 4;
+                i++;
+            } else {
+                bytes += 3;
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Estimates a parse-time percentile from the histogram
+     * @param percentile Percentile to find (0-100)
+     * @return upper bound of the bucket holding the percentile, or 0 with no data
+     */
+    public long parseTimePercentile(double percentile) {
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = parseTimes[i].sum();
+            total += counts[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(bucketUpperBound(i), parseTimeMax.get());
+            }
+        }
+        return parseTimeMax.get();
+    }
+
+    /**
+     * Finds the histogram bucket for a value
+     * Values below 8 get their own bucket; larger values use the top 3 bits
+     * after the leading one as the sub-bucket of their power of two
+     * @param value Value to place
+     * @return bucket number
+     */
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) Math.max(0, value);
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    /**
+     * Gets the largest value that falls in a bucket
+     * @param bucket Bucket number
+     * @return inclusive upper bound
+     */
+    static long bucketUpperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        int sub = bucket % SUB_BUCKETS;
+        long lower = (1L << exponent) + ((long) sub << (exponent - SUB_BUCKET_BITS));
+        return lower + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+
+    /**
+     * An immutable throughput sample: when it was taken, the record total then,
+     * and the rate over the window that ended there
+     */
+    private static final class Sample {
+        private final long nanos;
+        private final long records;
+        private final double throughput;
+
+        Sample(long nanos, long records, double throughput) {
+            this.nanos = nanos;
+            this.records = records;
+            this.throughput = throughput;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+/**
+ * PipelineMetricsMBean - JMX view of a reader or generator pipeline's progress
+ * Attribute names follow the getter names (e.g. RecordsRead, ParseTimeP99Nanos)
+ *
+ * Name: Tika Khadka
+ */
+public interface PipelineMetricsMBean {
+
+    long getRecordsRead();
+
+    long getRecordsParsed();
+
+    long getRecordsRejected();
+
+    long getRecordsWritten();
+
+    /**
+     * UTF-8 bytes read, including line breaks
+     * @return bytes in
+     */
+    long getBytesIn();
+
+    /**
+     * UTF-8 bytes written, including line breaks
+     * @return bytes out
+     */
+    long getBytesOut();
+
+    /**
+     * Records read plus written per second over the last completed sample window
+     * @return current throughput
+     */
+    double getCurrentThroughput();
+
+    /**
+     * Records read plus written per second since start or the last reset
+     * @return average throughput
+     */
+    double getAverageThroughput();
+
+    long getParseTimeP50Nanos();
+
+    long getParseTimeP90Nanos();
+
+    long getParseTimeP99Nanos();
+
+    long getParseTimeMaxNanos();
+
+    long getElapsedSeconds();
+
+    /**
+     * Clears every counter and the parse-time histogram
+     */
+    void reset();
+}
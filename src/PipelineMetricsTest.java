@@ -0,0 +1,112 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * JUnit test class for PipelineMetrics class
+ * Tests the registered MBean, UTF-8 byte counts, throughput sampling and
+ * the parse-time histogram
+ *
+ * Name: Tika Khadka
+ */
+class PipelineMetricsTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Test forPipeline registers one MBean whose attributes follow the counters")
+    void testMBeanAttributes() throws JMException {
+        PipelineMetrics metrics = PipelineMetrics.forPipeline("PipelineMetricsTest-mbean");
+        assertSame(metrics, PipelineMetrics.forPipeline("PipelineMetricsTest-mbean"));
+        metrics.recordRead(10);
+        metrics.recordRead(20);
+        metrics.recordParsed(1000);
+        metrics.recordRejected();
+        metrics.recordWritten(5);
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName("Lab_01:type=PipelineMetrics,name="
+                + ObjectName.quote("PipelineMetricsTest-mbean"));
+        assertEquals(2L, server.getAttribute(name, "RecordsRead"));
+        assertEquals(1L, server.getAttribute(name, "RecordsParsed"));
+        assertEquals(1L, server.getAttribute(name, "RecordsRejected"));
+        assertEquals(1L, server.getAttribute(name, "RecordsWritten"));
+        assertEquals(30L, server.getAttribute(name, "BytesIn"));
+        assertEquals(5L, server.getAttribute(name, "BytesOut"));
+
+        server.invoke(name, "reset", null, null);
+        assertEquals(0L, server.getAttribute(name, "RecordsRead"));
+        assertEquals(0L, server.getAttribute(name, "ParseTimeMaxNanos"));
+    }
+
+    @Test
+    @DisplayName("Test byte counters hold UTF-8 bytes, matching the written file")
+    void testUtf8Bytes() throws IOException {
+        assertEquals(0, PipelineMetrics.utf8Length(""));
+        assertEquals(5, PipelineMetrics.utf8Length("Frodo"));
+        assertEquals(6, PipelineMetrics.utf8Length("\u00c9owyn"));
+        assertEquals(3, PipelineMetrics.utf8Length("\u20ac"));
+        assertEquals(4, PipelineMetrics.utf8Length("\ud83d\ude00"));
+
+        PipelineMetrics metrics = PipelineMetrics.forPipeline("PipelineMetricsTest-bytes");
+        Path file = tempDir.resolve("persons.txt");
+        try (RecordFileWriter<Person> writer = new RecordFileWriter<>(file, 10, "PipelineMetricsTest-bytes",
+                Person::getID, Person::toCSV)) {
+            writer.write(new Person("\u00c9owyn", "of Rohan", "000001", "Ms.", 1970));
+            writer.write(new Person("J\u00fcrgen", "M\u00fcller", "000002", "Mr.", 1980));
+        }
+        assertEquals(Files.size(file), metrics.getBytesOut());
+    }
+
+    @Test
+    @DisplayName("Test reading current throughput does not move the sample window")
+    void testThroughputSampling() throws InterruptedException {
+        PipelineMetrics metrics = new PipelineMetrics();
+        assertEquals(0.0, metrics.getCurrentThroughput());
+
+        for (int i = 0; i < 1000; i++) {
+            metrics.recordRead(1);
+        }
+        Thread.sleep(20);
+        metrics.sample();
+        double throughput = metrics.getCurrentThroughput();
+        assertTrue(throughput > 0);
+        // Two consoles polling read the same value until the next sample
+        assertEquals(throughput, metrics.getCurrentThroughput());
+        assertEquals(throughput, metrics.getCurrentThroughput());
+
+        metrics.sample();
+        assertEquals(0.0, metrics.getCurrentThroughput());
+    }
+
+    @Test
+    @DisplayName("Test parse-time percentiles come from the histogram bucket bounds")
+    void testPercentiles() {
+        PipelineMetrics metrics = new PipelineMetrics();
+        assertEquals(0, metrics.getParseTimeP50Nanos());
+        for (int i = 1; i <= 100; i++) {
+            metrics.recordParsed(i * 100L);
+        }
+
+        long p50 = metrics.getParseTimeP50Nanos();
+        assertTrue(p50 >= 5000 && p50 <= 5000 * 1.125, "p50 " + p50);
+        long p99 = metrics.getParseTimeP99Nanos();
+        assertTrue(p99 >= 9900 && p99 <= 10_000, "p99 " + p99);
+        assertEquals(10_000, metrics.getParseTimeMaxNanos());
+
+        for (long value : new long[]{0, 7, 8, 9, 1000, 123_456_789L}) {
+            int bucket = PipelineMetrics.bucketOf(value);
+            assertTrue(value <= PipelineMetrics.bucketUpperBound(bucket));
+            assertTrue(bucket == 0 || value > PipelineMetrics.bucketUpperBound(bucket - 1));
+        }
+    }
+}
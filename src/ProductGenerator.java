@@ -1,13 +1,11 @@
-import java.io.BufferedOutputStream;
-import java.io.BufferedWriter;
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
-import java.io.OutputStream;
-import java.io.OutputStreamWriter;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import static java.nio.file.StandardOpenOption.CREATE;
 import java.util.ArrayList;
 import java.util.Scanner;
 
@@ -21,7 +19,13 @@ import java.util.Scanner;
 public class ProductGenerator {
 
     public static void main(String[] args) {
-        Scanner pipe = new Scanner(System.in);
+        // Prepared entries: java ProductGenerator --bulk input.csv output.txt ("-" reads standard input)
+        if (args.length == 3 && args[0].equals("--bulk")) {
+            bulkLoad(args[1], args[2]);
+            return;
+        }
+
+        SafeInputObj input = new SafeInputObj(new Scanner(System.in));
         ArrayList<Product> productList = new ArrayList<>();
         boolean continueInput = true;
 
@@ -34,37 +38,19 @@ public class ProductGenerator {
         while (continueInput) {
             System.out.println("Enter product information:");
 
-            // Get ID (String)
-            String id = SafeInput.getNonZeroLenString(pipe, "Enter Product ID (e.g., P001)");
-
-            // Get Name (String)
-            String name = SafeInput.getNonZeroLenString(pipe, "Enter Product Name");
-
-            // Get Description (String)
-            String description = SafeInput.getNonZeroLenString(pipe, "Enter Product Description");
-
-            // Get Cost (double)
-            double cost = SafeInput.getDouble(pipe, "Enter Product Cost");
-
-            // Validate cost is not negative
-            while (cost < 0) {
-                System.out.println("Cost cannot be negative. Please enter a valid cost.");
-                cost = SafeInput.getDouble(pipe, "Enter Product Cost");
-            }
-
-            // Create Product object and add to ArrayList
-            Product product = new Product(name, description, id, cost);
+            // Prompt for ID, name, description and a non-negative cost, then add the Product to the ArrayList
+            Product product = readProduct(input);
             productList.add(product);
 
 
             // Ask if user wants to continue
-            continueInput = SafeInput.getYNConfirm(pipe, "Do you want to add another product?");
+            continueInput = input.getYNConfirm("Do you want to add another product?");
         }
 
         // If we have records, save them to a file
         if (!productList.isEmpty()) {
             // Get filename from user
-            String filename = SafeInput.getNonZeroLenString(pipe, "Enter filename to save data");
+            String filename = input.getNonZeroLenString("Enter filename to save data");
 
             // Automatically add .txt extension if not present
             if (!filename.toLowerCase().endsWith(".txt")) {
@@ -77,6 +63,70 @@ public class ProductGenerator {
         }
     }
 
+    /**
+     * Prompts for one product's fields
+     * Used by the interactive loop in main and by SessionServer, where each
+     * connection has its own SafeInputObj
+     * @param input SafeInputObj to read from
+     * @return new Product
+     */
+    static Product readProduct(SafeInputObj input) {
+        String id = input.getNonZeroLenString("Enter Product ID (e.g., P001)");
+        String name = input.getNonZeroLenString("Enter Product Name");
+        String description = input.getNonZeroLenString("Enter Product Description");
+        double cost = input.getValid("Enter Product Cost", ValidationRule.doubleValue()
+                .and(value -> value >= 0, value -> "Cost cannot be negative. Please enter a valid cost."));
+        return new Product(name, description, id, cost);
+    }
+
+    /**
+     * Validates prepared CSV rows with the same rules as the prompts and saves the valid ones
+     * Rows are in the data format (ID, Name, Description, Cost); rows with errors are
+     * listed instead of being re-prompted
+     * @param input CSV file to load, or "-" for standard input
+     * @param filename Name of file to create
+     */
+    private static void bulkLoad(String input, String filename) {
+        SafeInputBulk.RowRules rules = new SafeInputBulk.RowRules()
+                .nonZeroLenString("ID")
+                .nonZeroLenString("Name")
+                .nonZeroLenString("Description")
+                .column("Cost", value -> {
+                    SafeInputBulk.Result<Double> cost = SafeInputBulk.doubleValue(value);
+                    if (cost.isValid() && cost.getValue() < 0) {
+                        return SafeInputBulk.Result.error("Cost cannot be negative: " + value);
+                    }
+                    return cost;
+                });
+
+        SafeInputBulk.Report report;
+        try (BufferedReader reader = input.equals("-")
+                ? new BufferedReader(new InputStreamReader(System.in))
+                : Files.newBufferedReader(Paths.get(input), Charset.defaultCharset())) {
+            report = rules.validate(reader);
+        } catch (IOException e) {
+            System.out.println("Error reading file: " + e.getMessage());
+            return;
+        }
+
+        ArrayList<Product> productList = new ArrayList<>(report.getRows().size());
+        for (Object[] row : report.getRows()) {
+            productList.add(new Product((String) row[1], (String) row[2], (String) row[0], (Double) row[3]));
+        }
+        for (SafeInputBulk.RowError error : report.getErrors()) {
+            System.out.println(error);
+        }
+
+        // Automatically add .txt extension if not present
+        if (!filename.toLowerCase().endsWith(".txt")) {
+            filename = filename + ".txt";
+        }
+        if (!productList.isEmpty()) {
+            saveProductsToFile(productList, filename);
+        }
+        System.out.println("Products saved: " + productList.size() + ", rows rejected: " + report.getRejectedCount());
+    }
+
     /**
      * Saves the Product objects to a text file using their toCSV() method
      * @param products ArrayList of Product objects to save
@@ -88,20 +138,14 @@ public class ProductGenerator {
             File workingDirectory = new File(System.getProperty("user.dir"));
             Path file = Paths.get(workingDirectory.getPath() + File.separator + filename);
 
-            // Create BufferedWriter using NIO
-            OutputStream out = new BufferedOutputStream(Files.newOutputStream(file, CREATE));
-            BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out));
-
-            // Write each Product using their toCSV() method
-            for (Product product : products) {
-                String csvRecord = product.toCSV();
-                writer.write(csvRecord, 0, csvRecord.length());
-                writer.newLine();
+            // Stream the records to the file; closing writes the .bloom and .idx sidecars
+            try (RecordFileWriter<Product> writer = new RecordFileWriter<>(file, products.size(), "ProductGenerator",
+                    Product::getID, Product::toCSV)) {
+                for (Product product : products) {
+                    writer.write(product);
+                }
             }
 
-            // Close the writer
-            writer.close();
-
         } catch (IOException e) {
             System.out.println("Error writing to file: " + e.getMessage());
         }
@@ -2,12 +2,12 @@ import java.io.BufferedInputStream;
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import static java.nio.file.StandardOpenOption.CREATE;
 import java.util.ArrayList;
+import java.util.function.Consumer;
 import javax.swing.JFileChooser;
 
 /**
@@ -22,7 +22,6 @@ public class ProductReader {
     public static void main(String[] args) {
         JFileChooser chooser = new JFileChooser();
         File selectedFile;
-        String rec = "";
         ArrayList<Product> productList = new ArrayList<>();
 
         final int FIELDS_LENGTH = 4;
@@ -40,22 +39,8 @@ public class ProductReader {
                 selectedFile = chooser.getSelectedFile();
                 Path file = selectedFile.toPath();
 
-                // Use NIO to read the file
-                InputStream in = new BufferedInputStream(Files.newInputStream(file, CREATE));
-                BufferedReader reader = new BufferedReader(new InputStreamReader(in));
-
                 // Read all lines and create Product objects
-                while (reader.ready()) {
-                    rec = reader.readLine();
-                    if (rec != null && !rec.trim().isEmpty()) {
-                        // Parse the CSV line and create Product object
-                        Product product = parseProductFromCSV(rec);
-                        if (product != null) {
-                            productList.add(product);
-                        }
-                    }
-                }
-                reader.close();
+                readProducts(file, productList::add);
 
                 // Display formatted data using Product objects
                 displayProductData(productList);
@@ -69,12 +54,61 @@ public class ProductReader {
         }
     }
 
+    /**
+     * Reads a product data file and parses each line into a Product object
+     * Records are handed to the sink one at a time, so files larger than the
+     * heap can be streamed; invalid lines are reported and skipped
+     * @param file Product data file
+     * @param sink Receives each parsed Product
+     * @return number of Product objects parsed
+     * @throws IOException if the file cannot be read
+     */
+    static long readProducts(Path file, Consumer<Product> sink) throws IOException {
+        // Use NIO to read the file
+        PipelineEvents.FileOpen openEvent = PipelineEvents.FileOpen.begin(file.toString(), "read");
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new BufferedInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+            openEvent.opened(Files.size(file));
+
+            // Progress is visible over JMX while large files load
+            PipelineMetrics metrics = PipelineMetrics.forPipeline("ProductReader");
+            PipelineEvents.ChunkParsed chunk = PipelineEvents.ChunkParsed.begin(file.toString());
+
+            long parsed = 0;
+            String rec;
+            while ((rec = reader.readLine()) != null) {
+                int lineBytes = PipelineMetrics.utf8Length(rec) + 1;
+                metrics.recordRead(lineBytes);
+                if (!rec.trim().isEmpty()) {
+                    // Parse the CSV line and create Product object
+                    long parseStart = System.nanoTime();
+                    Product product = parseProductFromCSV(rec);
+                    if (product != null) {
+                        metrics.recordParsed(System.nanoTime() - parseStart);
+                        sink.accept(product);
+                        parsed++;
+                    } else {
+                        metrics.recordRejected();
+                    }
+
+                    // Report to Flight Recorder once per chunk, not per record
+                    if (chunk.add(lineBytes, product != null)) {
+                        chunk.finish();
+                        chunk = PipelineEvents.ChunkParsed.begin(file.toString());
+                    }
+                }
+            }
+            chunk.finish();
+            return parsed;
+        }
+    }
+
     /**
      * Parses a CSV line and creates a Product object
      * @param csvLine The CSV line to parse
      * @return Product object or null if parsing fails
      */
-    private static Product parseProductFromCSV(String csvLine) {
+    static Product parseProductFromCSV(String csvLine) {
         try {
             String[] fields = csvLine.split(",");
 
@@ -88,8 +122,10 @@ public class ProductReader {
                 // Create and return Product object
                 return new Product(name, description, id, cost);
             }
+            PipelineEvents.RecordRejected.emit(csvLine, "Invalid CSV format");
         } catch (NumberFormatException e) {
             // Handle parsing error silently
+            PipelineEvents.RecordRejected.emit(csvLine, "Invalid cost");
         }
         return null;
     }
@@ -99,21 +135,24 @@ public class ProductReader {
      * @param products ArrayList of Product objects to display
      */
     private static void displayProductData(ArrayList<Product> products) {
-        System.out.println("\n" + "=".repeat(100));
-        System.out.printf("%-8s %-20s %-30s %-10s%n",
-                "ID#", "Name", "Description", "Cost");
-        System.out.println("=".repeat(100));
+        // Lay out the columns once and write rows through one large buffer
+        System.out.flush();
+        TableRenderer<Product> table = new TableRenderer<Product>(TableRenderer.stdout())
+                .textColumn("ID#", 8, Product::getID)
+                .textColumn("Name", 20, Product::getName)
+                .textColumn("Description", 30, Product::getDescription)
+                .moneyColumn("Cost", 10, Product::getCost);
+
+        table.printLine("");
+        table.printRule('=', 100);
+        table.printHeader();
+        table.printRule('=', 100);
 
         // Display each Product using their methods
-        for (Product product : products) {
-            System.out.printf("%-8s %-20s %-30s $%-9.2f%n",
-                    product.getID(),
-                    product.getName(),
-                    product.getDescription(),
-                    product.getCost());
-        }
+        table.printRows(products, 0, products.size());
 
-        System.out.println("=".repeat(100));
+        table.printRule('=', 100);
+        table.flush();
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,328 @@
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ProductReconciler - Streaming diff between two product files
+ * Finds products that were added, deleted, or changed (field by field) between
+ * an old and a new file without nested loops
+ * Both files are hash-partitioned by ID so each partition of either file fits
+ * in the memory budget; partitions are compared in parallel by hashing the old
+ * side and streaming the new side, and their change sets are joined in order
+ * At most MAX_OPEN_PARTITIONS partition files are written at once; more
+ * partitions are split in two levels
+ *
+ * Change set lines:
+ *   ADD, ID, name, description, cost
+ *   DELETE, ID, name, description, cost
+ *   UPDATE, ID, field, old -> new
+ *
+ * Usage: java ProductReconciler old.txt new.txt changes.txt [memoryMB] [threads]
+ *
+ * Name: Tika Khadka
+ */
+public class ProductReconciler {
+
+    // Rough heap bytes needed per byte of CSV once lines become Product objects in a HashMap
+    private static final long HEAP_BYTES_PER_FILE_BYTE = 8;
+    private static final int MAX_PARTITIONS = 4096;
+    /** Most partition writers (file descriptors and buffers) open at once */
+    static final int MAX_OPEN_PARTITIONS = 64;
+
+    private final long memoryBytes;
+    private final int threads;
+    private final AtomicLong adds = new AtomicLong();
+    private final AtomicLong deletes = new AtomicLong();
+    private final AtomicLong updates = new AtomicLong();
+
+    /**
+     * Constructor for a reconciler
+     * @param memoryBytes Approximate heap budget shared by all threads
+     * @param threads Number of partitions compared at once
+     */
+    public ProductReconciler(long memoryBytes, int threads) {
+        if (memoryBytes <= 0 || threads <= 0) {
+            throw new IllegalArgumentException("Memory budget and thread count must be positive");
+        }
+        this.memoryBytes = memoryBytes;
+        this.threads = threads;
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 3) {
+            System.out.println("Usage: java ProductReconciler old.txt new.txt changes.txt [memoryMB] [threads]");
+            return;
+        }
+
+        long memoryBytes = (args.length > 3 ? Long.parseLong(args[3]) : 256) * 1024 * 1024;
+        int threads = args.length > 4 ? Integer.parseInt(args[4]) : Runtime.getRuntime().availableProcessors();
+
+        try {
+            ProductReconciler reconciler = new ProductReconciler(memoryBytes, threads);
+            reconciler.reconcile(Paths.get(args[0]), Paths.get(args[1]), Paths.get(args[2]));
+            System.out.println("Added: " + reconciler.getAdds() + ", deleted: " + reconciler.getDeletes()
+                    + ", updated: " + reconciler.getUpdates());
+        } catch (IOException e) {
+            System.out.println("Error reconciling files: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Writes the change set that turns the old file into the new file
+     * IDs are expected to be unique within each file (see IdDeduplicator)
+     * @param oldFile Yesterday's product file
+     * @param newFile Today's product file
+     * @param changesFile File to write the change set to
+     * @throws IOException if a file cannot be read or written
+     */
+    public void reconcile(Path oldFile, Path newFile, Path changesFile) throws IOException {
+        adds.set(0);
+        deletes.set(0);
+        updates.set(0);
+
+        // Each running partition holds its share of the old file in a HashMap and
+        // the IDs seen on the new side in a HashSet, so size by the larger file
+        long perPartition = Math.max(1, memoryBytes / threads);
+        long heap = Math.max(Files.size(oldFile), Files.size(newFile)) * HEAP_BYTES_PER_FILE_BYTE;
+        int partitions = (int) Math.min(MAX_PARTITIONS, heap / perPartition + 1);
+
+        if (partitions == 1) {
+            try (BufferedWriter out = Files.newBufferedWriter(changesFile)) {
+                comparePartition(oldFile, newFile, out);
+            }
+            return;
+        }
+
+        Path tempDir = Files.createTempDirectory("product-diff");
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Path> oldParts = partition(oldFile, tempDir, "old-", partitions);
+            List<Path> newParts = partition(newFile, tempDir, "new-", partitions);
+
+            ArrayList<Future<Path>> pending = new ArrayList<>();
+            for (int i = 0; i < partitions; i++) {
+                Path oldPart = oldParts.get(i);
+                Path newPart = newParts.get(i);
+                Path changePart = tempDir.resolve("changes-" + i);
+                pending.add(pool.submit(() -> {
+                    try (BufferedWriter out = Files.newBufferedWriter(changePart)) {
+                        comparePartition(oldPart, newPart, out);
+                    }
+                    Files.delete(oldPart);
+                    Files.delete(newPart);
+                    return changePart;
+                }));
+            }
+
+            // Join partition change sets in partition order
+            try (BufferedWriter out = Files.newBufferedWriter(changesFile)) {
+                for (Future<Path> future : pending) {
+                    Path changePart = future.get();
+                    try (BufferedReader reader = Files.newBufferedReader(changePart)) {
+                        reader.transferTo(out);
+                    }
+                    Files.delete(changePart);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while reconciling", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Error comparing partition: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            pool.shutdownNow();
+            try (var files = Files.list(tempDir)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    Files.deleteIfExists(file);
+                }
+            }
+            Files.deleteIfExists(tempDir);
+        }
+    }
+
+    /**
+     * Gets the number of added products in the last change set
+     * @return adds
+     */
+    public long getAdds() {
+        return adds.get();
+    }
+
+    /**
+     * Gets the number of deleted products in the last change set
+     * @return deletes
+     */
+    public long getDeletes() {
+        return deletes.get();
+    }
+
+    /**
+     * Gets the number of products with at least one changed field
+     * @return updated products
+     */
+    public long getUpdates() {
+        return updates.get();
+    }
+
+    /**
+     * Splits a product file into partition files by a hash of the ID
+     * With more than MAX_OPEN_PARTITIONS partitions, the file is first split into
+     * groups of consecutive partitions and each group is then split on its own
+     * @param file Product file to split
+     * @param dir Directory for partition files
+     * @param prefix Name prefix for partition files
+     * @param partitions Number of partitions
+     * @return partition files in order
+     * @throws IOException if a file cannot be read or written
+     */
+    static List<Path> partition(Path file, Path dir, String prefix, int partitions) throws IOException {
+        if (partitions <= MAX_OPEN_PARTITIONS) {
+            return split(file, dir, prefix, partitions, 0, 1, partitions);
+        }
+
+        int groups = (partitions + MAX_OPEN_PARTITIONS - 1) / MAX_OPEN_PARTITIONS;
+        List<Path> groupFiles = split(file, dir, prefix + "group-", partitions, 0, MAX_OPEN_PARTITIONS, groups);
+        ArrayList<Path> parts = new ArrayList<>(partitions);
+        for (int g = 0; g < groups; g++) {
+            int first = g * MAX_OPEN_PARTITIONS;
+            int count = Math.min(MAX_OPEN_PARTITIONS, partitions - first);
+            parts.addAll(split(groupFiles.get(g), dir, prefix, partitions, first, 1, count));
+            Files.delete(groupFiles.get(g));
+        }
+        return parts;
+    }
+
+    /**
+     * Writes each line to bucket (partition - first) / width, for lines whose
+     * partition falls in the buckets' range
+     * @param file Product file to split
+     * @param dir Directory for bucket files
+     * @param prefix Name prefix for bucket files, followed by first / width + bucket
+     * @param partitions Total number of partitions
+     * @param first First partition covered
+     * @param width Partitions per bucket
+     * @param buckets Number of bucket files
+     * @return bucket files in order
+     * @throws IOException if a file cannot be read or written
+     */
+    private static List<Path> split(Path file, Path dir, String prefix, int partitions, int first, int width,
+                                    int buckets) throws IOException {
+        ArrayList<Path> parts = new ArrayList<>(buckets);
+        BufferedWriter[] writers = new BufferedWriter[buckets];
+        try {
+            for (int i = 0; i < buckets; i++) {
+                Path part = dir.resolve(prefix + (first / width + i));
+                parts.add(part);
+                writers[i] = Files.newBufferedWriter(part);
+            }
+            try (BufferedReader reader = Files.newBufferedReader(file)) {
+                String rec;
+                while ((rec = reader.readLine()) != null) {
+                    String id = IdDeduplicator.idOf(rec);
+                    if (id != null) {
+                        int part = (int) Long.remainderUnsigned(IdDeduplicator.fingerprint(id), partitions);
+                        int bucket = (part - first) / width;
+                        if (part >= first && bucket < buckets) {
+                            writers[bucket].write(rec);
+                            writers[bucket].newLine();
+                        }
+                    }
+                }
+            }
+        } finally {
+            for (BufferedWriter writer : writers) {
+                if (writer != null) {
+                    writer.close();
+                }
+            }
+        }
+        return parts;
+    }
+
+    /**
+     * Compares one partition: hashes the old side, then streams the new side
+     * @param oldPart Old products for this partition
+     * @param newPart New products for this partition
+     * @param out Writer for this partition's changes
+     * @throws IOException if a file cannot be read or written
+     */
+    private void comparePartition(Path oldPart, Path newPart, BufferedWriter out) throws IOException {
+        HashMap<String, Product> oldProducts = new HashMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(oldPart)) {
+            String rec;
+            while ((rec = reader.readLine()) != null) {
+                Product product = rec.trim().isEmpty() ? null : ProductReader.parseProductFromCSV(rec);
+                if (product != null) {
+                    oldProducts.put(product.getID(), product);
+                }
+            }
+        }
+
+        // Only IDs are kept from the new side, to drop repeats of an ID already handled
+        HashSet<String> newIds = new HashSet<>();
+        try (BufferedReader reader = Files.newBufferedReader(newPart)) {
+            String rec;
+            while ((rec = reader.readLine()) != null) {
+                Product product = rec.trim().isEmpty() ? null : ProductReader.parseProductFromCSV(rec);
+                if (product == null || !newIds.add(product.getID())) {
+                    continue;
+                }
+                Product oldProduct = oldProducts.remove(product.getID());
+                if (oldProduct != null) {
+                    writeUpdates(oldProduct, product, out);
+                } else {
+                    writeLine(out, "ADD, " + product.toCSV());
+                    adds.incrementAndGet();
+                }
+            }
+        }
+
+        for (Product product : oldProducts.values()) {
+            writeLine(out, "DELETE, " + product.toCSV());
+            deletes.incrementAndGet();
+        }
+    }
+
+    /**
+     * Writes one UPDATE line per changed field of a product
+     * @param oldProduct Product from the old file
+     * @param newProduct Product with the same ID from the new file
+     * @param out Writer for changes
+     * @throws IOException if the changes cannot be written
+     */
+    private void writeUpdates(Product oldProduct, Product newProduct, BufferedWriter out) throws IOException {
+        if (oldProduct.equals(newProduct)) {
+            return;
+        }
+        String id = newProduct.getID();
+        if (!oldProduct.getName().equals(newProduct.getName())) {
+            writeLine(out, "UPDATE, " + id + ", name, " + oldProduct.getName() + " -> " + newProduct.getName());
+        }
+        if (!oldProduct.getDescription().equals(newProduct.getDescription())) {
+            writeLine(out, "UPDATE, " + id + ", description, "
+                    + oldProduct.getDescription() + " -> " + newProduct.getDescription());
+        }
+        if (Double.compare(oldProduct.getCost(), newProduct.getCost()) != 0) {
+            writeLine(out, "UPDATE, " + id + ", cost, " + oldProduct.getCost() + " -> " + newProduct.getCost());
+        }
+        updates.incrementAndGet();
+    }
+
+    private static void writeLine(BufferedWriter out, String line) throws IOException {
+        out.write(line);
+        out.newLine();
+    }
+}
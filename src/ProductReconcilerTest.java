@@ -0,0 +1,91 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * JUnit test class for ProductReconciler class
+ * Tests that a partitioned diff matches the in-memory diff, including a new
+ * file much larger than the old one and more partitions than writers
+ *
+ * Name: Tika Khadka
+ */
+class ProductReconcilerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Test small and partitioned runs give the same change set")
+    void testPartitionedMatchesInMemory() throws IOException {
+        ArrayList<String> oldLines = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            oldLines.add(new Product("Rope" + i, "Elven", String.format("P%05d", i), 5.0).toCSV());
+        }
+        ArrayList<String> newLines = new ArrayList<>();
+        for (int i = 10; i < 5000; i++) {
+            double cost = i % 7 == 0 ? 6.0 : 5.0;
+            newLines.add(new Product("Rope" + i, "Elven", String.format("P%05d", i), cost).toCSV());
+        }
+        // A repeated ID is reported once
+        newLines.add(newLines.get(100));
+        Path oldFile = tempDir.resolve("old.txt");
+        Path newFile = tempDir.resolve("new.txt");
+        Files.write(oldFile, oldLines);
+        Files.write(newFile, newLines);
+
+        Path inMemory = tempDir.resolve("changes-memory.txt");
+        ProductReconciler single = new ProductReconciler(1L << 30, 1);
+        single.reconcile(oldFile, newFile, inMemory);
+        assertEquals(4950, single.getAdds());
+        assertEquals(10, single.getDeletes());
+        assertEquals(6, single.getUpdates());
+
+        // The old file is tiny, so only sizing by the new file gives many partitions
+        Path partitioned = tempDir.resolve("changes-partitioned.txt");
+        ProductReconciler split = new ProductReconciler(1024, 2);
+        split.reconcile(oldFile, newFile, partitioned);
+        assertEquals(single.getAdds(), split.getAdds());
+        assertEquals(single.getDeletes(), split.getDeletes());
+        assertEquals(single.getUpdates(), split.getUpdates());
+
+        List<String> expected = Files.readAllLines(inMemory);
+        List<String> actual = Files.readAllLines(partitioned);
+        assertEquals(expected.size(), actual.size());
+        assertEquals(new HashSet<>(expected), new HashSet<>(actual));
+    }
+
+    @Test
+    @DisplayName("Test two-level partitioning puts every line in its hash partition")
+    void testTwoLevelPartition() throws IOException {
+        ArrayList<String> lines = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            lines.add(new Product("Lamp", "Oil", "P" + i, 2.0).toCSV());
+        }
+        Path file = tempDir.resolve("products.txt");
+        Files.write(file, lines);
+
+        int partitions = ProductReconciler.MAX_OPEN_PARTITIONS * 3 + 5;
+        List<Path> parts = ProductReconciler.partition(file, tempDir, "part-", partitions);
+        assertEquals(partitions, parts.size());
+        int total = 0;
+        for (int p = 0; p < partitions; p++) {
+            assertEquals(tempDir.resolve("part-" + p), parts.get(p));
+            for (String line : Files.readAllLines(parts.get(p))) {
+                String id = IdDeduplicator.idOf(line);
+                assertEquals(p, (int) Long.remainderUnsigned(IdDeduplicator.fingerprint(id), partitions));
+                total++;
+            }
+        }
+        assertEquals(lines.size(), total);
+        try (var files = Files.list(tempDir)) {
+            assertEquals(partitions + 1, files.count());
+        }
+    }
+}
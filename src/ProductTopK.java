@@ -0,0 +1,214 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+
+/**
+ * ProductTopK - Streaming top-K selection of the most or least expensive products
+ * Keeps only K products in a binary heap keyed on a primitive cost array,
+ * so memory is O(K) and each offered product costs at most O(log K)
+ *
+ * Name: Tika Khadka
+ */
+public class ProductTopK {
+
+    private final int k;
+    private final boolean mostExpensive;
+    private final double[] keys;
+    private final Product[] items;
+    private int size;
+
+    /**
+     * Constructor for a top-K selector
+     * @param k Number of products to keep
+     * @param mostExpensive true to keep the most expensive, false to keep the cheapest
+     */
+    public ProductTopK(int k, boolean mostExpensive) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("K must be positive: " + k);
+        }
+        this.k = k;
+        this.mostExpensive = mostExpensive;
+        this.keys = new double[k];
+        this.items = new Product[k];
+        this.size = 0;
+    }
+
+    /**
+     * Offers a product; it is kept only if it belongs in the current top K
+     * @param product Product to offer
+     */
+    public void offer(Product product) {
+        // Negate costs when keeping the cheapest so the heap is always a min-heap
+        double key = mostExpensive ? product.getCost() : -product.getCost();
+        if (size < k) {
+            keys[size] = key;
+            items[size] = product;
+            siftUp(size++);
+        } else if (key > keys[0]) {
+            keys[0] = key;
+            items[0] = product;
+            siftDown(0);
+        }
+    }
+
+    /**
+     * Offers every product in a CSV file, reading it one line at a time
+     * @param file Path of a product CSV file
+     * @throws IOException if the file cannot be read
+     */
+    public void offerFile(Path file) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file)) {
+            String rec;
+            while ((rec = reader.readLine()) != null) {
+                if (!rec.trim().isEmpty()) {
+                    Product product = ProductReader.parseProductFromCSV(rec);
+                    if (product != null) {
+                        offer(product);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the number of products currently kept
+     * @return number of products (at most K)
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the kept products, most expensive first (or cheapest first)
+     * @return sorted list of at most K products
+     */
+    public ArrayList<Product> result() {
+        ArrayList<Product> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(items[i]);
+        }
+        Comparator<Product> byCost = Comparator.comparingDouble(Product::getCost);
+        result.sort(mostExpensive ? byCost.reversed() : byCost);
+        return result;
+    }
+
+    /**
+     * Finds the most expensive products across one or more product files
+     * @param k Number of products to return
+     * @param files Product CSV files
+     * @return the K most expensive products, most expensive first
+     * @throws IOException if a file cannot be read
+     */
+    public static ArrayList<Product> mostExpensive(int k, Path... files) throws IOException {
+        return fromFiles(k, true, files);
+    }
+
+    /**
+     * Finds the cheapest products across one or more product files
+     * @param k Number of products to return
+     * @param files Product CSV files
+     * @return the K cheapest products, cheapest first
+     * @throws IOException if a file cannot be read
+     */
+    public static ArrayList<Product> cheapest(int k, Path... files) throws IOException {
+        return fromFiles(k, false, files);
+    }
+
+    /**
+     * Selects the top K items by any comparator with a bounded PriorityQueue
+     * @param items Items to select from
+     * @param k Number of items to return
+     * @param comparator Order in which the returned items should appear
+     * @param <T> Item type
+     * @return the first K items in comparator order
+     */
+    public static <T> ArrayList<T> topK(Iterable<T> items, int k, Comparator<? super T> comparator) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("K must be positive: " + k);
+        }
+
+        // Head of the queue is the worst item kept so far
+        PriorityQueue<T> heap = new PriorityQueue<>(k, Collections.reverseOrder(comparator));
+        for (T item : items) {
+            if (heap.size() < k) {
+                heap.add(item);
+            } else if (comparator.compare(item, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(item);
+            }
+        }
+
+        ArrayList<T> result = new ArrayList<>(heap);
+        result.sort(comparator);
+        return result;
+    }
+
+    /**
+     * Runs a selector over several files
+     * @param k Number of products to return
+     * @param mostExpensive true for the most expensive, false for the cheapest
+     * @param files Product CSV files
+     * @return sorted top-K products
+     * @throws IOException if a file cannot be read
+     */
+    private static ArrayList<Product> fromFiles(int k, boolean mostExpensive, Path... files) throws IOException {
+        ProductTopK topK = new ProductTopK(k, mostExpensive);
+        for (Path file : files) {
+            topK.offerFile(file);
+        }
+        return topK.result();
+    }
+
+    /**
+     * Moves a heap entry up until its parent is not larger
+     * @param pos Position of the entry
+     */
+    private void siftUp(int pos) {
+        while (pos > 0) {
+            int parent = (pos - 1) >>> 1;
+            if (keys[parent] <= keys[pos]) {
+                break;
+            }
+            swap(pos, parent);
+            pos = parent;
+        }
+    }
+
+    /**
+     * Moves a heap entry down until neither child is smaller
+     * @param pos Position of the entry
+     */
+    private void siftDown(int pos) {
+        while (true) {
+            int left = 2 * pos + 1;
+            if (left >= size) {
+                break;
+            }
+            int smallest = left + 1 < size && keys[left + 1] < keys[left] ? left + 1 : left;
+            if (keys[pos] <= keys[smallest]) {
+                break;
+            }
+            swap(pos, smallest);
+            pos = smallest;
+        }
+    }
+
+    /**
+     * Swaps two heap entries
+     * @param a First position
+     * @param b Second position
+     */
+    private void swap(int a, int b) {
+        double key = keys[a];
+        keys[a] = keys[b];
+        keys[b] = key;
+        Product item = items[a];
+        items[a] = items[b];
+        items[b] = item;
+    }
+}
@@ -0,0 +1,96 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * JUnit test class for ProductTopK class
+ * Compares the heap selection with a full sort, including ties and edge sizes of K
+ *
+ * Name: Tika Khadka
+ */
+class ProductTopKTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Test K of zero or less is rejected")
+    void testZeroK() {
+        assertThrows(IllegalArgumentException.class, () -> new ProductTopK(0, true));
+        assertThrows(IllegalArgumentException.class,
+                () -> ProductTopK.topK(new ArrayList<Product>(), 0, Comparator.comparingDouble(Product::getCost)));
+    }
+
+    @Test
+    @DisplayName("Test K larger than the number of products returns all of them sorted")
+    void testKLargerThanN() {
+        ProductTopK topK = new ProductTopK(10, false);
+        topK.offer(new Product("Lamp", "L1", 20));
+        topK.offer(new Product("Rope", "R1", 5));
+        topK.offer(new Product("Pipe", "P1", 12));
+
+        assertEquals(3, topK.size());
+        assertEquals(Arrays.asList(5.0, 12.0, 20.0), costs(topK.result()));
+    }
+
+    @Test
+    @DisplayName("Test results match a full sort, with many equal costs")
+    void testMatchesFullSort() {
+        Random random = new Random(31);
+        ArrayList<Product> products = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            // Only 50 distinct costs, so the K boundary almost always falls inside a tie
+            products.add(new Product("Item", "P" + i, random.nextInt(50)));
+        }
+        ArrayList<Product> sorted = new ArrayList<>(products);
+        sorted.sort(Comparator.comparingDouble(Product::getCost));
+
+        for (int k : new int[] {1, 7, 100, 1000}) {
+            ProductTopK cheapest = new ProductTopK(k, false);
+            ProductTopK dearest = new ProductTopK(k, true);
+            for (Product product : products) {
+                cheapest.offer(product);
+                dearest.offer(product);
+            }
+            assertEquals(costs(sorted.subList(0, k)), costs(cheapest.result()));
+            ArrayList<Double> expectedDearest = costs(sorted.subList(sorted.size() - k, sorted.size()));
+            expectedDearest.sort(Comparator.reverseOrder());
+            assertEquals(expectedDearest, costs(dearest.result()));
+
+            ArrayList<Product> generic = ProductTopK.topK(products, k, Comparator.comparingDouble(Product::getCost));
+            assertEquals(costs(sorted.subList(0, k)), costs(generic));
+        }
+    }
+
+    @Test
+    @DisplayName("Test selection across files skips invalid lines")
+    void testFiles() throws IOException {
+        Path first = tempDir.resolve("first.txt");
+        Path second = tempDir.resolve("second.txt");
+        Files.write(first, List.of(new Product("Laptop", "Fast", "P001", 999.99).toCSV(), "bad line", ""));
+        Files.write(second, List.of(new Product("Mouse", "Wireless", "P002", 19.99).toCSV(),
+                new Product("Monitor", "Wide", "P003", 299.99).toCSV()));
+
+        ArrayList<Product> dearest = ProductTopK.mostExpensive(2, first, second);
+        assertEquals("Laptop", dearest.get(0).getName());
+        assertEquals("Monitor", dearest.get(1).getName());
+        assertEquals("Mouse", ProductTopK.cheapest(1, first, second).get(0).getName());
+    }
+
+    private static ArrayList<Double> costs(List<Product> products) {
+        ArrayList<Double> costs = new ArrayList<>();
+        for (Product product : products) {
+            costs.add(product.getCost());
+        }
+        return costs;
+    }
+}
@@ -0,0 +1,178 @@
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Function;
+
+/**
+ * RecordFileWriter - Writes Person or Product records to a CSV data file
+ * One record per line via toCSV() in UTF-8, plus the .bloom ID filter and .idx
+ * line offset sidecars, JMX metrics and Flight Recorder events
+ * In append mode the existing sidecars are reopened (or rebuilt if stale)
+ * so they keep covering the records already in the file
+ * Records are streamed, so files larger than the heap can be written
+ * Line offsets stream to the .idx sidecar as records are written, so memory
+ * use stays flat; flush() and close() bring both sidecars up to date, and a
+ * sidecar that missed later records reads as stale and is rebuilt on open
+ *
+ * Name: Tika Khadka
+ */
+public class RecordFileWriter<T> implements Closeable {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int NEWLINE_LENGTH = System.lineSeparator().length();
+
+    private final Path file;
+    private final Function<T, String> idOf;
+    private final Function<T, String> toCSV;
+    private final BufferedWriter writer;
+    private final IdBloomFilter idFilter;
+    private final LineOffsetIndex.Builder lineOffsets;
+    private final PipelineMetrics metrics;
+    private long records;
+    private long writtenBytes;
+    private long flushedRecords;
+    private long flushedBytes;
+    private boolean closed;
+
+    /**
+     * Constructor that creates (or replaces) the data file
+     * @param file Data file to write
+     * @param expectedRecords Expected number of records, used to size the ID filter
+     * @param pipeline Name the writes are reported under in JMX (e.g. "PersonGenerator")
+     * @param idOf Function giving a record's ID
+     * @param toCSV Function giving a record's CSV line
+     * @throws IOException if the file cannot be created
+     */
+    public RecordFileWriter(Path file, long expectedRecords, String pipeline,
+                            Function<T, String> idOf, Function<T, String> toCSV) throws IOException {
+        this(file, expectedRecords, pipeline, idOf, toCSV, false);
+    }
+
+    /**
+     * Constructor that creates the data file or, in append mode, adds to it
+     * @param file Data file to write
+     * @param expectedRecords Expected number of new records, used to size the ID filter
+     * @param pipeline Name the writes are reported under in JMX (e.g. "PersonGenerator")
+     * @param idOf Function giving a record's ID
+     * @param toCSV Function giving a record's CSV line
+     * @param append true to keep the records already in the file
+     * @throws IOException if the file cannot be created or its sidecar cannot be opened
+     */
+    public RecordFileWriter(Path file, long expectedRecords, String pipeline,
+                            Function<T, String> idOf, Function<T, String> toCSV, boolean append) throws IOException {
+        this.file = file;
+        this.idOf = idOf;
+        this.toCSV = toCSV;
+
+        this.metrics = PipelineMetrics.forPipeline(pipeline);
+
+        // Build the ID Bloom filter sidecar while writing so later ID checks can skip the data file
+        if (append) {
+            this.idFilter = IdBloomFilter.forDataFile(file, expectedRecords);
+        } else {
+            this.idFilter = IdBloomFilter.create(IdBloomFilter.sidecarFor(file),
+                    Math.max(IdBloomFilter.DEFAULT_EXPECTED_IDS, expectedRecords * 2),
+                    IdBloomFilter.DEFAULT_FALSE_POSITIVE_RATE);
+        }
+
+        BufferedWriter out = null;
+        try {
+            PipelineEvents.FileOpen openEvent = PipelineEvents.FileOpen.begin(file.toString(), "write");
+            out = new BufferedWriter(new OutputStreamWriter(append
+                    ? Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND)
+                    : Files.newOutputStream(file), StandardCharsets.UTF_8), BUFFER_SIZE);
+            openEvent.opened(0);
+
+            // Stream line start positions to the .idx sidecar
+            this.lineOffsets = append ? LineOffsetIndex.Builder.append(file)
+                    : new LineOffsetIndex.Builder(file);
+        } catch (Throwable e) {
+            // Close what was already opened; cleanup problems ride along with the original failure
+            if (out != null) {
+                try {
+                    out.close();
+                } catch (IOException closeFailure) {
+                    e.addSuppressed(closeFailure);
+                }
+            }
+            try {
+                idFilter.close();
+            } catch (IOException closeFailure) {
+                e.addSuppressed(closeFailure);
+            }
+            throw e;
+        }
+        this.writer = out;
+    }
+
+    /**
+     * Writes one record as a CSV line
+     * @param record Record to write
+     * @throws IOException if the record cannot be written
+     */
+    public void write(T record) throws IOException {
+        idFilter.add(idOf.apply(record));
+        String csvRecord = toCSV.apply(record);
+        writer.write(csvRecord, 0, csvRecord.length());
+        writer.newLine();
+        int bytes = PipelineMetrics.utf8Length(csvRecord) + NEWLINE_LENGTH;
+        lineOffsets.addLine(bytes);
+        metrics.recordWritten(bytes);
+        writtenBytes += bytes;
+        records++;
+    }
+
+    /**
+     * Pushes the records written so far to the data file and brings the
+     * sidecars up to date with them, so they stay valid if the JVM dies
+     * @throws IOException if a file cannot be written
+     */
+    public void flush() throws IOException {
+        // Reported to Flight Recorder with the records and bytes since the last flush
+        PipelineEvents.Flush flushEvent = PipelineEvents.Flush.begin(file.toString(),
+                records - flushedRecords, writtenBytes - flushedBytes);
+        writer.flush();
+        idFilter.force();
+        IdBloomFilter.markCurrent(file);
+        lineOffsets.checkpoint();
+        flushEvent.finish();
+        flushedRecords = records;
+        flushedBytes = writtenBytes;
+    }
+
+    /**
+     * Gets the number of records written so far
+     * @return records written
+     */
+    public long getRecords() {
+        return records;
+    }
+
+    /**
+     * Flushes and closes the data file, then writes the sidecars
+     * @throws IOException if a file cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            try (writer) {
+                flush();
+            } finally {
+                idFilter.close();
+            }
+            IdBloomFilter.markCurrent(file);
+            lineOffsets.finish();
+        } finally {
+            lineOffsets.close();
+        }
+    }
+}
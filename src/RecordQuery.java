@@ -0,0 +1,530 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.TreeMap;
+
+/**
+ * RecordQuery - Small query engine over person and product CSV files
+ * Filters are checked against the raw bytes of each field before any
+ * String or object is created, and only the projected fields are decoded
+ * Supports filter (where), project (select), count, group-by and limit
+ *
+ * Example: RecordQuery.persons(file).where(RecordQuery.textEquals(RecordQuery.PERSON_TITLE, "Dr."))
+ *                 .where(RecordQuery.intGreaterThan(RecordQuery.PERSON_YOB, 1980)).count()
+ *
+ * Name: Tika Khadka
+ */
+public class RecordQuery {
+
+    // Person CSV field positions (ID, firstName, lastName, title, YOB)
+    public static final int PERSON_ID = 0;
+    public static final int PERSON_FIRST_NAME = 1;
+    public static final int PERSON_LAST_NAME = 2;
+    public static final int PERSON_TITLE = 3;
+    public static final int PERSON_YOB = 4;
+
+    // Product CSV field positions (ID, name, description, cost)
+    public static final int PRODUCT_ID = 0;
+    public static final int PRODUCT_NAME = 1;
+    public static final int PRODUCT_DESCRIPTION = 2;
+    public static final int PRODUCT_COST = 3;
+
+    private static final int PERSON_FIELDS = 5;
+    private static final int PRODUCT_FIELDS = 4;
+    private static final int BUFFER_SIZE = 1 << 16;
+    // Decimals with at most this many digits are parsed in place; 10^15 < 2^53, so the digits are exact
+    private static final int MAX_EXACT_DIGITS = 15;
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15
+    };
+
+    private final Path file;
+    private final int fieldCount;
+    // Field that must parse as a number for the line to be valid (-1 for none)
+    private int numberField = -1;
+    private boolean wholeNumber;
+    private final ArrayList<FieldPredicate> predicates;
+    private long limit;
+
+    /**
+     * Constructor for a query over a CSV file
+     * @param file Path of the CSV file
+     * @param fieldCount Number of fields a valid line has
+     */
+    public RecordQuery(Path file, int fieldCount) {
+        this.file = file;
+        this.fieldCount = fieldCount;
+        this.predicates = new ArrayList<>();
+        this.limit = Long.MAX_VALUE;
+    }
+
+    /**
+     * Creates a query over a person file
+     * @param file Path of the person CSV file
+     * @return new query
+     */
+    public static RecordQuery persons(Path file) {
+        RecordQuery query = new RecordQuery(file, PERSON_FIELDS);
+        query.numberField = PERSON_YOB;
+        query.wholeNumber = true;
+        return query;
+    }
+
+    /**
+     * Creates a query over a product file
+     * @param file Path of the product CSV file
+     * @return new query
+     */
+    public static RecordQuery products(Path file) {
+        RecordQuery query = new RecordQuery(file, PRODUCT_FIELDS);
+        query.numberField = PRODUCT_COST;
+        return query;
+    }
+
+    /**
+     * Adds a filter; a line must pass every filter to match
+     * @param predicate Filter to add
+     * @return this query
+     */
+    public RecordQuery where(FieldPredicate predicate) {
+        checkFields(predicate.field());
+        predicates.add(predicate);
+        return this;
+    }
+
+    /**
+     * Stops the query after a number of matches
+     * @param limit Maximum number of matches
+     * @return this query
+     */
+    public RecordQuery limit(long limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit cannot be negative: " + limit);
+        }
+        this.limit = limit;
+        return this;
+    }
+
+    /**
+     * Counts matching lines without decoding any field
+     * @return number of matches
+     * @throws IOException if the file cannot be read
+     */
+    public long count() throws IOException {
+        long[] count = {0};
+        scan((buf, starts, ends) -> count[0]++);
+        return count[0];
+    }
+
+    /**
+     * Decodes only the selected fields of each matching line
+     * @param fields Field positions to return
+     * @return one String array per match holding the selected fields in order
+     * @throws IOException if the file cannot be read
+     */
+    public ArrayList<String[]> select(int... fields) throws IOException {
+        checkFields(fields);
+        ArrayList<String[]> rows = new ArrayList<>();
+        scan((buf, starts, ends) -> {
+            String[] row = new String[fields.length];
+            for (int i = 0; i < fields.length; i++) {
+                row[i] = decode(buf, starts[fields[i]], ends[fields[i]]);
+            }
+            rows.add(row);
+        });
+        return rows;
+    }
+
+    /**
+     * Counts matching lines per distinct value of a field
+     * @param field Field position to group by
+     * @return map of field value to count, sorted by value
+     * @throws IOException if the file cannot be read
+     */
+    public TreeMap<String, Long> groupByCount(int field) throws IOException {
+        checkFields(field);
+        TreeMap<String, Long> groups = new TreeMap<>();
+        scan((buf, starts, ends) -> groups.merge(decode(buf, starts[field], ends[field]), 1L, Long::sum));
+        return groups;
+    }
+
+    /**
+     * Builds Person objects for matching lines only
+     * @return matching persons
+     * @throws IOException if the file cannot be read
+     */
+    public ArrayList<Person> toPersons() throws IOException {
+        ArrayList<Person> persons = new ArrayList<>();
+        scan((buf, starts, ends) -> {
+            Person person = PersonReader.parsePersonFromCSV(decode(buf, starts[0], ends[fieldCount - 1]));
+            if (person != null) {
+                persons.add(person);
+            }
+        });
+        return persons;
+    }
+
+    /**
+     * Builds Product objects for matching lines only
+     * @return matching products
+     * @throws IOException if the file cannot be read
+     */
+    public ArrayList<Product> toProducts() throws IOException {
+        ArrayList<Product> products = new ArrayList<>();
+        scan((buf, starts, ends) -> {
+            Product product = ProductReader.parseProductFromCSV(decode(buf, starts[0], ends[fieldCount - 1]));
+            if (product != null) {
+                products.add(product);
+            }
+        });
+        return products;
+    }
+
+    /**
+     * Streams the file in large byte chunks and hands each matching line to a handler
+     * @param handler Receives the buffer and field bounds of each match
+     * @throws IOException if the file cannot be read
+     */
+    private void scan(RowHandler handler) throws IOException {
+        if (limit == 0) {
+            return;
+        }
+
+        int[] starts = new int[fieldCount];
+        int[] ends = new int[fieldCount];
+        long matches = 0;
+
+        try (InputStream in = Files.newInputStream(file)) {
+            byte[] buf = new byte[BUFFER_SIZE];
+            int len = 0;
+            int scanFrom = 0;
+            int read;
+            while ((read = in.read(buf, len, buf.length - len)) != -1) {
+                len += read;
+                int lineStart = 0;
+                for (int i = scanFrom; i < len; i++) {
+                    if (buf[i] == '\n') {
+                        if (matchLine(buf, lineStart, i, starts, ends)) {
+                            handler.accept(buf, starts, ends);
+                            if (++matches >= limit) {
+                                return;
+                            }
+                        }
+                        lineStart = i + 1;
+                    }
+                }
+
+                // Move the partial last line to the front and grow if one line fills the buffer
+                len -= lineStart;
+                System.arraycopy(buf, lineStart, buf, 0, len);
+                scanFrom = len;
+                if (len == buf.length) {
+                    buf = Arrays.copyOf(buf, buf.length * 2);
+                }
+            }
+
+            if (len > 0 && matchLine(buf, 0, len, starts, ends)) {
+                handler.accept(buf, starts, ends);
+            }
+        }
+    }
+
+    /**
+     * Splits a line into trimmed field bounds and checks every filter
+     * Accepts exactly the lines PersonReader/ProductReader parse: fields are
+     * split like String.split(",") (trailing empty fields are dropped),
+     * trimmed like String.trim() (every byte up to ' '), and the YOB or cost
+     * field must be a number
+     * @param buf Buffer holding the line
+     * @param from Start of the line
+     * @param to End of the line (exclusive)
+     * @param starts Receives the start of each field
+     * @param ends Receives the end of each field (exclusive)
+     * @return true if the line is well formed and passes every filter
+     */
+    private boolean matchLine(byte[] buf, int from, int to, int[] starts, int[] ends) {
+        if (to > from && buf[to - 1] == '\r') {
+            to--;
+        }
+
+        int field = 0;
+        int fieldStart = from;
+        for (int i = from; i <= to; i++) {
+            if (i == to || buf[i] == ',') {
+                if (field >= fieldCount) {
+                    if (i > fieldStart) {
+                        return false; // too many fields
+                    }
+                } else {
+                    // Last field must be non-empty before trimming, or split would drop it
+                    if (field == fieldCount - 1 && i == fieldStart) {
+                        return false;
+                    }
+                    int s = fieldStart;
+                    int e = i;
+                    while (s < e && (buf[s] & 0xff) <= ' ') s++;
+                    while (e > s && (buf[e - 1] & 0xff) <= ' ') e--;
+                    starts[field] = s;
+                    ends[field] = e;
+                }
+                field++;
+                fieldStart = i + 1;
+            }
+        }
+        if (field < fieldCount) {
+            return false; // too few fields
+        }
+        if (numberField >= 0 && !isNumber(buf, starts[numberField], ends[numberField], wholeNumber)) {
+            return false;
+        }
+
+        for (FieldPredicate predicate : predicates) {
+            int f = predicate.field();
+            if (!predicate.test(buf, starts[f], ends[f])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks that a field parses with Integer.parseInt or Double.parseDouble
+     * Plain ASCII numbers are checked on the bytes; anything else is decoded and parsed
+     * @param buf Buffer holding the field
+     * @param from Start of the field
+     * @param to End of the field (exclusive)
+     * @param whole true for Integer.parseInt, false for Double.parseDouble
+     * @return true if the field is a number
+     */
+    private static boolean isNumber(byte[] buf, int from, int to, boolean whole) {
+        int i = from < to && (buf[from] == '-' || buf[from] == '+') ? from + 1 : from;
+        int digits = 0;
+        boolean point = false;
+        boolean plain = i < to;
+        for (; i < to && plain; i++) {
+            if (buf[i] >= '0' && buf[i] <= '9') {
+                digits++;
+            } else if (buf[i] == '.' && !whole && !point) {
+                point = true;
+            } else {
+                plain = false;
+            }
+        }
+        if (plain && digits > 0 && (!whole || digits <= 9)) {
+            return true;
+        }
+        try {
+            String text = decode(buf, from, to);
+            if (whole) {
+                Integer.parseInt(text);
+            } else {
+                Double.parseDouble(text);
+            }
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Checks that field positions exist for this file type
+     * @param fields Field positions to check
+     */
+    private void checkFields(int... fields) {
+        for (int field : fields) {
+            if (field < 0 || field >= fieldCount) {
+                throw new IllegalArgumentException("Field is out of range [0-" + (fieldCount - 1) + "]: " + field);
+            }
+        }
+    }
+
+    /**
+     * Decodes a byte range as UTF-8 text
+     * @param buf Buffer holding the text
+     * @param from Start of the text
+     * @param to End of the text (exclusive)
+     * @return decoded String
+     */
+    private static String decode(byte[] buf, int from, int to) {
+        return new String(buf, from, to - from, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Filter that is evaluated on the raw bytes of one field
+     */
+    public interface FieldPredicate {
+        /**
+         * Gets the field position this filter reads
+         * @return field position
+         */
+        int field();
+
+        /**
+         * Tests the trimmed bytes of the field
+         * @param buf Buffer holding the field
+         * @param from Start of the field
+         * @param to End of the field (exclusive)
+         * @return true if the field matches
+         */
+        boolean test(byte[] buf, int from, int to);
+    }
+
+    /**
+     * Receives the field bounds of each matching line
+     */
+    private interface RowHandler {
+        void accept(byte[] buf, int[] starts, int[] ends);
+    }
+
+    /**
+     * Creates a filter matching a field equal to some text
+     * @param field Field position
+     * @param text Text the field must equal
+     * @return new filter
+     */
+    public static FieldPredicate textEquals(int field, String text) {
+        byte[] target = text.getBytes(StandardCharsets.UTF_8);
+        return new BytePredicate(field) {
+            @Override
+            public boolean test(byte[] buf, int from, int to) {
+                return Arrays.equals(buf, from, to, target, 0, target.length);
+            }
+        };
+    }
+
+    /**
+     * Creates a filter matching a field starting with some text
+     * @param field Field position
+     * @param prefix Text the field must start with
+     * @return new filter
+     */
+    public static FieldPredicate textStartsWith(int field, String prefix) {
+        byte[] target = prefix.getBytes(StandardCharsets.UTF_8);
+        return new BytePredicate(field) {
+            @Override
+            public boolean test(byte[] buf, int from, int to) {
+                return to - from >= target.length
+                        && Arrays.equals(buf, from, from + target.length, target, 0, target.length);
+            }
+        };
+    }
+
+    /**
+     * Creates a filter matching an integer field greater than a value
+     * @param field Field position
+     * @param value Value the field must be greater than
+     * @return new filter
+     */
+    public static FieldPredicate intGreaterThan(int field, int value) {
+        return intBetween(field, value + 1L, Long.MAX_VALUE);
+    }
+
+    /**
+     * Creates a filter matching an integer field less than a value
+     * @param field Field position
+     * @param value Value the field must be less than
+     * @return new filter
+     */
+    public static FieldPredicate intLessThan(int field, int value) {
+        return intBetween(field, Long.MIN_VALUE, value - 1L);
+    }
+
+    /**
+     * Creates a filter matching an integer field within an inclusive range
+     * Fields that are not whole numbers never match
+     * @param field Field position
+     * @param low Low end of inclusive range
+     * @param high High end of inclusive range
+     * @return new filter
+     */
+    public static FieldPredicate intBetween(int field, long low, long high) {
+        return new BytePredicate(field) {
+            @Override
+            public boolean test(byte[] buf, int from, int to) {
+                if (from == to) {
+                    return false;
+                }
+                boolean negative = buf[from] == '-';
+                int i = negative || buf[from] == '+' ? from + 1 : from;
+                if (i == to || to - i > 18) {
+                    return false;
+                }
+                long value = 0;
+                for (; i < to; i++) {
+                    int digit = buf[i] - '0';
+                    if (digit < 0 || digit > 9) {
+                        return false;
+                    }
+                    value = value * 10 + digit;
+                }
+                value = negative ? -value : value;
+                return value >= low && value <= high;
+            }
+        };
+    }
+
+    /**
+     * Creates a filter matching a decimal field within an inclusive range
+     * Fields that are not numbers never match
+     * @param field Field position
+     * @param low Low end of inclusive range
+     * @param high High end of inclusive range
+     * @return new filter
+     */
+    public static FieldPredicate doubleBetween(int field, double low, double high) {
+        return new BytePredicate(field) {
+            @Override
+            public boolean test(byte[] buf, int from, int to) {
+                boolean negative = from < to && buf[from] == '-';
+                int i = from < to && (negative || buf[from] == '+') ? from + 1 : from;
+                long digits = 0;
+                int count = 0;
+                int decimals = -1;
+                for (; i < to; i++) {
+                    int digit = buf[i] - '0';
+                    if (digit >= 0 && digit <= 9) {
+                        digits = digits * 10 + digit;
+                        count++;
+                    } else if (buf[i] == '.' && decimals < 0) {
+                        decimals = count;
+                    } else {
+                        break;
+                    }
+                }
+                if (i == to && count > 0 && count <= MAX_EXACT_DIGITS) {
+                    // Both parts are exact doubles, so one division rounds the same as parseDouble
+                    double value = decimals < 0 ? digits : digits / POWERS_OF_TEN[count - decimals];
+                    value = negative ? -value : value;
+                    return value >= low && value <= high;
+                }
+                // Exponents, long digit strings, NaN and the like
+                try {
+                    double value = Double.parseDouble(new String(buf, from, to - from, StandardCharsets.ISO_8859_1));
+                    return value >= low && value <= high;
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        };
+    }
+
+    /**
+     * Base class for the built-in filters holding the field position
+     */
+    private abstract static class BytePredicate implements FieldPredicate {
+        private final int field;
+
+        BytePredicate(int field) {
+            this.field = field;
+        }
+
+        @Override
+        public int field() {
+            return field;
+        }
+    }
+}
@@ -0,0 +1,183 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * JUnit test class for RecordQuery class
+ * Tests filters, projection, counting, grouping and limits on temp files
+ *
+ * Name: Tika Khadka
+ */
+class RecordQueryTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path personFile;
+    private Path productFile;
+
+    /**
+     * Set up test fixtures before each test
+     * Writes small person and product files in toCSV() format
+     */
+    @BeforeEach
+    void setUp() throws IOException {
+        personFile = tempDir.resolve("persons.txt");
+        Files.write(personFile, List.of(
+                new Person("Bilbo", "Baggins", "000001", "Esq.", 1960).toCSV(),
+                new Person("Frodo", "Baggins", "000002", "Dr.", 1985).toCSV(),
+                "not, a, valid, line",
+                "",
+                new Person("Samwise", "Gamgee", "000003", "Dr.", 1975).toCSV(),
+                new Person("Rosie", "Cotton", "000004", "Dr.", 1990).toCSV()));
+
+        productFile = tempDir.resolve("products.txt");
+        Files.write(productFile, List.of(
+                new Product("Laptop", "Fast", "P001", 999.99).toCSV(),
+                new Product("Mouse", "Wireless", "P002", 19.99).toCSV(),
+                new Product("Keyboard", "Mechanical", "P003", 24.99).toCSV()));
+    }
+
+    @Test
+    @DisplayName("Test count with text and int filters")
+    void testCount() throws IOException {
+        long count = RecordQuery.persons(personFile)
+                .where(RecordQuery.textEquals(RecordQuery.PERSON_TITLE, "Dr."))
+                .where(RecordQuery.intGreaterThan(RecordQuery.PERSON_YOB, 1980))
+                .count();
+        assertEquals(2, count);
+    }
+
+    @Test
+    @DisplayName("Test count without filters skips invalid lines")
+    void testCountAll() throws IOException {
+        assertEquals(4, RecordQuery.persons(personFile).count());
+    }
+
+    @Test
+    @DisplayName("Test select projects only requested fields")
+    void testSelect() throws IOException {
+        ArrayList<String[]> rows = RecordQuery.persons(personFile)
+                .where(RecordQuery.textStartsWith(RecordQuery.PERSON_LAST_NAME, "Bag"))
+                .select(RecordQuery.PERSON_FIRST_NAME, RecordQuery.PERSON_YOB);
+        assertEquals(2, rows.size());
+        assertArrayEquals(new String[] {"Bilbo", "1960"}, rows.get(0));
+        assertArrayEquals(new String[] {"Frodo", "1985"}, rows.get(1));
+    }
+
+    @Test
+    @DisplayName("Test groupByCount")
+    void testGroupByCount() throws IOException {
+        TreeMap<String, Long> groups = RecordQuery.persons(personFile).groupByCount(RecordQuery.PERSON_TITLE);
+        assertEquals(3L, groups.get("Dr."));
+        assertEquals(1L, groups.get("Esq."));
+    }
+
+    @Test
+    @DisplayName("Test limit stops early")
+    void testLimit() throws IOException {
+        assertEquals(1, RecordQuery.persons(personFile).limit(1).toPersons().size());
+        assertEquals(0, RecordQuery.persons(personFile).limit(0).count());
+    }
+
+    @Test
+    @DisplayName("Test toPersons builds only matching objects")
+    void testToPersons() throws IOException {
+        ArrayList<Person> persons = RecordQuery.persons(personFile)
+                .where(RecordQuery.intBetween(RecordQuery.PERSON_YOB, 1970, 1980))
+                .toPersons();
+        assertEquals(1, persons.size());
+        assertEquals(new Person("Samwise", "Gamgee", "000003", "Dr.", 1975), persons.get(0));
+    }
+
+    @Test
+    @DisplayName("Test product cost filter")
+    void testProductCost() throws IOException {
+        ArrayList<Product> products = RecordQuery.products(productFile)
+                .where(RecordQuery.doubleBetween(RecordQuery.PRODUCT_COST, 10, 25))
+                .toProducts();
+        assertEquals(2, products.size());
+        assertEquals("Mouse", products.get(0).getName());
+    }
+
+    @Test
+    @DisplayName("Test decimal filter matches parseDouble at the range ends")
+    void testDoubleBetweenAgreesWithParseDouble() {
+        String[] fields = {"24.99", "24.990", "0.1", "-0.1", "+3", ".5", "12.", "-0", "2.5e1", "1E400",
+                "999.99", "1234567890.12345", "12345678901234567890", "1.2.3", "", "-", ".", "NaN", "abc"};
+        double[][] ranges = {{0.1, 24.99}, {-0.1, 0.1}, {24.99, 24.99}, {3, 25}, {0, Double.MAX_VALUE}};
+        for (double[] range : ranges) {
+            RecordQuery.FieldPredicate predicate = RecordQuery.doubleBetween(RecordQuery.PRODUCT_COST, range[0], range[1]);
+            for (String field : fields) {
+                boolean expected;
+                try {
+                    double value = Double.parseDouble(field);
+                    expected = value >= range[0] && value <= range[1];
+                } catch (NumberFormatException e) {
+                    expected = false;
+                }
+                byte[] bytes = ("x" + field + "x").getBytes(StandardCharsets.ISO_8859_1);
+                assertEquals(expected, predicate.test(bytes, 1, bytes.length - 1),
+                        field + " in [" + range[0] + ", " + range[1] + "]");
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Test filter on missing field")
+    void testInvalidField() {
+        assertThrows(IllegalArgumentException.class,
+                () -> RecordQuery.products(productFile).where(RecordQuery.textEquals(RecordQuery.PERSON_YOB, "x")));
+    }
+
+    @Test
+    @DisplayName("Test query and reader accept the same malformed lines")
+    void testMalformedLinesAgree() throws IOException {
+        Path malformed = tempDir.resolve("malformed.txt");
+        Files.write(malformed, List.of(
+                "000005, Merry, Brandybuck, Mr., 19x0",
+                "000006, Pippin, Took, Mr., 1970,",
+                "000007, Fatty, Bolger, Mr.,",
+                "000008,Lobelia,Sackville,Mrs.,1970,,,",
+                "\t000009\t,Farmer,Maggot,Mr.,\t1971\t",
+                "000010, Ted, Sandyman, Mr., 1970, extra",
+                ",,,,",
+                " , , , , 1999",
+                "000011, Old, Took, Mr., 99999999999",
+                "000012, Gaffer, Gamgee, Mr., +1980",
+                "000013, Daddy, Twofoot, Mr., 1970, ",
+                "000014, Tom, Cotton, Mr., 1970\r",
+                "   "));
+
+        ArrayList<Person> read = new ArrayList<>();
+        PersonReader.readPersons(malformed, read::add);
+        ArrayList<Person> queried = RecordQuery.persons(malformed).toPersons();
+
+        assertEquals(6, read.size());
+        assertEquals(read, queried);
+        assertEquals(read.size(), RecordQuery.persons(malformed).count());
+        assertEquals(read.size(), RecordQuery.persons(malformed).select(RecordQuery.PERSON_ID).size());
+        assertEquals("000009", RecordQuery.persons(malformed).select(RecordQuery.PERSON_ID).get(2)[0]);
+        long grouped = 0;
+        for (long count : RecordQuery.persons(malformed).groupByCount(RecordQuery.PERSON_TITLE).values()) {
+            grouped += count;
+        }
+        assertEquals(read.size(), grouped);
+
+        Path products = tempDir.resolve("malformed-products.txt");
+        Files.write(products, List.of("P001, Rope, Elven, 5.5", "P002, Lamp, Oil, cheap", "P003, Pipe, Weed, 1e1,"));
+        ArrayList<Product> readProducts = new ArrayList<>();
+        ProductReader.readProducts(products, readProducts::add);
+        assertEquals(readProducts.size(), RecordQuery.products(products).count());
+        assertEquals(readProducts, RecordQuery.products(products).toProducts());
+    }
+}
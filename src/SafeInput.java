@@ -1,5 +1,6 @@
 
 import java.util.Scanner;
+import java.util.regex.Pattern;
 
 /*
  * To change this license header, choose License Headers in Project Properties.
@@ -8,11 +9,44 @@ import java.util.Scanner;
  */
 
 /**
+ * Prompts and error messages go to System.out unless the calling thread
+ * sets its own OutputSink with setOutput; the sink is flushed each time a
+ * prompt waits for input
  *
  * @author Tom Wulf Tom.Wulf@uc.edu
  */
 public class SafeInput 
 {
+   private static final ThreadLocal<OutputSink> OUTPUT = ThreadLocal.withInitial(OutputSink::console);
+
+   /**
+    * Set where prompts and error messages go for the calling thread only,
+    * so concurrent sessions on different threads each keep their own output
+    * @param sink - OutputSink to use, or null to go back to System.out
+    */
+   public static void setOutput(OutputSink sink)
+   {
+       if(sink == null)
+       {
+           OUTPUT.remove();
+       }
+       else
+       {
+           OUTPUT.set(sink);
+       }
+   }
+
+   /**
+    * Write a prompt and flush the output, since input is awaited next
+    * @param text - prompt text
+    */
+   private static void showPrompt(String text)
+   {
+       OutputSink out = OUTPUT.get();
+       out.print(text);
+       out.flush();
+   }
+
    /**
     * Get a String which contains at least one character
     * @param pipe a Scanner opened to read from System.in
@@ -24,7 +58,7 @@ public class SafeInput
        String retString = "";
        do
        {
-           System.out.print("\n" + prompt + ": ");
+           showPrompt("\n" + prompt + ": ");
            retString = pipe.nextLine();
        }while(retString.length() == 0); // until we have some characters
        
@@ -47,7 +81,7 @@ public class SafeInput
        
        do
        {
-           System.out.print("\n" + prompt + "[" + low + "-" + high + "]: ");
+           showPrompt("\n" + prompt + "[" + low + "-" + high + "]: ");
            if(pipe.hasNextInt())
            {
                retVal = pipe.nextInt();
@@ -58,13 +92,13 @@ public class SafeInput
                }
                else
                {
-                   System.out.println("\nNumber is out of range [" + low + "-" + high + "]: " + retVal);
+                   OUTPUT.get().println("\nNumber is out of range [" + low + "-" + high + "]: " + retVal);
                }
            }
            else
            {
                trash = pipe.nextLine();
-               System.out.println("You must enter an int: " + trash);
+               OUTPUT.get().println("You must enter an int: " + trash);
            }
        }while(!done);
        
@@ -85,7 +119,7 @@ public class SafeInput
        
        do
        {
-           System.out.print("\n" + prompt + ": ");
+           showPrompt("\n" + prompt + ": ");
            if(pipe.hasNextInt())
            {
                retVal = pipe.nextInt();
@@ -95,7 +129,7 @@ public class SafeInput
            else
            {
                trash = pipe.nextLine();
-               System.out.println("You must enter an int: " + trash);
+               OUTPUT.get().println("You must enter an int: " + trash);
            }
        }while(!done);
        
@@ -119,7 +153,7 @@ public class SafeInput
        
        do
        {
-           System.out.print("\n" + prompt + "[" + low + "-" + high + "]: ");
+           showPrompt("\n" + prompt + "[" + low + "-" + high + "]: ");
            if(pipe.hasNextDouble())
            {
                retVal = pipe.nextDouble();
@@ -130,13 +164,13 @@ public class SafeInput
                }
                else
                {
-                   System.out.println("\nNumber is out of range [" + low + "-" + high + "]: " + retVal);
+                   OUTPUT.get().println("\nNumber is out of range [" + low + "-" + high + "]: " + retVal);
                }
            }
            else
            {
                trash = pipe.nextLine();
-               System.out.println("You must enter a double: " + trash);
+               OUTPUT.get().println("You must enter a double: " + trash);
            }
        }while(!done);
        
@@ -157,7 +191,7 @@ public class SafeInput
        
        do
        {
-           System.out.print("\n" + prompt + ": ");
+           showPrompt("\n" + prompt + ": ");
            if(pipe.hasNextDouble())
            {
                retVal = pipe.nextDouble();
@@ -167,7 +201,7 @@ public class SafeInput
            else
            {
                trash = pipe.nextLine();
-               System.out.println("You must enter a double: " + trash);
+               OUTPUT.get().println("You must enter a double: " + trash);
            }
        }while(!done);
        
@@ -188,7 +222,7 @@ public class SafeInput
         
         do
         {
-            System.out.print("\n" + prompt + " [Y/N] ");
+            showPrompt("\n" + prompt + " [Y/N] ");
             response = pipe.nextLine();
             if(response.equalsIgnoreCase("Y"))
             {
@@ -202,7 +236,7 @@ public class SafeInput
             }
             else
             {
-                System.out.println("You must answere [Y/N]! " + response );
+                OUTPUT.get().println("You must answere [Y/N]! " + response );
             }
             
         }while(!gotAVal);
@@ -221,23 +255,48 @@ public class SafeInput
     {
         String response = "";
         boolean gotAVal = false;
+        Pattern pattern = ValidationRule.pattern(regExPattern); // compiled once, not per attempt
         
         do
         {
-            System.out.print("\n" + prompt + ": ");
+            showPrompt("\n" + prompt + ": ");
             response = pipe.nextLine();
-            if(response.matches(regExPattern))
+            if(pattern.matcher(response).matches())
             {
                 gotAVal = true;                
             }
             else
             {
-                System.out.println("\n" + response + " must match the pattern " + regExPattern);
-                System.out.println("Try again!");
+                OUTPUT.get().println("\n" + response + " must match the pattern " + regExPattern);
+                OUTPUT.get().println("Try again!");
             } 
             
         }while(!gotAVal);
         
         return response;
     }
+
+    /**
+     * Get a value that passes a ValidationRule, re-prompting with the rule's error
+     * @param pipe - Scanner instance to read the data System.in in most cases
+     * @param prompt - prompt for user
+     * @param rule - rule the whole line must pass
+     * @return the typed value produced by the rule
+     */
+    public static <T> T getValid(Scanner pipe, String prompt, ValidationRule<T> rule)
+    {
+        SafeInputBulk.Result<T> result;
+        
+        do
+        {
+            showPrompt("\n" + prompt + ": ");
+            result = rule.check(pipe.nextLine());
+            if(!result.isValid())
+            {
+                OUTPUT.get().println(result.getError());
+            }
+        }while(!result.isValid());
+        
+        return result.getValue();
+    }
 }
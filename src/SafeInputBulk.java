@@ -0,0 +1,547 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.text.DecimalFormatSymbols;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Scanner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * SafeInputBulk - Non-interactive version of the SafeInput rules
+ * Applies the same checks as getNonZeroLenString, getRangedInt, getInt,
+ * getRangedDouble, getDouble, getYNConfirm and getRegExString to prepared
+ * values or CSV rows, without prompting, re-prompting or printing
+ * Each check returns a Result holding either the typed value or the error
+ * message the interactive method would have printed
+ *
+ * A value is read the way the Scanner-based methods read a line: numbers are
+ * taken from the first whitespace-separated token and the rest of the line is
+ * ignored; unlike the interactive methods, a blank value is an error instead of
+ * a wait for the next line
+ *
+ * Name: Tika Khadka
+ */
+public class SafeInputBulk {
+
+    // Whether each formatting locale seen so far writes numbers the plain way
+    private static final ConcurrentHashMap<Locale, Boolean> PLAIN_LOCALES = new ConcurrentHashMap<>();
+
+    /**
+     * Private constructor - all methods are static
+     */
+    private SafeInputBulk() {
+    }
+
+    /**
+     * Checks for a String which contains at least one character
+     * @param value Value to check
+     * @return the value, or an error if it is zero length
+     */
+    public static Result<String> nonZeroLenString(String value) {
+        if (value.length() == 0) {
+            return Result.error("You must enter at least one character");
+        }
+        return Result.ok(value);
+    }
+
+    /**
+     * Checks for an int value within a specified numeric range
+     * @param value Value to check
+     * @param low Low end of inclusive range
+     * @param high High end of inclusive range
+     * @return int value within the inclusive range, or an error
+     */
+    public static Result<Integer> rangedInt(String value, int low, int high) {
+        Result<Integer> result = intValue(value);
+        if (result.isValid() && (result.getValue() < low || result.getValue() > high)) {
+            return Result.error("Number is out of range [" + low + "-" + high + "]: " + result.getValue());
+        }
+        return result;
+    }
+
+    /**
+     * Checks for an int value with no constraints
+     * @param value Value to check
+     * @return int value, or an error
+     */
+    public static Result<Integer> intValue(String value) {
+        String token = firstToken(value);
+        Integer parsed = token == null ? null : parseIntToken(token);
+        if (parsed == null) {
+            return Result.error("You must enter an int: " + value);
+        }
+        return Result.ok(parsed);
+    }
+
+    /**
+     * Checks for a double value within an inclusive range
+     * @param value Value to check
+     * @param low Low value inclusive
+     * @param high High value inclusive
+     * @return double value within the inclusive range, or an error
+     */
+    public static Result<Double> rangedDouble(String value, int low, int high) {
+        Result<Double> result = doubleValue(value);
+        if (result.isValid() && !(result.getValue() >= low && result.getValue() <= high)) {
+            return Result.error("Number is out of range [" + low + "-" + high + "]: " + result.getValue());
+        }
+        return result;
+    }
+
+    /**
+     * Checks for a double value with no constraints
+     * @param value Value to check
+     * @return double value, or an error
+     */
+    public static Result<Double> doubleValue(String value) {
+        String token = firstToken(value);
+        Double parsed = token == null ? null : parseDoubleToken(token);
+        if (parsed == null) {
+            return Result.error("You must enter a double: " + value);
+        }
+        return Result.ok(parsed);
+    }
+
+    /**
+     * Checks for a [Y/N] confirmation
+     * @param value Value to check
+     * @return true for yes, false for no, or an error
+     */
+    public static Result<Boolean> ynConfirm(String value) {
+        if (value.equalsIgnoreCase("Y")) {
+            return Result.ok(true);
+        } else if (value.equalsIgnoreCase("N")) {
+            return Result.ok(false);
+        }
+        return Result.error("You must answere [Y/N]! " + value);
+    }
+
+    /**
+     * Checks for a string that matches a RegEx pattern
+     * @param value Value to check
+     * @param regExPattern Java style RegEx pattern the whole value must match
+     * @return the value, or an error
+     */
+    public static Result<String> regExString(String value, String regExPattern) {
+        if (ValidationRule.matches(value, regExPattern)) {
+            return Result.ok(value);
+        }
+        return Result.error(value + " must match the pattern " + regExPattern);
+    }
+
+    /**
+     * Applies one check to every value in a list
+     * @param values Values to check
+     * @param check Check to apply, e.g. v -> SafeInputBulk.rangedInt(v, 1, 10)
+     * @return one result per value, in order
+     */
+    public static <T> ArrayList<Result<T>> validateAll(List<String> values, Function<String, Result<T>> check) {
+        ArrayList<Result<T>> results = new ArrayList<>(values.size());
+        for (String value : values) {
+            results.add(check.apply(value));
+        }
+        return results;
+    }
+
+    /**
+     * Gets the first whitespace-separated token of a value
+     * @param value Value to read
+     * @return the token, or null if the value is blank
+     */
+    static String firstToken(String value) {
+        int start = 0;
+        int length = value.length();
+        while (start < length && Character.isWhitespace(value.charAt(start))) {
+            start++;
+        }
+        if (start == length) {
+            return null;
+        }
+        int end = start;
+        while (end < length && !Character.isWhitespace(value.charAt(end))) {
+            end++;
+        }
+        return value.substring(start, end);
+    }
+
+    /**
+     * Reads a whole token as an int the way Scanner.hasNextInt/nextInt would
+     * @param token Non-empty token without whitespace
+     * @return the int, or null if Scanner would not accept the token as an int
+     */
+    static Integer parseIntToken(String token) {
+        if (isPlainInteger(token)) {
+            try {
+                return Integer.parseInt(token);
+            } catch (NumberFormatException e) {
+                // Too large for an int, which Scanner rejects as well
+                return null;
+            }
+        }
+        // Grouping separators and non-ASCII digits follow Scanner's locale rules
+        Scanner scanner = new Scanner(token);
+        return scanner.hasNextInt() ? scanner.nextInt() : null;
+    }
+
+    /**
+     * Reads a whole token as a double the way Scanner.hasNextDouble/nextDouble would
+     * @param token Non-empty token without whitespace
+     * @return the double, or null if Scanner would not accept the token as a double
+     */
+    static Double parseDoubleToken(String token) {
+        if (isPlainDecimal(token)) {
+            return Double.parseDouble(token);
+        }
+        // Exponents, grouping, NaN, Infinity and hex follow Scanner's locale rules
+        Scanner scanner = new Scanner(token);
+        return scanner.hasNextDouble() ? scanner.nextDouble() : null;
+    }
+
+    /**
+     * Checks for an optional sign followed by ASCII digits only
+     * @param token Token to check
+     * @return true if Integer.parseInt gives the same answer Scanner would
+     */
+    private static boolean isPlainInteger(String token) {
+        if (!plainDigitsLocale()) {
+            return false;
+        }
+        int i = token.charAt(0) == '-' || token.charAt(0) == '+' ? 1 : 0;
+        if (i == token.length()) {
+            return false;
+        }
+        for (; i < token.length(); i++) {
+            char c = token.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks for an optional sign, ASCII digits and at most one '.' with a digit somewhere
+     * @param token Token to check
+     * @return true if Double.parseDouble gives the same answer Scanner would
+     */
+    private static boolean isPlainDecimal(String token) {
+        if (!plainDigitsLocale()) {
+            return false;
+        }
+        int i = token.charAt(0) == '-' || token.charAt(0) == '+' ? 1 : 0;
+        boolean digits = false;
+        boolean point = false;
+        for (; i < token.length(); i++) {
+            char c = token.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits = true;
+            } else if (c == '.' && !point) {
+                point = true;
+            } else {
+                return false;
+            }
+        }
+        return digits;
+    }
+
+    /**
+     * Checks that the formatting locale Scanner uses writes numbers as 0-9 with a '.' decimal point
+     * @return true if the plain fast paths match Scanner
+     */
+    private static boolean plainDigitsLocale() {
+        return PLAIN_LOCALES.computeIfAbsent(Locale.getDefault(Locale.Category.FORMAT), locale -> {
+            DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance(locale);
+            return symbols.getZeroDigit() == '0' && symbols.getDecimalSeparator() == '.';
+        });
+    }
+
+    /**
+     * Either a valid typed value or the error message for an invalid one
+     */
+    public static class Result<T> {
+        private final T value;
+        private final String error;
+
+        private Result(T value, String error) {
+            this.value = value;
+            this.error = error;
+        }
+
+        static <T> Result<T> ok(T value) {
+            return new Result<>(value, null);
+        }
+
+        static <T> Result<T> error(String error) {
+            return new Result<>(null, error);
+        }
+
+        /**
+         * Checks whether the value passed
+         * @return true if valid
+         */
+        public boolean isValid() {
+            return error == null;
+        }
+
+        /**
+         * Gets the typed value
+         * @return value, or null if invalid
+         */
+        public T getValue() {
+            return value;
+        }
+
+        /**
+         * Gets the error message
+         * @return error, or null if valid
+         */
+        public String getError() {
+            return error;
+        }
+
+        @Override
+        public String toString() {
+            return isValid() ? String.valueOf(value) : "Error: " + error;
+        }
+    }
+
+    /**
+     * Checks for each column of a CSV row, applied in column order
+     * Build with the column methods, then call validate on rows or a reader
+     */
+    public static class RowRules {
+        private final ArrayList<String> names = new ArrayList<>();
+        private final ArrayList<Function<String, Result<?>>> checks = new ArrayList<>();
+
+        /**
+         * Adds a column that must not be empty (after trimming)
+         * @param name Column name used in errors
+         * @return these rules
+         */
+        public RowRules nonZeroLenString(String name) {
+            return column(name, SafeInputBulk::nonZeroLenString);
+        }
+
+        /**
+         * Adds an int column within an inclusive range
+         * @param name Column name used in errors
+         * @param low Low end of inclusive range
+         * @param high High end of inclusive range
+         * @return these rules
+         */
+        public RowRules rangedInt(String name, int low, int high) {
+            return column(name, value -> SafeInputBulk.rangedInt(value, low, high));
+        }
+
+        /**
+         * Adds an unconstrained int column
+         * @param name Column name used in errors
+         * @return these rules
+         */
+        public RowRules intValue(String name) {
+            return column(name, SafeInputBulk::intValue);
+        }
+
+        /**
+         * Adds a double column within an inclusive range
+         * @param name Column name used in errors
+         * @param low Low value inclusive
+         * @param high High value inclusive
+         * @return these rules
+         */
+        public RowRules rangedDouble(String name, int low, int high) {
+            return column(name, value -> SafeInputBulk.rangedDouble(value, low, high));
+        }
+
+        /**
+         * Adds an unconstrained double column
+         * @param name Column name used in errors
+         * @return these rules
+         */
+        public RowRules doubleValue(String name) {
+            return column(name, SafeInputBulk::doubleValue);
+        }
+
+        /**
+         * Adds a column that must match a RegEx pattern
+         * @param name Column name used in errors
+         * @param regExPattern Java style RegEx pattern
+         * @return these rules
+         */
+        public RowRules regExString(String name, String regExPattern) {
+            return column(name, ValidationRule.regex(regExPattern));
+        }
+
+        /**
+         * Adds a column with any check
+         * @param name Column name used in errors
+         * @param check Check returning a typed Result
+         * @return these rules
+         */
+        public RowRules column(String name, Function<String, Result<?>> check) {
+            names.add(name);
+            checks.add(check);
+            return this;
+        }
+
+        /**
+         * Adds a column checked by a ValidationRule
+         * @param name Column name used in errors
+         * @param rule Rule the column must pass
+         * @return these rules
+         */
+        public RowRules column(String name, ValidationRule<?> rule) {
+            return column(name, rule::check);
+        }
+
+        /**
+         * Validates CSV rows, one per line; blank lines are skipped
+         * Fields are split on commas and trimmed, as the readers do
+         * @param lines Rows to validate
+         * @return typed values of the valid rows and errors for the others
+         */
+        public Report validate(List<String> lines) {
+            Report report = new Report();
+            for (int i = 0; i < lines.size(); i++) {
+                validateRow(i + 1, lines.get(i), report);
+            }
+            return report;
+        }
+
+        /**
+         * Validates CSV rows read from a reader until it ends
+         * @param reader Reader giving one row per line
+         * @return typed values of the valid rows and errors for the others
+         * @throws IOException if the reader fails
+         */
+        public Report validate(BufferedReader reader) throws IOException {
+            Report report = new Report();
+            String line;
+            int row = 0;
+            while ((line = reader.readLine()) != null) {
+                validateRow(++row, line, report);
+            }
+            return report;
+        }
+
+        private void validateRow(int row, String line, Report report) {
+            if (line.trim().isEmpty()) {
+                return;
+            }
+            String[] fields = line.split(",", -1);
+            if (fields.length != checks.size()) {
+                report.errors.add(new RowError(row, null, "Expected " + checks.size()
+                        + " fields but found " + fields.length + ": " + line));
+                report.rejected++;
+                return;
+            }
+
+            Object[] values = new Object[fields.length];
+            boolean valid = true;
+            for (int c = 0; c < fields.length; c++) {
+                Result<?> result = checks.get(c).apply(fields[c].trim());
+                if (result.isValid()) {
+                    values[c] = result.getValue();
+                } else {
+                    report.errors.add(new RowError(row, names.get(c), result.getError()));
+                    valid = false;
+                }
+            }
+            if (valid) {
+                report.rows.add(values);
+                report.rowNumbers.add(row);
+            } else {
+                report.rejected++;
+            }
+        }
+    }
+
+    /**
+     * Typed values of the valid rows and the errors of the rejected ones
+     */
+    public static class Report {
+        private final ArrayList<Object[]> rows = new ArrayList<>();
+        private final ArrayList<Integer> rowNumbers = new ArrayList<>();
+        private final ArrayList<RowError> errors = new ArrayList<>();
+        private int rejected;
+
+        /**
+         * Gets the valid rows; each holds one typed value per column
+         * (String, Integer, Double or whatever a custom check returns)
+         * @return valid rows in input order
+         */
+        public ArrayList<Object[]> getRows() {
+            return rows;
+        }
+
+        /**
+         * Gets the line numbers (starting at 1) of the valid rows
+         * @return line numbers matching getRows
+         */
+        public ArrayList<Integer> getRowNumbers() {
+            return rowNumbers;
+        }
+
+        /**
+         * Gets the errors; a row can have one per invalid column
+         * @return errors in input order
+         */
+        public ArrayList<RowError> getErrors() {
+            return errors;
+        }
+
+        /**
+         * Gets the number of rows with at least one error
+         * @return rejected row count
+         */
+        public int getRejectedCount() {
+            return rejected;
+        }
+    }
+
+    /**
+     * One validation error in one row
+     */
+    public static class RowError {
+        private final int row;
+        private final String column;
+        private final String message;
+
+        RowError(int row, String column, String message) {
+            this.row = row;
+            this.column = column;
+            this.message = message;
+        }
+
+        /**
+         * Gets the line number of the row, starting at 1
+         * @return row number
+         */
+        public int getRow() {
+            return row;
+        }
+
+        /**
+         * Gets the column name
+         * @return column name, or null for an error in the row as a whole
+         */
+        public String getColumn() {
+            return column;
+        }
+
+        /**
+         * Gets the error message
+         * @return message
+         */
+        public String getMessage() {
+            return message;
+        }
+
+        @Override
+        public String toString() {
+            return "Row " + row + (column == null ? "" : " (" + column + ")") + ": " + message;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Scanner;
+
+/**
+ * JUnit test class for SafeInputBulk class
+ * Tests the single value checks against the interactive rules and row validation
+ *
+ * Name: Tika Khadka
+ */
+class SafeInputBulkTest {
+
+    @Test
+    @DisplayName("Test int checks accept the same values as the Scanner methods")
+    void testIntMatchesScanner() {
+        for (String value : new String[]{"42", "+7", "-3", "007", "1,000", "5 extra", "  9", "2147483648",
+                "4.5", "abc", "", "--1"}) {
+            Scanner scanner = new Scanner(value + "\n");
+            Integer expected = scanner.hasNextInt() ? scanner.nextInt() : null;
+            assertEquals(expected, SafeInputBulk.intValue(value).getValue(), "value: " + value);
+        }
+    }
+
+    @Test
+    @DisplayName("Test double checks accept the same values as the Scanner methods")
+    void testDoubleMatchesScanner() {
+        for (String value : new String[]{"1.5", "-2", ".5", "1.", "1e3", "NaN", "1,234.5", "1d", "1.2.3", "x", ""}) {
+            Scanner scanner = new Scanner(value + "\n");
+            Double expected = scanner.hasNextDouble() ? scanner.nextDouble() : null;
+            assertEquals(expected, SafeInputBulk.doubleValue(value).getValue(), "value: " + value);
+        }
+    }
+
+    @Test
+    @DisplayName("Test ranged checks report the interactive error messages")
+    void testRangedErrors() {
+        assertEquals(1950, SafeInputBulk.rangedInt("1950", 1940, 2010).getValue());
+        assertEquals("Number is out of range [1940-2010]: 1900",
+                SafeInputBulk.rangedInt("1900", 1940, 2010).getError());
+        assertEquals("You must enter an int: abc", SafeInputBulk.rangedInt("abc", 1940, 2010).getError());
+        assertFalse(SafeInputBulk.rangedDouble("NaN", 0, 10).isValid());
+        assertEquals(5.5, SafeInputBulk.rangedDouble("5.5", 0, 10).getValue());
+    }
+
+    @Test
+    @DisplayName("Test string, Y/N and RegEx checks")
+    void testStringChecks() {
+        assertFalse(SafeInputBulk.nonZeroLenString("").isValid());
+        assertEquals(" ", SafeInputBulk.nonZeroLenString(" ").getValue());
+        assertEquals(true, SafeInputBulk.ynConfirm("y").getValue());
+        assertEquals(false, SafeInputBulk.ynConfirm("N").getValue());
+        assertFalse(SafeInputBulk.ynConfirm("yes").isValid());
+        assertEquals("P001", SafeInputBulk.regExString("P001", "P\\d{3}").getValue());
+        assertEquals("X1 must match the pattern P\\d{3}", SafeInputBulk.regExString("X1", "P\\d{3}").getError());
+    }
+
+    @Test
+    @DisplayName("Test validateAll keeps one result per value in order")
+    void testValidateAll() {
+        ArrayList<SafeInputBulk.Result<Integer>> results =
+                SafeInputBulk.validateAll(Arrays.asList("1", "x", "3"), SafeInputBulk::intValue);
+        assertEquals(3, results.size());
+        assertEquals(1, results.get(0).getValue());
+        assertFalse(results.get(1).isValid());
+        assertEquals(3, results.get(2).getValue());
+    }
+
+    @Test
+    @DisplayName("Test row rules return typed rows and per-row errors")
+    void testRowRules() {
+        SafeInputBulk.RowRules rules = new SafeInputBulk.RowRules()
+                .nonZeroLenString("ID")
+                .nonZeroLenString("First Name")
+                .rangedInt("Year of Birth", 1940, 2010);
+        List<String> lines = Arrays.asList(
+                "000001, Bilbo, 1950",
+                "",
+                "000002, , 1800",
+                "000003, Frodo",
+                "000004, Sam, 1980");
+
+        SafeInputBulk.Report report = rules.validate(lines);
+
+        assertEquals(2, report.getRows().size());
+        assertArrayEquals(new Object[]{"000001", "Bilbo", 1950}, report.getRows().get(0));
+        assertEquals(Arrays.asList(1, 5), report.getRowNumbers());
+        assertEquals(2, report.getRejectedCount());
+        assertEquals(3, report.getErrors().size());
+        assertEquals(3, report.getErrors().get(0).getRow());
+        assertEquals("First Name", report.getErrors().get(0).getColumn());
+        assertEquals("Year of Birth", report.getErrors().get(1).getColumn());
+        assertNull(report.getErrors().get(2).getColumn());
+    }
+}
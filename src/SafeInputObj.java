@@ -1,22 +1,40 @@
+import java.time.Duration;
+import java.util.NoSuchElementException;
 import java.util.Scanner;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.regex.Pattern;
 
 /**
  * SafeInputObj - Object-oriented version of SafeInput utility class
  * Contains instance methods for safe console input operations
- * Uses an instance Scanner variable instead of static methods
+ * Uses an instance input source instead of static methods; a Scanner or the
+ * faster BufferedInputSource can be plugged in (see InputSource)
+ * Prompts and error messages go to an OutputSink (System.out by default),
+ * which is flushed each time a prompt waits for input
+ * Each prompt also has a variant taking a Duration that gives up after that
+ * long (or on cancel()) and returns an InputResult instead of blocking forever
  *
  * @author Tom Wulf Tom.Wulf@uc.edu (original SafeInput)
  * Modified by: Tika Khadka
  */
 public class SafeInputObj {
     
-    private Scanner pipe;
+    // Interrupts callers whose timed prompts have run out of time; one thread for all sessions
+    private static final ScheduledThreadPoolExecutor TIMER = createTimer();
+    
+    private InputSource pipe;
+    private OutputSink out;
+    private volatile Waiter waiting;
     
     /**
-     * Default constructor - initializes Scanner to read from System.in
+     * Default constructor - reads System.in through a fast BufferedInputSource
      */
     public SafeInputObj() {
-        this.pipe = new Scanner(System.in);
+        this.pipe = new BufferedInputSource(System.in);
+        this.out = OutputSink.console();
     }
     
     /**
@@ -24,7 +42,36 @@ public class SafeInputObj {
      * @param scanner Scanner instance to use for input
      */
     public SafeInputObj(Scanner scanner) {
-        this.pipe = scanner;
+        this.pipe = InputSource.of(scanner);
+        this.out = OutputSink.console();
+    }
+    
+    /**
+     * Constructor that takes any input source
+     * @param source InputSource to use for input
+     */
+    public SafeInputObj(InputSource source) {
+        this(source, OutputSink.console());
+    }
+    
+    /**
+     * Constructor that takes an input source and where to write prompts
+     * Give each concurrent session its own BufferedOutputSink
+     * @param source InputSource to use for input
+     * @param sink OutputSink for prompts and error messages
+     */
+    public SafeInputObj(InputSource source, OutputSink sink) {
+        this.pipe = source;
+        this.out = sink;
+    }
+    
+    /**
+     * Writes a prompt and flushes the output, since input is awaited next
+     * @param text prompt text
+     */
+    private void showPrompt(String text) {
+        out.print(text);
+        out.flush();
     }
     
     /**
@@ -35,7 +82,7 @@ public class SafeInputObj {
     public String getNonZeroLenString(String prompt) {
         String retString = "";
         do {
-            System.out.print("\n" + prompt + ": ");
+            showPrompt("\n" + prompt + ": ");
             retString = pipe.nextLine();
         } while(retString.length() == 0); // until we have some characters
         
@@ -55,18 +102,18 @@ public class SafeInputObj {
         boolean done = false;
         
         do {
-            System.out.print("\n" + prompt + "[" + low + "-" + high + "]: ");
+            showPrompt("\n" + prompt + "[" + low + "-" + high + "]: ");
             if(pipe.hasNextInt()) {
                 retVal = pipe.nextInt();
                 pipe.nextLine();
                 if(retVal >= low && retVal <= high) {
                    done = true;
                 } else {
-                    System.out.println("\nNumber is out of range [" + low + "-" + high + "]: " + retVal);
+                    out.println("\nNumber is out of range [" + low + "-" + high + "]: " + retVal);
                 }
             } else {
                 trash = pipe.nextLine();
-                System.out.println("You must enter an int: " + trash);
+                out.println("You must enter an int: " + trash);
             }
         } while(!done);
         
@@ -84,14 +131,14 @@ public class SafeInputObj {
         boolean done = false;
         
         do {
-            System.out.print("\n" + prompt + ": ");
+            showPrompt("\n" + prompt + ": ");
             if(pipe.hasNextInt()) {
                 retVal = pipe.nextInt();
                 pipe.nextLine();
                 done = true;               
             } else {
                 trash = pipe.nextLine();
-                System.out.println("You must enter an int: " + trash);
+                out.println("You must enter an int: " + trash);
             }
         } while(!done);
         
@@ -111,18 +158,18 @@ public class SafeInputObj {
         boolean done = false;
         
         do {
-            System.out.print("\n" + prompt + "[" + low + "-" + high + "]: ");
+            showPrompt("\n" + prompt + "[" + low + "-" + high + "]: ");
             if(pipe.hasNextDouble()) {
                 retVal = pipe.nextDouble();
                 pipe.nextLine();
                 if(retVal >= low && retVal <= high) {
                    done = true;
                 } else {
-                    System.out.println("\nNumber is out of range [" + low + "-" + high + "]: " + retVal);
+                    out.println("\nNumber is out of range [" + low + "-" + high + "]: " + retVal);
                 }
             } else {
                 trash = pipe.nextLine();
-                System.out.println("You must enter a double: " + trash);
+                out.println("You must enter a double: " + trash);
             }
         } while(!done);
         
@@ -140,14 +187,14 @@ public class SafeInputObj {
         boolean done = false;
         
         do {
-            System.out.print("\n" + prompt + ": ");
+            showPrompt("\n" + prompt + ": ");
             if(pipe.hasNextDouble()) {
                 retVal = pipe.nextDouble();
                 pipe.nextLine();
                 done = true;
             } else {
                 trash = pipe.nextLine();
-                System.out.println("You must enter a double: " + trash);
+                out.println("You must enter a double: " + trash);
             }
         } while(!done);
         
@@ -165,7 +212,7 @@ public class SafeInputObj {
         boolean gotAVal = false;
         
         do {
-            System.out.print("\n" + prompt + " [Y/N] ");
+            showPrompt("\n" + prompt + " [Y/N] ");
             response = pipe.nextLine();
             if(response.equalsIgnoreCase("Y")) {
                 gotAVal = true;
@@ -174,7 +221,7 @@ public class SafeInputObj {
                 gotAVal = true;
                 retVal = false;
             } else {
-                System.out.println("You must answere [Y/N]! " + response );
+                out.println("You must answere [Y/N]! " + response );
             }
             
         } while(!gotAVal);
@@ -191,19 +238,288 @@ public class SafeInputObj {
     public String getRegExString(String prompt, String regExPattern) {
         String response = "";
         boolean gotAVal = false;
+        Pattern pattern = ValidationRule.pattern(regExPattern); // compiled once, not per attempt
         
         do {
-            System.out.print("\n" + prompt + ": ");
+            showPrompt("\n" + prompt + ": ");
             response = pipe.nextLine();
-            if(response.matches(regExPattern)) {
+            if(pattern.matcher(response).matches()) {
                 gotAVal = true;                
             } else {
-                System.out.println("\n" + response + " must match the pattern " + regExPattern);
-                System.out.println("Try again!");
+                out.println("\n" + response + " must match the pattern " + regExPattern);
+                out.println("Try again!");
             } 
             
         } while(!gotAVal);
         
         return response;
     }
+
+    /**
+     * Get a value that passes a ValidationRule, re-prompting with the rule's error
+     * @param prompt prompt for user
+     * @param rule rule the whole line must pass
+     * @return the typed value produced by the rule
+     */
+    public <T> T getValid(String prompt, ValidationRule<T> rule) {
+        SafeInputBulk.Result<T> result;
+        
+        do {
+            showPrompt("\n" + prompt + ": ");
+            result = rule.check(pipe.nextLine());
+            if(!result.isValid()) {
+                out.println(result.getError());
+            }
+        } while(!result.isValid());
+        
+        return result.getValue();
+    }
+
+    /**
+     * Get a String which contains at least one character, giving up after a timeout
+     * @param prompt prompt for the user
+     * @param timeout how long to wait for a valid answer
+     * @return the response, or a timed out or cancelled result
+     */
+    public InputResult<String> getNonZeroLenString(String prompt, Duration timeout) {
+        return within(timeout, input -> input.getNonZeroLenString(prompt));
+    }
+    
+    /**
+     * Get an int value within a specified numeric range, giving up after a timeout
+     * @param prompt input prompt msg should not include range info
+     * @param low low end of inclusive range
+     * @param high high end of inclusive range
+     * @param timeout how long to wait for a valid answer
+     * @return the value, or a timed out or cancelled result
+     */
+    public InputResult<Integer> getRangedInt(String prompt, int low, int high, Duration timeout) {
+        return within(timeout, input -> input.getRangedInt(prompt, low, high));
+    }
+    
+    /**
+     * Get an int value with no constraints, giving up after a timeout
+     * @param prompt input prompt msg should not include range info
+     * @param timeout how long to wait for a valid answer
+     * @return the value, or a timed out or cancelled result
+     */
+    public InputResult<Integer> getInt(String prompt, Duration timeout) {
+        return within(timeout, input -> input.getInt(prompt));
+    }
+    
+    /**
+     * Get a double value within an inclusive range, giving up after a timeout
+     * @param prompt input prompt msg should not contain range info
+     * @param low low value inclusive
+     * @param high high value inclusive
+     * @param timeout how long to wait for a valid answer
+     * @return the value, or a timed out or cancelled result
+     */
+    public InputResult<Double> getRangedDouble(String prompt, int low, int high, Duration timeout) {
+        return within(timeout, input -> input.getRangedDouble(prompt, low, high));
+    }
+    
+    /**
+     * Get an unconstrained double value, giving up after a timeout
+     * @param prompt input prompt msg should not contain range info
+     * @param timeout how long to wait for a valid answer
+     * @return the value, or a timed out or cancelled result
+     */
+    public InputResult<Double> getDouble(String prompt, Duration timeout) {
+        return within(timeout, input -> input.getDouble(prompt));
+    }
+    
+    /**
+     * Get a [Y/N] confirmation from the user, giving up after a timeout
+     * @param prompt input prompt msg for user does not need [Y/N]
+     * @param timeout how long to wait for a valid answer
+     * @return true for yes false for no, or a timed out or cancelled result
+     */
+    public InputResult<Boolean> getYNConfirm(String prompt, Duration timeout) {
+        return within(timeout, input -> input.getYNConfirm(prompt));
+    }
+    
+    /**
+     * Get a string that matches a RegEx pattern, giving up after a timeout
+     * @param prompt prompt for user
+     * @param regExPattern java style RegEx pattern to constrain the input
+     * @param timeout how long to wait for a valid answer
+     * @return the response, or a timed out or cancelled result
+     */
+    public InputResult<String> getRegExString(String prompt, String regExPattern, Duration timeout) {
+        return within(timeout, input -> input.getRegExString(prompt, regExPattern));
+    }
+    
+    /**
+     * Get a value that passes a ValidationRule, giving up after a timeout
+     * @param prompt prompt for user
+     * @param rule rule the whole line must pass
+     * @param timeout how long to wait for a valid answer
+     * @return the typed value, or a timed out or cancelled result
+     */
+    public <T> InputResult<T> getValid(String prompt, ValidationRule<T> rule, Duration timeout) {
+        return within(timeout, input -> input.getValid(prompt, rule));
+    }
+    
+    /**
+     * Runs any number of prompts against one deadline, e.g. all fields of a record:
+     * input.within(Duration.ofMinutes(5), PersonGenerator::readPerson)
+     * When time runs out or cancel() is called, the waiting thread is interrupted.
+     * That aborts a read from an interruptible channel, such as a
+     * BufferedInputSource over a socket channel (as SessionServer uses), and
+     * closes the channel, so the session's input is finished afterwards.
+     * The prompts run on the calling thread, which keeps them in order with
+     * the caller's own reads and writes and starts no thread per prompt;
+     * SessionServer's session threads are virtual, and interrupting one
+     * parked in a channel read aborts it the same way
+     * Reads that cannot be interrupted (System.in through a Scanner) only
+     * return when input arrives; a value read by then is still returned
+     * @param timeout how long the prompts may take in total
+     * @param prompts the prompts to run against this object
+     * @return the value, or a timed out or cancelled result
+     * @throws NoSuchElementException if the input ends before the deadline
+     */
+    public <T> InputResult<T> within(Duration timeout, Function<SafeInputObj, T> prompts) {
+        Waiter waiter = new Waiter(Thread.currentThread());
+        waiting = waiter;
+        ScheduledFuture<?> timer = TIMER.schedule(() -> waiter.stop(InputResult.Status.TIMED_OUT),
+                Math.max(0, timeout.toNanos()), TimeUnit.NANOSECONDS);
+        try {
+            T value = prompts.apply(this);
+            waiter.finish();
+            return InputResult.completed(value);
+        } catch (NoSuchElementException e) {
+            // The interrupt ends the read as if the input had ended
+            InputResult.Status stoppedBy = waiter.finish();
+            if (stoppedBy == null) {
+                throw e;
+            }
+            out.flush();
+            return InputResult.stopped(stoppedBy);
+        } finally {
+            timer.cancel(false);
+            waiting = null;
+            if (waiter.stoppedBy != null) {
+                Thread.interrupted(); // the interrupt was ours, not the caller's
+            }
+        }
+    }
+    
+    /**
+     * Stops a timed prompt waiting on another thread; it returns a cancelled result
+     * Does nothing if no timed prompt is waiting
+     */
+    public void cancel() {
+        Waiter waiter = waiting;
+        if (waiter != null) {
+            waiter.stop(InputResult.Status.CANCELLED);
+        }
+    }
+    
+    private static ScheduledThreadPoolExecutor createTimer() {
+        ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, task -> {
+            Thread thread = new Thread(task, "SafeInputObj-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.setRemoveOnCancelPolicy(true); // most deadlines are never reached
+        return timer;
+    }
+    
+    /**
+     * The thread waiting in a timed prompt, and whether it has been stopped
+     * finish and stop are synchronized so a prompt that has finished is never interrupted
+     */
+    private static class Waiter {
+        private final Thread thread;
+        private boolean done;
+        private volatile InputResult.Status stoppedBy;
+        
+        Waiter(Thread thread) {
+            this.thread = thread;
+        }
+        
+        synchronized void stop(InputResult.Status status) {
+            if (!done) {
+                done = true;
+                stoppedBy = status;
+                thread.interrupt();
+            }
+        }
+        
+        synchronized InputResult.Status finish() {
+            done = true;
+            return stoppedBy;
+        }
+    }
+    
+    /**
+     * Outcome of a timed prompt: a value, or why there is none
+     */
+    public static class InputResult<T> {
+        
+        /** How a timed prompt ended */
+        public enum Status { COMPLETED, TIMED_OUT, CANCELLED }
+        
+        private final Status status;
+        private final T value;
+        
+        private InputResult(Status status, T value) {
+            this.status = status;
+            this.value = value;
+        }
+        
+        static <T> InputResult<T> completed(T value) {
+            return new InputResult<>(Status.COMPLETED, value);
+        }
+        
+        static <T> InputResult<T> stopped(Status status) {
+            return new InputResult<>(status, null);
+        }
+        
+        /**
+         * Gets how the prompt ended
+         * @return status
+         */
+        public Status getStatus() {
+            return status;
+        }
+        
+        /**
+         * Checks whether a value was entered
+         * @return true if completed
+         */
+        public boolean isCompleted() {
+            return status == Status.COMPLETED;
+        }
+        
+        /**
+         * Checks whether the prompt ran out of time
+         * @return true if timed out
+         */
+        public boolean isTimedOut() {
+            return status == Status.TIMED_OUT;
+        }
+        
+        /**
+         * Checks whether the prompt was cancelled
+         * @return true if cancelled
+         */
+        public boolean isCancelled() {
+            return status == Status.CANCELLED;
+        }
+        
+        /**
+         * Gets the entered value
+         * @return value, or null if not completed
+         */
+        public T getValue() {
+            return value;
+        }
+        
+        @Override
+        public String toString() {
+            return isCompleted() ? String.valueOf(value) : status.toString();
+        }
+    }
 }
@@ -3,7 +3,17 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import static org.junit.jupiter.api.Assertions.*;
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.channels.Channels;
+import java.nio.channels.Pipe;
+import java.nio.charset.Charset;
+import java.time.Duration;
+import java.util.NoSuchElementException;
 import java.util.Scanner;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
  * JUnit test class for SafeInputObj class
@@ -244,4 +254,59 @@ class SafeInputObjTest {
         String result = obj.getRegExString("Enter email", "[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,}");
         assertEquals("test@example.com", result);
     }
+
+    // Timeout and cancellation Tests
+    @Test
+    @DisplayName("Test timed prompt returns the value when input is there")
+    void testTimedPromptCompleted() {
+        SafeInputObj obj = new SafeInputObj(new BufferedInputSource("abc\n42\n"));
+
+        SafeInputObj.InputResult<Integer> result = obj.getInt("Enter number", Duration.ofSeconds(5));
+
+        assertTrue(result.isCompleted());
+        assertEquals(42, result.getValue());
+    }
+
+    @Test
+    @DisplayName("Test timed prompt on an idle channel times out")
+    void testTimedPromptTimesOut() throws IOException {
+        Pipe pipe = Pipe.open();
+        StringWriter output = new StringWriter();
+        SafeInputObj obj = new SafeInputObj(new BufferedInputSource(
+                Channels.newReader(pipe.source(), Charset.defaultCharset())), new BufferedOutputSink(output));
+
+        long start = System.nanoTime();
+        SafeInputObj.InputResult<String> result = obj.getNonZeroLenString("Name", Duration.ofMillis(200));
+
+        assertTrue(result.isTimedOut());
+        assertNull(result.getValue());
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+        assertFalse(Thread.currentThread().isInterrupted());
+        assertFalse(pipe.source().isOpen());
+        assertEquals("\nName: ", output.toString());
+    }
+
+    @Test
+    @DisplayName("Test cancel stops a timed prompt waiting on another thread")
+    void testTimedPromptCancelled() throws IOException {
+        Pipe pipe = Pipe.open();
+        SafeInputObj obj = new SafeInputObj(new BufferedInputSource(
+                Channels.newReader(pipe.source(), Charset.defaultCharset())), new BufferedOutputSink(new StringWriter()));
+        ScheduledExecutorService canceller = Executors.newSingleThreadScheduledExecutor();
+        try {
+            canceller.schedule(obj::cancel, 100, TimeUnit.MILLISECONDS);
+            SafeInputObj.InputResult<Boolean> result = obj.getYNConfirm("Continue", Duration.ofMinutes(1));
+            assertTrue(result.isCancelled());
+        } finally {
+            canceller.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Test timed prompt still reports input that ends before the deadline")
+    void testTimedPromptEndOfInput() {
+        SafeInputObj obj = new SafeInputObj(new BufferedInputSource("\n"));
+
+        assertThrows(NoSuchElementException.class, () -> obj.getNonZeroLenString("Name", Duration.ofSeconds(5)));
+    }
 }
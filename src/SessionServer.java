@@ -0,0 +1,293 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * SessionServer - Lets many operators enter Person or Product data at once
+ * Listens on a local TCP port or Unix domain socket; every connection gets
+ * its own generator session (the same prompts as PersonGenerator or
+ * ProductGenerator) driven by a SafeInputObj with a BufferedInputSource and
+ * BufferedOutputSink over the socket, so sessions share no console locks
+ * Each completed record goes straight to one shared BatchedRecordWriter, so
+ * a dropped connection loses at most the record being typed
+ * The output file is appended to, never truncated, so restarting the server
+ * keeps earlier records; its sidecars are brought up to date with every batch
+ * Each session runs on its own virtual thread; an idle session is just a
+ * virtual thread parked in a socket read, holding no platform thread, and
+ * with an idle timeout set a session left alone that long is closed (see SafeInputObj.within)
+ *
+ * Usage: java SessionServer person|product output.txt [port | unix:/path/to/socket] [idleMinutes]
+ * e.g.   java SessionServer person persons.txt 5150 10
+ *        nc localhost 5150
+ *
+ * Name: Tika Khadka
+ */
+public class SessionServer<T> implements Closeable {
+
+    /** Port used when none is given */
+    static final int DEFAULT_PORT = 5150;
+
+    private static final Charset CHARSET = Charset.defaultCharset();
+
+    private final ServerSocketChannel server;
+    private final BatchedRecordWriter<T> records;
+    private final String recordName;
+    private final Function<SafeInputObj, T> readRecord;
+    private final Function<T, String> describe;
+    private final ExecutorService sessions;
+    private final Set<SocketChannel> connections = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger activeSessions = new AtomicInteger();
+    private final AtomicInteger totalSessions = new AtomicInteger();
+    private final AtomicInteger timedOutSessions = new AtomicInteger();
+    private volatile Duration idleTimeout;
+
+    /**
+     * Constructor
+     * @param server Bound server channel; closed by close()
+     * @param records Shared writer the sessions add records to; not closed by close()
+     * @param recordName Name shown to operators, e.g. "Person"
+     * @param readRecord Function prompting for one record, e.g. PersonGenerator::readPerson
+     * @param describe Function giving the text shown after a record is added
+     */
+    public SessionServer(ServerSocketChannel server, BatchedRecordWriter<T> records, String recordName,
+                         Function<SafeInputObj, T> readRecord, Function<T, String> describe) {
+        this.server = server;
+        this.records = records;
+        this.recordName = recordName;
+        this.readRecord = readRecord;
+        this.describe = describe;
+        this.sessions = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("session-", 1).factory());
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 2 || !(args[0].equals("person") || args[0].equals("product"))) {
+            System.out.println("Usage: java SessionServer person|product output.txt [port | unix:/path/to/socket] [idleMinutes]");
+            return;
+        }
+        String filename = args[1];
+        if (!filename.toLowerCase().endsWith(".txt")) {
+            filename = filename + ".txt";
+        }
+        String address = args.length > 2 ? args[2] : String.valueOf(DEFAULT_PORT);
+
+        try {
+            Duration idleTimeout = args.length > 3 ? Duration.ofMinutes(Long.parseLong(args[3])) : null;
+            if (args[0].equals("person")) {
+                run(address, new RecordFileWriter<>(Paths.get(filename), 0, "SessionServer",
+                        Person::getID, Person::toCSV, true), "Person", PersonGenerator::readPerson,
+                        Person::formalName, idleTimeout);
+            } else {
+                run(address, new RecordFileWriter<>(Paths.get(filename), 0, "SessionServer",
+                        Product::getID, Product::toCSV, true), "Product", ProductGenerator::readProduct,
+                        Product::getName, idleTimeout);
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            System.out.println("Error starting server: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Serves sessions until the JVM is stopped, then saves the file and its sidecars
+     */
+    private static <T> void run(String address, RecordFileWriter<T> file, String recordName,
+                                Function<SafeInputObj, T> readRecord, Function<T, String> describe,
+                                Duration idleTimeout) throws IOException {
+        BatchedRecordWriter<T> records = new BatchedRecordWriter<>(file);
+        SessionServer<T> sessionServer = new SessionServer<>(bind(address), records, recordName, readRecord, describe);
+        sessionServer.setIdleTimeout(idleTimeout);
+
+        // Ctrl-C: stop the sessions, then write out everything queued and the sidecars
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                sessionServer.close();
+                records.close();
+                System.out.println("\nServer stopped. Records saved: " + records.getRecords());
+            } catch (IOException e) {
+                System.out.println("Error saving records: " + e.getMessage());
+            }
+        }));
+
+        System.out.println("=== " + recordName + " Session Server ===");
+        System.out.println("Listening on " + sessionServer.getLocalAddress());
+        sessionServer.serve();
+    }
+
+    /**
+     * Opens a server channel on a loopback TCP port or a Unix domain socket
+     * @param address Port number (0 for any free port) or "unix:" followed by a socket path
+     * @return bound server channel
+     * @throws IOException if the address cannot be bound
+     */
+    public static ServerSocketChannel bind(String address) throws IOException {
+        if (address.startsWith("unix:")) {
+            Path path = Paths.get(address.substring("unix:".length()));
+            Files.deleteIfExists(path); // left behind by a previous run
+            ServerSocketChannel channel = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+            channel.bind(UnixDomainSocketAddress.of(path));
+            return channel;
+        }
+        ServerSocketChannel channel = ServerSocketChannel.open();
+        channel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), Integer.parseInt(address)));
+        return channel;
+    }
+
+    /**
+     * Accepts connections and starts a session for each, until close() is called
+     * @throws IOException if accepting fails for a reason other than close()
+     */
+    public void serve() throws IOException {
+        while (true) {
+            SocketChannel connection;
+            try {
+                connection = server.accept();
+            } catch (ClosedChannelException e) {
+                return;
+            }
+            connections.add(connection);
+            activeSessions.incrementAndGet();
+            totalSessions.incrementAndGet();
+            sessions.execute(() -> runSession(connection));
+        }
+    }
+
+    /**
+     * Runs one generator session: prompts for records until the operator says no
+     * or disconnects, adding each completed record to the shared writer
+     * @param connection Client connection; closed when the session ends
+     */
+    private void runSession(SocketChannel connection) {
+        BufferedOutputSink out = new BufferedOutputSink(Channels.newWriter(connection, CHARSET));
+        SafeInputObj input = new SafeInputObj(new BufferedInputSource(Channels.newReader(connection, CHARSET)), out);
+        int saved = 0;
+        try {
+            out.println("=== " + recordName + " Data Session ===");
+            boolean more = true;
+            while (more) {
+                out.println("Enter " + recordName.toLowerCase() + " information:");
+                SafeInputObj.InputResult<T> record = prompt(input, readRecord);
+                if (!record.isCompleted()) {
+                    // Idle too long; the connection is already closed, records added so far are kept
+                    timedOutSessions.incrementAndGet();
+                    return;
+                }
+                records.add(record.getValue());
+                saved++;
+                out.println("\n" + recordName + " added: " + describe.apply(record.getValue()));
+                SafeInputObj.InputResult<Boolean> another = prompt(input,
+                        session -> session.getYNConfirm("Do you want to add another " + recordName.toLowerCase() + "?"));
+                if (!another.isCompleted()) {
+                    timedOutSessions.incrementAndGet();
+                    return;
+                }
+                more = another.getValue();
+            }
+            out.println("Session complete. Records saved: " + saved);
+        } catch (NoSuchElementException e) {
+            // Operator disconnected; records already added are kept
+        } catch (IOException e) {
+            out.println("Error saving record: " + e.getMessage());
+        } finally {
+            out.flush();
+            connections.remove(connection);
+            activeSessions.decrementAndGet();
+            try {
+                connection.close();
+            } catch (IOException e) {
+                // Nothing left to tell the operator
+            }
+        }
+    }
+
+    /**
+     * Runs prompts on a session, within the idle timeout if one is set
+     */
+    private <R> SafeInputObj.InputResult<R> prompt(SafeInputObj input, Function<SafeInputObj, R> prompts) {
+        Duration timeout = idleTimeout;
+        if (timeout == null) {
+            return SafeInputObj.InputResult.completed(prompts.apply(input));
+        }
+        return input.within(timeout, prompts);
+    }
+
+    /**
+     * Sets how long an operator may take over one record (or the add another
+     * question) before the session is closed; records already added are kept
+     * @param timeout idle timeout, or null to wait forever (the default)
+     */
+    public void setIdleTimeout(Duration timeout) {
+        this.idleTimeout = timeout;
+    }
+
+    /**
+     * Gets the address the server is listening on
+     * @return bound address (an InetSocketAddress or UnixDomainSocketAddress)
+     * @throws IOException if the server is closed
+     */
+    public SocketAddress getLocalAddress() throws IOException {
+        return server.getLocalAddress();
+    }
+
+    /**
+     * Gets the number of sessions currently connected
+     * @return active sessions
+     */
+    public int getActiveSessions() {
+        return activeSessions.get();
+    }
+
+    /**
+     * Gets the number of sessions started since the server was created
+     * @return sessions started
+     */
+    public int getTotalSessions() {
+        return totalSessions.get();
+    }
+
+    /**
+     * Gets the number of sessions closed by the idle timeout
+     * @return sessions timed out
+     */
+    public int getTimedOutSessions() {
+        return timedOutSessions.get();
+    }
+
+    /**
+     * Stops accepting connections, disconnects open sessions and waits for them to end
+     * The shared record writer is left open for the caller to close
+     * @throws IOException if the server channel cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        server.close();
+        for (SocketChannel connection : connections) {
+            connection.close();
+        }
+        sessions.shutdown();
+        try {
+            sessions.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,189 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * JUnit test class for SessionServer class
+ * Tests concurrent operator sessions over TCP feeding one shared data file
+ *
+ * Name: Tika Khadka
+ */
+class SessionServerTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path file;
+    private BatchedRecordWriter<Person> records;
+    private SessionServer<Person> server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        file = tempDir.resolve("persons.txt");
+        start();
+    }
+
+    /**
+     * Starts a Person session server on a free loopback port, appending to the file as main does
+     */
+    private void start() throws IOException {
+        records = new BatchedRecordWriter<>(
+                new RecordFileWriter<>(file, 0, "SessionServerTest", Person::getID, Person::toCSV, true));
+        server = new SessionServer<>(SessionServer.bind("0"), records, "Person",
+                PersonGenerator::readPerson, Person::formalName);
+        Thread serving = new Thread(() -> {
+            try {
+                server.serve();
+            } catch (IOException e) {
+                // Test fails on the missing records
+            }
+        });
+        serving.setDaemon(true);
+        serving.start();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        server.close();
+        records.close();
+    }
+
+    @Test
+    @DisplayName("Test many concurrent sessions all reach the shared file")
+    void testConcurrentSessions() throws Exception {
+        ExecutorService clients = Executors.newFixedThreadPool(20);
+        try {
+            ArrayList<Future<String>> outputs = new ArrayList<>();
+            for (int c = 0; c < 20; c++) {
+                StringBuilder input = new StringBuilder();
+                for (int i = 0; i < 10; i++) {
+                    input.append(String.format("%02d%04d\n", c, i)).append("Frodo\nBaggins\nMr.\n");
+                    input.append(i == 0 ? "1900\n1968\n" : "1968\n");
+                    input.append(i < 9 ? "y\n" : "n\n");
+                }
+                outputs.add(clients.submit(() -> converse(input.toString(), true)));
+            }
+            for (Future<String> output : outputs) {
+                String text = output.get();
+                assertTrue(text.contains("Number is out of range [1940-2010]: 1900"), text);
+                assertTrue(text.contains("Session complete. Records saved: 10"), text);
+            }
+        } finally {
+            clients.shutdown();
+        }
+        assertEquals(20, server.getTotalSessions());
+
+        server.close();
+        records.close();
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(200, lines.size());
+        assertTrue(lines.contains("000009, Frodo, Baggins, Mr., 1968"), lines.get(0));
+    }
+
+    @Test
+    @DisplayName("Test a dropped connection keeps the records already completed")
+    void testDisconnect() throws Exception {
+        String output = converse("000001\nBilbo\nBaggins\nEsq.\n1950\ny\n000002\nSam\n", false);
+
+        assertTrue(output.contains("Person added: Esq. Bilbo Baggins"), output);
+        server.close();
+        records.close();
+        assertEquals(1, Files.readAllLines(file).size());
+    }
+
+    @Test
+    @DisplayName("Test an idle session is closed and keeps its saved records")
+    void testIdleTimeout() throws Exception {
+        server.setIdleTimeout(Duration.ofMillis(300));
+
+        String output = converse("000001\nBilbo\nBaggins\nEsq.\n1950\ny\n000002\n", true);
+
+        assertTrue(output.contains("Person added: Esq. Bilbo Baggins"), output);
+        // The client sees the connection close just before the session thread finishes
+        for (int i = 0; i < 500 && server.getActiveSessions() > 0; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, server.getTimedOutSessions());
+        server.close();
+        records.close();
+        assertEquals(1, Files.readAllLines(file).size());
+    }
+
+    @Test
+    @DisplayName("Test sidecars stay current while serving and a restart keeps earlier records")
+    void testRestartKeepsRecords() throws Exception {
+        converse("000001\nBilbo\nBaggins\nEsq.\n1950\nn\n", true);
+
+        // Each batch is flushed with its sidecars, so they are valid before any close
+        long deadline = System.currentTimeMillis() + 5000;
+        while (records.getBatches() < 1 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertFalse(IdBloomFilter.isStale(file));
+        assertFalse(LineOffsetIndex.isStale(file));
+        try (IdBloomFilter filter = IdBloomFilter.open(IdBloomFilter.sidecarFor(file))) {
+            assertTrue(filter.mightContain("000001"));
+        }
+
+        server.close();
+        records.close();
+        start();
+        converse("000002\nSam\nGamgee\nMr.\n1980\nn\n", true);
+        server.close();
+        records.close();
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(List.of("000001, Bilbo, Baggins, Esq., 1950", "000002, Sam, Gamgee, Mr., 1980"), lines);
+        try (IdBloomFilter filter = IdBloomFilter.open(IdBloomFilter.sidecarFor(file))) {
+            assertEquals(2, filter.getCount());
+            assertTrue(filter.mightContain("000001"));
+            assertTrue(filter.mightContain("000002"));
+        }
+        assertFalse(LineOffsetIndex.isStale(file));
+        try (LineOffsetIndex index = LineOffsetIndex.open(file)) {
+            assertEquals(lines, index.readLines(0, 10));
+        }
+    }
+
+    /**
+     * Connects, sends the input, then reads everything the session writes
+     * @param input Operator's typed input
+     * @param waitForEnd true to read until the server ends the session, false to hang up after sending
+     * @return session output
+     */
+    private String converse(String input, boolean waitForEnd) throws IOException {
+        InetSocketAddress address = (InetSocketAddress) server.getLocalAddress();
+        try (Socket socket = new Socket(address.getAddress(), address.getPort())) {
+            OutputStream out = socket.getOutputStream();
+            out.write(input.getBytes());
+            out.flush();
+            BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream()));
+            StringBuilder text = new StringBuilder();
+            if (!waitForEnd) {
+                socket.shutdownOutput();
+            }
+            String line;
+            while ((line = reader.readLine()) != null) {
+                text.append(line).append('\n');
+            }
+            return text.toString();
+        }
+    }
+}
@@ -0,0 +1,280 @@
+import java.io.BufferedWriter;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * TableRenderer - Fast fixed-width table output for Person and Product listings
+ * The column layout is set up once, each row is formatted into one reusable
+ * StringBuilder, and output goes through a single large buffer that is only
+ * flushed when asked, instead of one printf (and flush) per row
+ * Output matches the left-aligned printf layouts the readers used before
+ * (e.g. "%-8s" pads but does not cut long values)
+ *
+ * Name: Tika Khadka
+ */
+public class TableRenderer<T> {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final String NEWLINE = System.lineSeparator();
+
+    private final Writer out;
+    private final ArrayList<Column<T>> columns;
+    private final StringBuilder row;
+    private char[] chars;
+
+    /**
+     * Constructor that writes to an existing Writer
+     * @param out Writer to send the table to (should be buffered)
+     */
+    public TableRenderer(Writer out) {
+        this.out = out;
+        this.columns = new ArrayList<>();
+        this.row = new StringBuilder(256);
+        this.chars = new char[256];
+    }
+
+    /**
+     * Creates a large, non-autoflushing writer on standard output
+     * Writes straight to the stdout file descriptor so rows do not go through
+     * System.out's lock; flush it (or System.out) before mixing the two
+     * @return buffered writer for standard output
+     */
+    public static Writer stdout() {
+        return new BufferedWriter(new OutputStreamWriter(new FileOutputStream(FileDescriptor.out)), BUFFER_SIZE);
+    }
+
+    /**
+     * Adds a left-aligned text column
+     * @param header Column heading
+     * @param width Minimum column width
+     * @param value Function giving the cell text
+     * @return this renderer
+     */
+    public TableRenderer<T> textColumn(String header, int width, Function<T, String> value) {
+        columns.add(new Column<>(header, width, (item, sb) -> sb.append(value.apply(item))));
+        return this;
+    }
+
+    /**
+     * Adds a left-aligned int column
+     * @param header Column heading
+     * @param width Minimum column width
+     * @param value Function giving the cell value
+     * @return this renderer
+     */
+    public TableRenderer<T> intColumn(String header, int width, ToIntFunction<T> value) {
+        columns.add(new Column<>(header, width, (item, sb) -> sb.append(value.applyAsInt(item))));
+        return this;
+    }
+
+    /**
+     * Adds a money column printed as "$" and a left-aligned value with 2 decimals
+     * The "$" counts toward the column width
+     * @param header Column heading
+     * @param width Minimum column width including the "$"
+     * @param value Function giving the amount
+     * @return this renderer
+     */
+    public TableRenderer<T> moneyColumn(String header, int width, ToDoubleFunction<T> value) {
+        columns.add(new Column<>(header, width, (item, sb) -> {
+            sb.append('$');
+            appendTwoDecimals(sb, value.applyAsDouble(item));
+        }));
+        return this;
+    }
+
+    /**
+     * Writes the column headings
+     */
+    public void printHeader() {
+        row.setLength(0);
+        for (int i = 0; i < columns.size(); i++) {
+            Column<T> column = columns.get(i);
+            int start = startCell(i);
+            row.append(column.header);
+            pad(start, column.width);
+        }
+        row.append(NEWLINE);
+        write();
+    }
+
+    /**
+     * Writes one row
+     * @param item Item to write
+     */
+    public void printRow(T item) {
+        row.setLength(0);
+        for (int i = 0; i < columns.size(); i++) {
+            Column<T> column = columns.get(i);
+            int start = startCell(i);
+            column.cell.append(item, row);
+            pad(start, column.width);
+        }
+        row.append(NEWLINE);
+        write();
+    }
+
+    /**
+     * Writes up to limit rows starting at an offset
+     * @param items Items to write
+     * @param offset Index of the first row
+     * @param limit Maximum number of rows
+     * @return number of rows written
+     */
+    public int printRows(List<T> items, int offset, int limit) {
+        int from = Math.max(0, offset);
+        int to = (int) Math.min(items.size(), (long) from + Math.max(0, limit));
+        for (int i = from; i < to; i++) {
+            printRow(items.get(i));
+        }
+        return Math.max(0, to - from);
+    }
+
+    /**
+     * Writes one page of rows
+     * @param items Items to page through
+     * @param page Page number starting at 0
+     * @param pageSize Rows per page
+     * @return number of rows written
+     */
+    public int printPage(List<T> items, int page, int pageSize) {
+        return printRows(items, (int) Math.min(Integer.MAX_VALUE, (long) page * pageSize), pageSize);
+    }
+
+    /**
+     * Writes a line made of one character repeated
+     * @param c Character to repeat
+     * @param width Length of the line
+     */
+    public void printRule(char c, int width) {
+        row.setLength(0);
+        for (int i = 0; i < width; i++) {
+            row.append(c);
+        }
+        row.append(NEWLINE);
+        write();
+    }
+
+    /**
+     * Writes a line of text
+     * @param text Text to write
+     */
+    public void printLine(String text) {
+        row.setLength(0);
+        row.append(text).append(NEWLINE);
+        write();
+    }
+
+    /**
+     * Sends buffered output to its destination
+     */
+    public void flush() {
+        try {
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Appends a value rounded to 2 decimal places without a Formatter
+     * Rounds half up the same way as String.format("%.2f")
+     * @param sb Builder to append to
+     * @param value Value to append
+     */
+    static void appendTwoDecimals(StringBuilder sb, double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value) || Math.abs(value) >= 1e15) {
+            sb.append(String.format("%.2f", value));
+            return;
+        }
+        double scaled = Math.abs(value) * 100;
+        long cents = Math.round(scaled);
+        if (Math.abs(scaled - Math.floor(scaled) - 0.5) < 1e-6) {
+            // Near a half cent, round the shortest decimal form like Formatter does
+            cents = new BigDecimal(Double.toString(Math.abs(value))).setScale(2, RoundingMode.HALF_UP)
+                    .unscaledValue().longValue();
+        }
+        if (value < 0) {
+            sb.append('-');
+        }
+        sb.append(cents / 100).append('.');
+        long fraction = cents % 100;
+        if (fraction < 10) {
+            sb.append('0');
+        }
+        sb.append(fraction);
+    }
+
+    /**
+     * Adds the space between columns and remembers where the cell starts
+     * @param column Column number
+     * @return start of the cell in the row builder
+     */
+    private int startCell(int column) {
+        if (column > 0) {
+            row.append(' ');
+        }
+        return row.length();
+    }
+
+    /**
+     * Pads a cell with spaces up to the column width
+     * @param start Start of the cell in the row builder
+     * @param width Minimum cell width
+     */
+    private void pad(int start, int width) {
+        for (int i = row.length() - start; i < width; i++) {
+            row.append(' ');
+        }
+    }
+
+    /**
+     * Copies the row builder into the output buffer without creating a String
+     */
+    private void write() {
+        int length = row.length();
+        if (chars.length < length) {
+            chars = Arrays.copyOf(chars, Math.max(length, chars.length * 2));
+        }
+        row.getChars(0, length, chars, 0);
+        try {
+            out.write(chars, 0, length);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Appends the contents of one cell
+     */
+    private interface CellWriter<T> {
+        void append(T item, StringBuilder sb);
+    }
+
+    /**
+     * A column heading, minimum width and the cell writer for it
+     */
+    private static class Column<T> {
+        private final String header;
+        private final int width;
+        private final CellWriter<T> cell;
+
+        Column(String header, int width, CellWriter<T> cell) {
+            this.header = header;
+            this.width = width;
+            this.cell = cell;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.StringWriter;
+import java.util.ArrayList;
+
+/**
+ * JUnit test class for TableRenderer class
+ * Tests that rows match the printf layout the readers used and that paging works
+ *
+ * Name: Tika Khadka
+ */
+class TableRendererTest {
+
+    private StringWriter out;
+    private TableRenderer<Product> table;
+    private ArrayList<Product> products;
+
+    /**
+     * Set up test fixtures before each test
+     * Creates a product table like ProductReader.displayProductData
+     */
+    @BeforeEach
+    void setUp() {
+        out = new StringWriter();
+        table = new TableRenderer<Product>(out)
+                .textColumn("ID#", 8, Product::getID)
+                .textColumn("Name", 20, Product::getName)
+                .textColumn("Description", 30, Product::getDescription)
+                .moneyColumn("Cost", 10, Product::getCost);
+
+        products = new ArrayList<>();
+        products.add(new Product("Laptop", "High-performance laptop", "P001", 999.99));
+        products.add(new Product("A product name longer than twenty", "Cable", "P002", 0.285));
+        products.add(new Product("Mouse", "Wireless", "P003", 1234567.891));
+    }
+
+    @Test
+    @DisplayName("Test header matches printf layout")
+    void testHeader() {
+        table.printHeader();
+        table.flush();
+        assertEquals(String.format("%-8s %-20s %-30s %-10s%n", "ID#", "Name", "Description", "Cost"), out.toString());
+    }
+
+    @Test
+    @DisplayName("Test rows match printf layout")
+    void testRows() {
+        table.printRows(products, 0, products.size());
+        table.flush();
+
+        StringBuilder expected = new StringBuilder();
+        for (Product product : products) {
+            expected.append(String.format("%-8s %-20s %-30s $%-9.2f%n",
+                    product.getID(), product.getName(), product.getDescription(), product.getCost()));
+        }
+        assertEquals(expected.toString(), out.toString());
+    }
+
+    @Test
+    @DisplayName("Test paging and row limits")
+    void testPaging() {
+        assertEquals(2, table.printPage(products, 0, 2));
+        assertEquals(1, table.printPage(products, 1, 2));
+        assertEquals(0, table.printPage(products, 2, 2));
+        assertEquals(1, table.printRows(products, 1, 1));
+        table.flush();
+        assertEquals(4, out.toString().split(System.lineSeparator()).length);
+    }
+
+    @Test
+    @DisplayName("Test two decimal rounding matches String.format")
+    void testAppendTwoDecimals() {
+        double[] values = {0, 0.005, 0.015, 0.285, 1.005, 2.675, 19.99, 123.456789, 1e14 + 0.125};
+        for (double value : values) {
+            StringBuilder sb = new StringBuilder();
+            TableRenderer.appendTwoDecimals(sb, value);
+            assertEquals(String.format("%.2f", value), sb.toString());
+        }
+    }
+}
@@ -0,0 +1,360 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * ThroughputHarness - End-to-end throughput runs of the reader and writer paths
+ * Generates a deterministic person or product fixture of each requested size
+ * (reused on later runs), then times two headless stages against it:
+ *   read     - PersonReader/ProductReader parsing every line into objects
+ *   pipeline - read and parse, then write through RecordFileWriter with its
+ *              .bloom and .idx sidecars, as the generators save files (line
+ *              offsets stream to the .idx file, so heap use stays flat)
+ * Each stage records wall time, records per second, peak heap, peak RSS and
+ * GC count/time; results are printed and written to a JSON report so runs
+ * from different releases can be compared
+ * Peak RSS is the process high-water mark (Linux only, -1 elsewhere), so run
+ * one size per JVM for a clean figure
+ *
+ * Usage: java ThroughputHarness person|product dataDir report.json [records...]
+ * e.g.   java -Xmx2g ThroughputHarness person bench bench/person.json 1000000 10000000 100000000
+ *
+ * Name: Tika Khadka
+ */
+public class ThroughputHarness {
+
+    /** Record counts run when none are given */
+    static final long[] DEFAULT_SIZES = {1_000_000L, 10_000_000L, 100_000_000L};
+
+    /** Seed for fixture data; change it only together with the fixture file names */
+    static final long SEED = 20240101L;
+
+    private static final String[] FIRST_NAMES = {"Bilbo", "Frodo", "Samwise", "Peregrin", "Meriadoc",
+            "Gandalf", "Aragorn", "Legolas", "Gimli", "Boromir", "Arwen", "Galadriel", "Eowyn", "Faramir"};
+    private static final String[] LAST_NAMES = {"Baggins", "Gamgee", "Took", "Brandybuck", "Grey",
+            "Elessar", "Greenleaf", "Gloinson", "Denethorson", "Evenstar", "Lorien", "Rohan"};
+    private static final String[] TITLES = {"Mr.", "Ms.", "Mrs.", "Dr.", "Esq.", "Prof."};
+    private static final String[] PRODUCT_NAMES = {"Pipe-weed", "Lembas", "Mithril Shirt", "Elven Cloak",
+            "Rope", "Lantern", "Map", "Walking Stick", "Cooking Pot", "Ale", "Tea Kettle", "Ring"};
+    private static final String[] DESCRIPTIONS = {"Longbottom Leaf", "Waybread", "Light as a feather",
+            "Grey hooded", "Hithlain", "Dwarven make", "Of the Shire", "Sturdy oak", "Cast iron", "Green Dragon"};
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    public static void main(String[] args) {
+        if (args.length < 3 || !(args[0].equals("person") || args[0].equals("product"))) {
+            System.out.println("Usage: java ThroughputHarness person|product dataDir report.json [records...]");
+            return;
+        }
+
+        boolean persons = args[0].equals("person");
+        Path dir = Paths.get(args[1]);
+        Path report = Paths.get(args[2]);
+        long[] sizes = DEFAULT_SIZES;
+        if (args.length > 3) {
+            sizes = new long[args.length - 3];
+            for (int i = 3; i < args.length; i++) {
+                sizes[i - 3] = Long.parseLong(args[i]);
+            }
+        }
+
+        try {
+            Files.createDirectories(dir);
+            ArrayList<Run> runs = new ArrayList<>();
+            System.out.println("=== Throughput Harness (" + args[0] + ") ===");
+            System.out.printf("%-12s %-10s %-12s %-14s %-14s %-14s %-8s %-8s%n",
+                    "Records", "Stage", "Wall (ms)", "Records/s", "Peak heap MB", "Peak RSS MB", "GCs", "GC ms");
+
+            for (long size : sizes) {
+                Path fixture = fixture(dir, persons, size);
+                for (String stage : new String[]{"read", "pipeline"}) {
+                    Run run = persons ? runPersons(stage, fixture, size) : runProducts(stage, fixture, size);
+                    runs.add(run);
+                    System.out.printf("%-12d %-10s %-12d %-14.0f %-14.1f %-14.1f %-8d %-8d%n",
+                            run.records, run.stage, run.wallMillis, run.recordsPerSecond(),
+                            run.peakHeapBytes / 1048576.0, run.peakRssBytes / 1048576.0, run.gcCount, run.gcMillis);
+                }
+            }
+
+            writeReport(report, args[0], runs);
+            System.out.println("\nReport written to " + report);
+        } catch (IOException e) {
+            System.out.println("Error running harness: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Gets the fixture file for a size, generating it if it does not exist yet
+     * The same type, size and seed always produce the same file
+     * @param dir Directory for fixtures
+     * @param persons true for persons, false for products
+     * @param records Number of records
+     * @return fixture file
+     * @throws IOException if the fixture cannot be written
+     */
+    static Path fixture(Path dir, boolean persons, long records) throws IOException {
+        Path file = dir.resolve((persons ? "persons-" : "products-") + records + "-" + SEED + ".txt");
+        if (Files.exists(file)) {
+            return file;
+        }
+
+        Path temp = dir.resolve(file.getFileName() + ".tmp");
+        Random random = new Random(SEED ^ records);
+        try (BufferedWriter writer = new BufferedWriter(
+                new OutputStreamWriter(Files.newOutputStream(temp)), BUFFER_SIZE)) {
+            for (long i = 0; i < records; i++) {
+                String line = persons ? fixturePerson(random, i).toCSV() : fixtureProduct(random, i).toCSV();
+                writer.write(line);
+                writer.newLine();
+            }
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        return file;
+    }
+
+    /**
+     * Creates the fixture person for a record number
+     * @param random Fixture random source
+     * @param n Record number
+     * @return person
+     */
+    static Person fixturePerson(Random random, long n) {
+        return new Person(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)],
+                LAST_NAMES[random.nextInt(LAST_NAMES.length)] + (n % 97 == 0 ? "-" + n : ""),
+                String.format("%09d", n), TITLES[random.nextInt(TITLES.length)], 1940 + random.nextInt(71));
+    }
+
+    /**
+     * Creates the fixture product for a record number
+     * @param random Fixture random source
+     * @param n Record number
+     * @return product
+     */
+    static Product fixtureProduct(Random random, long n) {
+        return new Product(PRODUCT_NAMES[random.nextInt(PRODUCT_NAMES.length)],
+                DESCRIPTIONS[random.nextInt(DESCRIPTIONS.length)], String.format("%09d", n),
+                random.nextInt(1_000_000) / 100.0);
+    }
+
+    /**
+     * Runs one stage over a person fixture
+     * @param stage "read" or "pipeline"
+     * @param fixture Fixture file
+     * @param records Records in the fixture
+     * @return measurements
+     * @throws IOException if a file cannot be read or written
+     */
+    static Run runPersons(String stage, Path fixture, long records) throws IOException {
+        Probe probe = new Probe();
+        long parsed;
+        if (stage.equals("read")) {
+            long[] yobTotal = new long[1];
+            parsed = PersonReader.readPersons(fixture, person -> yobTotal[0] += person.getYOB());
+        } else {
+            Path output = outputFor(fixture);
+            try (RecordFileWriter<Person> writer = new RecordFileWriter<>(output, records, "PersonGenerator",
+                    Person::getID, Person::toCSV)) {
+                parsed = PersonReader.readPersons(fixture, person -> write(writer, person));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            deleteOutput(output);
+        }
+        return probe.finish(stage, parsed, Files.size(fixture));
+    }
+
+    /**
+     * Runs one stage over a product fixture
+     * @param stage "read" or "pipeline"
+     * @param fixture Fixture file
+     * @param records Records in the fixture
+     * @return measurements
+     * @throws IOException if a file cannot be read or written
+     */
+    static Run runProducts(String stage, Path fixture, long records) throws IOException {
+        Probe probe = new Probe();
+        long parsed;
+        if (stage.equals("read")) {
+            double[] costTotal = new double[1];
+            parsed = ProductReader.readProducts(fixture, product -> costTotal[0] += product.getCost());
+        } else {
+            Path output = outputFor(fixture);
+            try (RecordFileWriter<Product> writer = new RecordFileWriter<>(output, records, "ProductGenerator",
+                    Product::getID, Product::toCSV)) {
+                parsed = ProductReader.readProducts(fixture, product -> write(writer, product));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            deleteOutput(output);
+        }
+        return probe.finish(stage, parsed, Files.size(fixture));
+    }
+
+    /**
+     * Writes the runs as a JSON report
+     * @param report Report file
+     * @param type "person" or "product"
+     * @param runs Measured runs
+     * @throws IOException if the report cannot be written
+     */
+    static void writeReport(Path report, String type, List<Run> runs) throws IOException {
+        StringBuilder json = new StringBuilder();
+        json.append("{\n");
+        json.append("  \"type\": \"").append(type).append("\",\n");
+        json.append("  \"seed\": ").append(SEED).append(",\n");
+        json.append("  \"javaVersion\": \"").append(System.getProperty("java.version")).append("\",\n");
+        json.append("  \"processors\": ").append(Runtime.getRuntime().availableProcessors()).append(",\n");
+        json.append("  \"maxHeapBytes\": ").append(Runtime.getRuntime().maxMemory()).append(",\n");
+        json.append("  \"runs\": [\n");
+        for (int i = 0; i < runs.size(); i++) {
+            json.append(runs.get(i).toJSON()).append(i + 1 < runs.size() ? ",\n" : "\n");
+        }
+        json.append("  ]\n");
+        json.append("}\n");
+
+        Path parent = report.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Files.writeString(report, json);
+    }
+
+    /**
+     * Reads the process peak resident set size from /proc/self/status
+     * @return peak RSS in bytes, or -1 if it is not available
+     */
+    static long peakRssBytes() {
+        try {
+            for (String line : Files.readAllLines(Paths.get("/proc/self/status"))) {
+                if (line.startsWith("VmHWM:")) {
+                    return Long.parseLong(line.substring(6).replace("kB", "").trim()) * 1024;
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // Not Linux or not readable
+        }
+        return -1;
+    }
+
+    private static <T> void write(RecordFileWriter<T> writer, T record) {
+        try {
+            writer.write(record);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Path outputFor(Path fixture) {
+        return fixture.resolveSibling("out-" + fixture.getFileName());
+    }
+
+    private static void deleteOutput(Path output) throws IOException {
+        Files.deleteIfExists(output);
+        Files.deleteIfExists(IdBloomFilter.sidecarFor(output));
+        Files.deleteIfExists(LineOffsetIndex.sidecarFor(output));
+    }
+
+    /**
+     * Snapshots time and GC counters at the start of a stage and resets peak heap usage
+     */
+    private static class Probe {
+        private final long start;
+        private final long gcCount;
+        private final long gcMillis;
+
+        Probe() {
+            System.gc();
+            for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+                if (pool.getType() == MemoryType.HEAP) {
+                    pool.resetPeakUsage();
+                }
+            }
+            long count = 0;
+            long millis = 0;
+            for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+                count += Math.max(0, gc.getCollectionCount());
+                millis += Math.max(0, gc.getCollectionTime());
+            }
+            this.gcCount = count;
+            this.gcMillis = millis;
+            this.start = System.nanoTime();
+        }
+
+        Run finish(String stage, long records, long inputBytes) {
+            long wallNanos = System.nanoTime() - start;
+            long peakHeap = 0;
+            for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+                if (pool.getType() == MemoryType.HEAP) {
+                    peakHeap += pool.getPeakUsage().getUsed();
+                }
+            }
+            long count = 0;
+            long millis = 0;
+            for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+                count += Math.max(0, gc.getCollectionCount());
+                millis += Math.max(0, gc.getCollectionTime());
+            }
+            return new Run(stage, records, inputBytes, wallNanos / 1_000_000, peakHeap, peakRssBytes(),
+                    count - gcCount, millis - gcMillis);
+        }
+    }
+
+    /**
+     * Measurements for one stage at one size
+     */
+    static class Run {
+        final String stage;
+        final long records;
+        final long inputBytes;
+        final long wallMillis;
+        final long peakHeapBytes;
+        final long peakRssBytes;
+        final long gcCount;
+        final long gcMillis;
+
+        Run(String stage, long records, long inputBytes, long wallMillis, long peakHeapBytes,
+            long peakRssBytes, long gcCount, long gcMillis) {
+            this.stage = stage;
+            this.records = records;
+            this.inputBytes = inputBytes;
+            this.wallMillis = wallMillis;
+            this.peakHeapBytes = peakHeapBytes;
+            this.peakRssBytes = peakRssBytes;
+            this.gcCount = gcCount;
+            this.gcMillis = gcMillis;
+        }
+
+        /**
+         * Gets the throughput of the stage
+         * @return records per second
+         */
+        double recordsPerSecond() {
+            return records * 1000.0 / Math.max(1, wallMillis);
+        }
+
+        /**
+         * Returns the run as a JSON object
+         * @return JSON object indented for the report
+         */
+        String toJSON() {
+            return "    {\"stage\": \"" + stage + "\", \"records\": " + records
+                    + ", \"inputBytes\": " + inputBytes + ", \"wallMillis\": " + wallMillis
+                    + ", \"recordsPerSecond\": " + Math.round(recordsPerSecond())
+                    + ", \"peakHeapBytes\": " + peakHeapBytes + ", \"peakRssBytes\": " + peakRssBytes
+                    + ", \"gcCount\": " + gcCount + ", \"gcMillis\": " + gcMillis + "}";
+        }
+    }
+}
@@ -0,0 +1,277 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * ValidationRule - Reusable, composable input checks with compiled patterns
+ * A rule turns a raw String into a typed SafeInputBulk.Result; rules are built
+ * once from the factories (nonEmpty, regex, rangedInt, ...) and combined with
+ * and(...), then used by the interactive prompts, SafeInputBulk row checks,
+ * or RecordRules over parsed Person/Product fields
+ * Rules are immutable and safe to share between threads; regex rules hold a
+ * Pattern compiled once, and pattern(...) caches compiled Patterns for code
+ * that only has the regex text (such as getRegExString)
+ *
+ * Name: Tika Khadka
+ */
+public final class ValidationRule<T> {
+
+    // Past this many distinct regexes the cache starts over instead of growing without bound
+    private static final int MAX_CACHED_PATTERNS = 512;
+    private static final ConcurrentHashMap<String, Pattern> PATTERNS = new ConcurrentHashMap<>();
+
+    private final Function<String, SafeInputBulk.Result<T>> check;
+
+    /**
+     * Private constructor - use the factory methods
+     */
+    private ValidationRule(Function<String, SafeInputBulk.Result<T>> check) {
+        this.check = check;
+    }
+
+    /**
+     * Gets the compiled Pattern for a regex, compiling it only the first time
+     * @param regex Java style RegEx pattern
+     * @return compiled Pattern
+     */
+    public static Pattern pattern(String regex) {
+        Pattern pattern = PATTERNS.get(regex);
+        if (pattern == null) {
+            if (PATTERNS.size() >= MAX_CACHED_PATTERNS) {
+                PATTERNS.clear();
+            }
+            pattern = PATTERNS.computeIfAbsent(regex, Pattern::compile);
+        }
+        return pattern;
+    }
+
+    /**
+     * Checks whether a whole value matches a regex, like String.matches but without recompiling
+     * @param value Value to check
+     * @param regex Java style RegEx pattern
+     * @return true if the whole value matches
+     */
+    public static boolean matches(String value, String regex) {
+        return pattern(regex).matcher(value).matches();
+    }
+
+    /**
+     * Rule that accepts any value
+     * @return rule giving the value unchanged
+     */
+    public static ValidationRule<String> text() {
+        return new ValidationRule<>(SafeInputBulk.Result::ok);
+    }
+
+    /**
+     * Rule for a String which contains at least one character (as getNonZeroLenString)
+     * @return rule
+     */
+    public static ValidationRule<String> nonEmpty() {
+        return new ValidationRule<>(SafeInputBulk::nonZeroLenString);
+    }
+
+    /**
+     * Rule for a value the whole of which matches a regex (as getRegExString)
+     * The pattern is compiled (or taken from the cache) when the rule is created
+     * @param regex Java style RegEx pattern
+     * @return rule
+     */
+    public static ValidationRule<String> regex(String regex) {
+        Pattern pattern = pattern(regex);
+        return new ValidationRule<>(value -> pattern.matcher(value).matches()
+                ? SafeInputBulk.Result.ok(value)
+                : SafeInputBulk.Result.error(value + " must match the pattern " + regex));
+    }
+
+    /**
+     * Rule for an unconstrained int (as getInt)
+     * @return rule
+     */
+    public static ValidationRule<Integer> intValue() {
+        return new ValidationRule<>(SafeInputBulk::intValue);
+    }
+
+    /**
+     * Rule for an int within an inclusive range (as getRangedInt)
+     * @param low Low end of inclusive range
+     * @param high High end of inclusive range
+     * @return rule
+     */
+    public static ValidationRule<Integer> rangedInt(int low, int high) {
+        return new ValidationRule<>(value -> SafeInputBulk.rangedInt(value, low, high));
+    }
+
+    /**
+     * Rule for an unconstrained double (as getDouble)
+     * @return rule
+     */
+    public static ValidationRule<Double> doubleValue() {
+        return new ValidationRule<>(SafeInputBulk::doubleValue);
+    }
+
+    /**
+     * Rule for a double within an inclusive range (as getRangedDouble)
+     * @param low Low value inclusive
+     * @param high High value inclusive
+     * @return rule
+     */
+    public static ValidationRule<Double> rangedDouble(int low, int high) {
+        return new ValidationRule<>(value -> SafeInputBulk.rangedDouble(value, low, high));
+    }
+
+    /**
+     * Rule for a [Y/N] answer (as getYNConfirm)
+     * @return rule
+     */
+    public static ValidationRule<Boolean> ynConfirm() {
+        return new ValidationRule<>(SafeInputBulk::ynConfirm);
+    }
+
+    /**
+     * Rule from any check
+     * @param check Function giving a typed Result for a raw value
+     * @return rule
+     */
+    public static <T> ValidationRule<T> custom(Function<String, SafeInputBulk.Result<T>> check) {
+        return new ValidationRule<>(check);
+    }
+
+    /**
+     * Checks a raw value
+     * @param value Value to check
+     * @return typed value or error
+     */
+    public SafeInputBulk.Result<T> check(String value) {
+        return check.apply(value);
+    }
+
+    /**
+     * Checks a raw value without keeping the result
+     * @param value Value to check
+     * @return true if valid
+     */
+    public boolean test(String value) {
+        return check.apply(value).isValid();
+    }
+
+    /**
+     * Adds a condition on the typed value
+     * @param condition Condition a valid value must meet
+     * @param error Message for a value that does not
+     * @return new rule that checks this rule, then the condition
+     */
+    public ValidationRule<T> and(Predicate<T> condition, Function<T, String> error) {
+        return new ValidationRule<>(value -> {
+            SafeInputBulk.Result<T> result = check.apply(value);
+            if (result.isValid() && !condition.test(result.getValue())) {
+                return SafeInputBulk.Result.error(error.apply(result.getValue()));
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Adds another rule on the raw value, checked first
+     * e.g. ValidationRule.rangedInt(1940, 2010).and(ValidationRule.regex("\\d{4}"))
+     * @param first Rule the raw value must also pass
+     * @return new rule that checks first, then this rule
+     */
+    public ValidationRule<T> and(ValidationRule<?> first) {
+        return new ValidationRule<>(value -> {
+            SafeInputBulk.Result<?> result = first.check(value);
+            if (!result.isValid()) {
+                return SafeInputBulk.Result.error(result.getError());
+            }
+            return check.apply(value);
+        });
+    }
+
+    /**
+     * Rules for the fields of a parsed record, checked against each field's text
+     * Build once with field(...), then share between threads
+     */
+    public static class RecordRules<R> {
+        private final ArrayList<String> names = new ArrayList<>();
+        private final ArrayList<Function<R, String>> getters = new ArrayList<>();
+        private final ArrayList<ValidationRule<?>> rules = new ArrayList<>();
+
+        /**
+         * Adds a rule for one field
+         * @param name Field name used in errors
+         * @param getter Function giving the field as text
+         * @param rule Rule the field must pass
+         * @return these rules
+         */
+        public RecordRules<R> field(String name, Function<R, String> getter, ValidationRule<?> rule) {
+            names.add(name);
+            getters.add(getter);
+            rules.add(rule);
+            return this;
+        }
+
+        /**
+         * Checks one record
+         * @param record Record to check
+         * @return error messages as "field: message", empty if valid
+         */
+        public ArrayList<String> check(R record) {
+            ArrayList<String> errors = new ArrayList<>();
+            for (int i = 0; i < rules.size(); i++) {
+                SafeInputBulk.Result<?> result = rules.get(i).check(getters.get(i).apply(record));
+                if (!result.isValid()) {
+                    errors.add(names.get(i) + ": " + result.getError());
+                }
+            }
+            return errors;
+        }
+
+        /**
+         * Checks every record in a list
+         * @param records Records to check
+         * @return one error per invalid field; row numbers start at 1
+         */
+        public ArrayList<SafeInputBulk.RowError> checkAll(List<R> records) {
+            ArrayList<SafeInputBulk.RowError> errors = new ArrayList<>();
+            for (int row = 0; row < records.size(); row++) {
+                R record = records.get(row);
+                for (int i = 0; i < rules.size(); i++) {
+                    SafeInputBulk.Result<?> result = rules.get(i).check(getters.get(i).apply(record));
+                    if (!result.isValid()) {
+                        errors.add(new SafeInputBulk.RowError(row + 1, names.get(i), result.getError()));
+                    }
+                }
+            }
+            return errors;
+        }
+    }
+
+    /**
+     * Rules matching what PersonGenerator asks for
+     * @return rules for ID, names, title and year of birth
+     */
+    public static RecordRules<Person> personRules() {
+        return new RecordRules<Person>()
+                .field("ID", Person::getID, nonEmpty())
+                .field("First Name", Person::getFirstName, nonEmpty())
+                .field("Last Name", Person::getLastName, nonEmpty())
+                .field("Title", Person::getTitle, nonEmpty())
+                .field("Year of Birth", person -> String.valueOf(person.getYOB()), rangedInt(1940, 2010));
+    }
+
+    /**
+     * Rules matching what ProductGenerator asks for
+     * @return rules for ID, name, description and cost
+     */
+    public static RecordRules<Product> productRules() {
+        return new RecordRules<Product>()
+                .field("ID", Product::getID, nonEmpty())
+                .field("Name", Product::getName, nonEmpty())
+                .field("Description", Product::getDescription, nonEmpty())
+                .field("Cost", product -> String.valueOf(product.getCost()),
+                        doubleValue().and(cost -> cost >= 0, cost -> "Cost cannot be negative: " + cost));
+    }
+}
@@ -0,0 +1,103 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Scanner;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * JUnit test class for ValidationRule class
+ * Tests pattern caching, rule composition, record rules and the interactive hooks
+ *
+ * Name: Tika Khadka
+ */
+class ValidationRuleTest {
+
+    @Test
+    @DisplayName("Test pattern returns the same compiled Pattern for the same regex")
+    void testPatternCache() {
+        assertSame(ValidationRule.pattern("[A-Z]\\d{3}"), ValidationRule.pattern("[A-Z]\\d{3}"));
+        assertTrue(ValidationRule.matches("P001", "[A-Z]\\d{3}"));
+        assertFalse(ValidationRule.matches("P0011", "[A-Z]\\d{3}"));
+    }
+
+    @Test
+    @DisplayName("Test regex rule matches the whole value like String.matches")
+    void testRegexRule() {
+        ValidationRule<String> rule = ValidationRule.regex("\\d{6}");
+        assertEquals("000001", rule.check("000001").getValue());
+        assertEquals("00001 must match the pattern \\d{6}", rule.check("00001").getError());
+        assertEquals("a000001".matches("\\d{6}"), rule.test("a000001"));
+    }
+
+    @Test
+    @DisplayName("Test rules compose with conditions and other rules")
+    void testComposition() {
+        ValidationRule<Integer> even = ValidationRule.rangedInt(1, 100).and(n -> n % 2 == 0, n -> n + " is odd");
+        assertEquals(42, even.check("42").getValue());
+        assertEquals("7 is odd", even.check("7").getError());
+        assertEquals("Number is out of range [1-100]: 200", even.check("200").getError());
+
+        ValidationRule<Integer> fourDigits = ValidationRule.rangedInt(1940, 2010).and(ValidationRule.regex("\\d{4}"));
+        assertEquals(1999, fourDigits.check("1999").getValue());
+        assertFalse(fourDigits.test("1999 extra"));
+    }
+
+    @Test
+    @DisplayName("Test record rules report invalid fields of parsed records")
+    void testRecordRules() {
+        ArrayList<Person> persons = new ArrayList<>(Arrays.asList(
+                new Person("Bilbo", "Baggins", "000001", "Esq.", 1950),
+                new Person("", "Baggins", "000002", "Mr.", 1900)));
+
+        ArrayList<SafeInputBulk.RowError> errors = ValidationRule.personRules().checkAll(persons);
+
+        assertEquals(2, errors.size());
+        assertEquals(2, errors.get(0).getRow());
+        assertEquals("First Name", errors.get(0).getColumn());
+        assertEquals("Year of Birth", errors.get(1).getColumn());
+        assertTrue(ValidationRule.productRules().check(new Product("Rope", "Elven", "P1", 5.0)).isEmpty());
+        assertEquals(1, ValidationRule.productRules().check(new Product("Rope", "", "P1", 5.0)).size());
+    }
+
+    @Test
+    @DisplayName("Test a shared rule gives the same answers on many threads")
+    void testThreadSafety() throws Exception {
+        ValidationRule<String> rule = ValidationRule.regex("P\\d{3}");
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            ArrayList<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                results.add(pool.submit(() -> {
+                    int valid = 0;
+                    for (int i = 0; i < 10_000; i++) {
+                        if (rule.test("P" + (i % 2000))) {
+                            valid++;
+                        }
+                    }
+                    return valid;
+                }));
+            }
+            for (Future<Integer> result : results) {
+                assertEquals(4500, result.get());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Test getValid re-prompts until the rule passes")
+    void testGetValid() {
+        String input = "abc\n1800\n1950\n";
+        SafeInputObj obj = new SafeInputObj(new Scanner(new ByteArrayInputStream(input.getBytes())));
+        assertEquals(1950, obj.getValid("Year", ValidationRule.rangedInt(1940, 2010)));
+
+        Scanner pipe = new Scanner(new ByteArrayInputStream("x1\nP123\n".getBytes()));
+        assertEquals("P123", SafeInput.getValid(pipe, "ID", ValidationRule.regex("P\\d{3}")));
+    }
+}